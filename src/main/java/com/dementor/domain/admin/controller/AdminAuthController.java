@@ -22,6 +22,7 @@ import com.dementor.global.security.jwt.service.TokenService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
 @Tag(name = "관리자 로그인, 로그아웃", description = "관리자 로그인, 로그아웃")
@@ -36,7 +37,8 @@ public class AdminAuthController {
 
 	@Operation(summary = "관리자 로그인", description = "관리자 계정으로 로그인합니다.")
 	@PostMapping("/login")
-	public ResponseEntity<ApiResponse<Void>> login(@RequestBody AdminLoginRequest loginRequest) {
+	public ResponseEntity<ApiResponse<Void>> login(@RequestBody AdminLoginRequest loginRequest,
+		HttpServletRequest request) {
 		try {
 			// 인증 시도
 			Authentication authentication = authenticationManager.authenticate(
@@ -55,7 +57,8 @@ public class AdminAuthController {
 			String username = userDetails.getUsername();
 
 			// 두 토큰 모두 생성
-			TokenDto tokens = tokenService.createAdminTokens(adminId, username);
+			TokenDto tokens = tokenService.createAdminTokens(adminId, username,
+				request.getHeader(HttpHeaders.USER_AGENT), cookieUtil.getRefreshToken(request));
 
 			// 쿠키에는 액세스 토큰, refresh 토큰
 			HttpHeaders headers = new HttpHeaders();
@@ -74,11 +77,11 @@ public class AdminAuthController {
 	}
 
 	@PostMapping("/logout")
-	public ResponseEntity<ApiResponse<Void>> logout(Authentication authentication) {
+	public ResponseEntity<ApiResponse<Void>> logout(Authentication authentication, HttpServletRequest request) {
 
+		// 이 기기만 로그아웃
 		if (authentication != null) {
-			String username = authentication.getName();
-			tokenService.logout(username);
+			tokenService.logoutDevice(cookieUtil.getRefreshToken(request));
 		}
 
 		SecurityContextHolder.clearContext();
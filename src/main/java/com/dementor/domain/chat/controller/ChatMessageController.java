@@ -23,13 +23,16 @@ public class ChatMessageController {
 
 	private final ChatMessageService chatMessageService;
 
-	// 1. 메시지 목록 조회 (before 기반)
+	// 1. 메시지 목록 조회 (before / after 커서 기반, 오래된 순)
 	@GetMapping
 	public ResponseEntity<List<ChatMessageResponseDto>> getMessages(
 		@PathVariable Long chatRoomId,
-		@RequestParam(required = false) Long beforeMessageId
+		@RequestParam(required = false) Long beforeMessageId,
+		@RequestParam(required = false) Long afterMessageId,
+		@RequestParam(defaultValue = "20") int size
 	) {
-		List<ChatMessageResponseDto> messages = chatMessageService.getMessages(chatRoomId, beforeMessageId);
+		List<ChatMessageResponseDto> messages = chatMessageService.getMessages(chatRoomId, beforeMessageId,
+			afterMessageId, size);
 		return ResponseEntity.ok(messages);
 	}
 
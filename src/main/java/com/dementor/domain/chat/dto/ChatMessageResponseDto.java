@@ -23,6 +23,9 @@ public class ChatMessageResponseDto {  //구독자에게 브로드캐스트할 
 	// 서버->구독자
 
 	//    private MessageType type;         // ENTER(00님이 입장), MESSAGE(실제 채팅),  EXIT(00님 퇴장)
+	// 페이지 커서 - chat.ingest.mode=write-behind 이면 실시간 전송(/topic/chat.room.{id})과 전송 응답은 저장 전이라 null,
+	// 저장된 ID 는 이후 메시지 목록 조회에서 받음
+	private Long chatMessageId;
 	private Long chatRoomId;
 	private Long senderId;        //보낸 사람ID
 	private SenderType senderType; // MEMBER, ADMIN, SYSTEM
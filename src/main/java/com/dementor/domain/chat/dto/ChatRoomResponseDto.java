@@ -22,4 +22,5 @@ public class ChatRoomResponseDto {
 	private String targetNickname;  //상대방 닉네임
 	private Long targetId; //상대방 ID
 	private boolean hasUnread; //안 읽은 메시지 여부 표시
+	private int unreadCount; //안 읽은 메시지 수
 }
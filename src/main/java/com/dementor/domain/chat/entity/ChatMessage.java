@@ -12,6 +12,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -23,7 +24,10 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "chat_message")
+@Table(name = "chat_message", indexes = {
+	// 채팅방별 메시지 커서 조회 (chat_room_id = ? AND chat_message_id < / > ? ORDER BY chat_message_id)
+	@Index(name = "idx_chat_message_room_message", columnList = "chat_room_id, chat_message_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -90,7 +94,11 @@ private ZonedDateTime sentAt; // ✅ LocalDateTime → ZonedDateTime 변경
 //	}
 
 
-	@Column(name = "is_read", nullable = false)
+	// 읽음 여부는 메시지별 플래그 대신 ChatReadCursor(참여자별 마지막으로 읽은 메시지 ID)로 관리
+	// - 기존 DB 의 is_read(NOT NULL, 기본값 없음) 컬럼 때문에 매핑만 유지, 새 메시지는 항상 false
+	// - 예전에 읽음 처리된 메시지는 시작 시 ChatReadCursorBackfill 이 읽음 위치로 옮기고 false 로 되돌림
+	@Builder.Default
+	@Column(name = "is_read", nullable = false, columnDefinition = "boolean default false")
 	private boolean read = false;
 
 
@@ -0,0 +1,8 @@
+package com.dementor.domain.chat.entity;
+
+public enum ChatParticipant {
+	MENTOR,  // 멘토링 채팅 - 멘토
+	MENTEE,  // 멘토링 채팅 - 멘티
+	ADMIN,   // 관리자 채팅 - 관리자
+	MEMBER   // 관리자 채팅 - 회원
+}
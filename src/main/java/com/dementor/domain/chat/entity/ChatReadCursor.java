@@ -0,0 +1,53 @@
+package com.dementor.domain.chat.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 참여자별 읽음 위치 - 이 ID 이하의 메시지는 모두 읽은 것으로 본다 (메시지별 읽음 플래그 대신 사용)
+@Entity
+@Table(name = "chat_read_cursor", uniqueConstraints = {
+	@UniqueConstraint(name = "uk_chat_read_cursor_participant",
+		columnNames = {"chat_room_id", "participant_type", "participant_id"})
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatReadCursor {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long chatReadCursorId;
+
+	@Column(name = "chat_room_id", nullable = false)
+	private Long chatRoomId;
+
+	// 관리자/회원 ID 가 겹칠 수 있으므로 유형까지 같이 저장
+	@Enumerated(EnumType.STRING)
+	@Column(name = "participant_type", nullable = false)
+	private ViewerType participantType;
+
+	@Column(name = "participant_id", nullable = false)
+	private Long participantId;
+
+	@Column(name = "last_read_message_id", nullable = false)
+	private Long lastReadMessageId;
+
+	// 읽음 위치는 앞으로만 이동
+	public void advanceTo(Long chatMessageId) {
+		if (chatMessageId > lastReadMessageId) {
+			this.lastReadMessageId = chatMessageId;
+		}
+	}
+}
@@ -7,7 +7,12 @@ import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 
 @Entity
-@Table(name = "chat_room")
+@Table(name = "chat_room", indexes = {
+	@Index(name = "idx_chat_room_mentor_id", columnList = "mentor_id"),
+	@Index(name = "idx_chat_room_mentee_id", columnList = "mentee_id"),
+	@Index(name = "idx_chat_room_admin_id", columnList = "admin_id"),
+	@Index(name = "idx_chat_room_member_id", columnList = "member_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -34,12 +39,28 @@ public class ChatRoom {
 	}
 
 
+	public static final int LAST_MESSAGE_PREVIEW_LENGTH = 100;
+
+	// 메시지 보낼 때 ChatRoomRepository.applyNewMessage 로 함께 갱신 (채팅방 목록은 chat_message 를 조회하지 않음)
 	@Column(nullable = false, columnDefinition = "TIMESTAMP WITH TIME ZONE")
 	private ZonedDateTime lastMessageAt;
-	// 메시지 보낼 때 직접 갱신
-	public void updateLastMessageTime(ZonedDateTime sentAt) {
-		this.lastMessageAt = sentAt;
-	}
+
+	// 마지막 메시지 미리보기
+	@Column(name = "last_message", length = LAST_MESSAGE_PREVIEW_LENGTH)
+	private String lastMessage;
+
+	// 참여자별 안 읽은 메시지 수
+	@Column(name = "mentor_unread_count", nullable = false)
+	private int mentorUnreadCount;
+
+	@Column(name = "mentee_unread_count", nullable = false)
+	private int menteeUnreadCount;
+
+	@Column(name = "admin_unread_count", nullable = false)
+	private int adminUnreadCount;
+
+	@Column(name = "member_unread_count", nullable = false)
+	private int memberUnreadCount;
 
 	// 관리자 채팅용
 	@Column(name = "admin_id")
@@ -57,4 +78,32 @@ public class ChatRoom {
 
 	//    @Column(name = "target_nickname")
 	//    private String targetNickname;
+
+	public ChatRoomParticipants toParticipants() {
+		return new ChatRoomParticipants(chatRoomId, roomType, mentorId, menteeId, adminId, memberId);
+	}
+
+	// 조회하는 사람 (나)
+	public ChatParticipant getViewer(Long viewerId, ViewerType viewerType) {
+		if (roomType == RoomType.MENTORING_CHAT) {
+			return viewerId.equals(mentorId) ? ChatParticipant.MENTOR : ChatParticipant.MENTEE;
+		}
+		return viewerType == ViewerType.ADMIN ? ChatParticipant.ADMIN : ChatParticipant.MEMBER;
+	}
+
+	public int getUnreadCount(ChatParticipant participant) {
+		return switch (participant) {
+			case MENTOR -> mentorUnreadCount;
+			case MENTEE -> menteeUnreadCount;
+			case ADMIN -> adminUnreadCount;
+			case MEMBER -> memberUnreadCount;
+		};
+	}
+
+	public static String toPreview(String content) {
+		if (content == null || content.length() <= LAST_MESSAGE_PREVIEW_LENGTH) {
+			return content;
+		}
+		return content.substring(0, LAST_MESSAGE_PREVIEW_LENGTH);
+	}
 }
@@ -0,0 +1,20 @@
+package com.dementor.domain.chat.entity;
+
+// 채팅방 참여자 정보 (생성 이후 변하지 않음) - 메시지 전송 시 ChatRoom 엔티티 대신 캐시해서 사용
+public record ChatRoomParticipants(
+	Long chatRoomId,
+	RoomType roomType,
+	Long mentorId,
+	Long menteeId,
+	Long adminId,
+	Long memberId
+) {
+
+	// 보낸 사람 기준 수신자 (상대방)
+	public ChatParticipant getReceiver(Long senderId, SenderType senderType) {
+		if (roomType == RoomType.MENTORING_CHAT) {
+			return senderId.equals(mentorId) ? ChatParticipant.MENTEE : ChatParticipant.MENTOR;
+		}
+		return senderType == SenderType.ADMIN ? ChatParticipant.MEMBER : ChatParticipant.ADMIN;
+	}
+}
@@ -1,29 +1,95 @@
 package com.dementor.domain.chat.repository;
 
+import com.dementor.domain.chat.dto.ChatMessageResponseDto;
 import com.dementor.domain.chat.entity.ChatMessage;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 	//    List<ChatMessage> findByChatRoomIdOrderByCreatedAtAsc(Long chatRoomId);
 	//    //전체 메시지를 오래된 순으로 가져옴-> 커서기반이면 굳이 필요없는듯
 
-	// 채팅방 처음 입장 시 → 최신 20개 메시지 조회 (chatMessageId 기준 내림차순)
-	List<ChatMessage> findTop20ByChatRoom_ChatRoomIdOrderByChatMessageIdDesc(Long chatRoomId);
+	// 메시지 목록 조회는 엔티티 대신 응답 DTO 로 바로 조회 (chat_room 조인 없이 FK 컬럼 사용)
 
-	// 과거 메시지 조회 (이전 메시지 ID 기준, 내림차순)
-	List<ChatMessage> findTop20ByChatRoom_ChatRoomIdAndChatMessageIdLessThanOrderByChatMessageIdDesc(Long chatRoomId,
-		Long chatMessageId);
+	// 채팅방 처음 입장 시 → 최신 메시지 (chatMessageId 내림차순, 화면 표시는 역순)
+	@Query("""
+		SELECT new com.dementor.domain.chat.dto.ChatMessageResponseDto(
+			m.chatMessageId, m.chatRoom.chatRoomId, m.senderId, m.senderType, m.content, m.sentAt)
+		FROM ChatMessage m
+		WHERE m.chatRoom.chatRoomId = :chatRoomId
+		ORDER BY m.chatMessageId DESC
+		""")
+	List<ChatMessageResponseDto> findLatestPage(@Param("chatRoomId") Long chatRoomId, Pageable pageable);
 
-	// 채팅방 목록 조회용: 해당 방의 마지막 메시지 1개 (보통 가장 최근 메시지 시간 확인용)
-	List<ChatMessage> findTop1ByChatRoom_ChatRoomIdOrderBySentAtDesc(Long chatRoomId);
+	// 과거 메시지 조회 (beforeMessageId 보다 이전, 내림차순)
+	@Query("""
+		SELECT new com.dementor.domain.chat.dto.ChatMessageResponseDto(
+			m.chatMessageId, m.chatRoom.chatRoomId, m.senderId, m.senderType, m.content, m.sentAt)
+		FROM ChatMessage m
+		WHERE m.chatRoom.chatRoomId = :chatRoomId AND m.chatMessageId < :beforeMessageId
+		ORDER BY m.chatMessageId DESC
+		""")
+	List<ChatMessageResponseDto> findPageBefore(@Param("chatRoomId") Long chatRoomId,
+		@Param("beforeMessageId") Long beforeMessageId, Pageable pageable);
 
-	// 내가 보지 않은 메시지가 있는지 여부 (뱃지 표시용)
-	boolean existsByChatRoom_ChatRoomIdAndSenderIdNotAndReadFalse(Long chatRoomId, Long viewerId);
+	// 이후 메시지 조회 (afterMessageId 보다 이후, 오래된 순 = 화면 표시 순서)
+	@Query("""
+		SELECT new com.dementor.domain.chat.dto.ChatMessageResponseDto(
+			m.chatMessageId, m.chatRoom.chatRoomId, m.senderId, m.senderType, m.content, m.sentAt)
+		FROM ChatMessage m
+		WHERE m.chatRoom.chatRoomId = :chatRoomId AND m.chatMessageId > :afterMessageId
+		ORDER BY m.chatMessageId ASC
+		""")
+	List<ChatMessageResponseDto> findPageAfter(@Param("chatRoomId") Long chatRoomId,
+		@Param("afterMessageId") Long afterMessageId, Pageable pageable);
 
-	//  내가 보지 않은 메시지들을  가져오는 메서드 (read = false를 true로 바꿀때 사용)
-	List<ChatMessage> findByChatRoom_ChatRoomIdAndSenderIdNotAndReadFalse(Long chatRoomId, Long viewerId);
+	// 채팅방의 가장 최근 메시지 ID (읽음 위치 갱신용)
+	@Query("SELECT MAX(m.chatMessageId) FROM ChatMessage m WHERE m.chatRoom.chatRoomId = :chatRoomId")
+	Optional<Long> findLastMessageId(@Param("chatRoomId") Long chatRoomId);
+
+	// 내가 보지 않은 메시지가 있는지 여부 (읽음 위치 이후에 상대방이 보낸 메시지)
+	boolean existsByChatRoom_ChatRoomIdAndSenderIdNotAndChatMessageIdGreaterThan(Long chatRoomId, Long viewerId,
+		Long lastReadMessageId);
+
+	// 내가 보지 않은 메시지 수 (읽음 위치 이후에 상대방이 보낸 메시지)
+	long countByChatRoom_ChatRoomIdAndSenderIdNotAndChatMessageIdGreaterThan(Long chatRoomId, Long viewerId,
+		Long lastReadMessageId);
+
+	// 미리보기 채우기용: 마지막 메시지가 비어 있는 채팅방의 가장 최근 메시지 [chatRoomId, content, sentAt]
+	@Query("""
+		SELECT m.chatRoom.chatRoomId, m.content, m.sentAt
+		FROM ChatMessage m
+		WHERE m.chatMessageId IN (
+			SELECT MAX(m2.chatMessageId)
+			FROM ChatMessage m2
+			WHERE m2.chatRoom.lastMessage IS NULL
+			GROUP BY m2.chatRoom.chatRoomId)
+		""")
+	List<Object[]> findLatestMessagesOfRoomsWithoutPreview();
+
+	// 미리보기 채우기용: 예전 읽음 플래그 기준 안 읽은 메시지 수 (상대방이 보냈고 is_read = false, 읽음 위치 이후)
+	long countByChatRoom_ChatRoomIdAndSenderIdNotAndReadFalseAndChatMessageIdGreaterThan(Long chatRoomId,
+		Long viewerId, Long lastReadMessageId);
+
+	// 예전 읽음 플래그 전환용: 채팅방/보낸 사람별 읽음 처리된 마지막 메시지 ID [chatRoomId, senderId, maxMessageId]
+	@Query("""
+		SELECT m.chatRoom.chatRoomId, m.senderId, MAX(m.chatMessageId)
+		FROM ChatMessage m
+		WHERE m.read = true
+		GROUP BY m.chatRoom.chatRoomId, m.senderId
+		""")
+	List<Object[]> findLegacyReadPositions();
+
+	// 읽음 위치로 옮긴 예전 읽음 플래그 정리 (다음 시작 때 다시 옮기지 않도록)
+	@Modifying
+	@Query("UPDATE ChatMessage m SET m.read = false WHERE m.read = true")
+	int clearLegacyReadFlags();
 
 }
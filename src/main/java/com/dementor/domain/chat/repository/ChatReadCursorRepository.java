@@ -0,0 +1,31 @@
+package com.dementor.domain.chat.repository;
+
+import com.dementor.domain.chat.entity.ChatReadCursor;
+import com.dementor.domain.chat.entity.ViewerType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ChatReadCursorRepository extends JpaRepository<ChatReadCursor, Long> {
+
+	// 채팅방에서 특정 참여자의 읽음 위치
+	Optional<ChatReadCursor> findByChatRoomIdAndParticipantTypeAndParticipantId(Long chatRoomId,
+		ViewerType participantType, Long participantId);
+
+	// 읽음 위치를 앞으로만 이동 (동시에 입장해도 큰 값이 남음), 이동했으면 1
+	@Modifying
+	@Query("""
+		UPDATE ChatReadCursor c
+		SET c.lastReadMessageId = :lastReadMessageId
+		WHERE c.chatRoomId = :chatRoomId
+		  AND c.participantType = :participantType
+		  AND c.participantId = :participantId
+		  AND c.lastReadMessageId < :lastReadMessageId
+		""")
+	int advance(@Param("chatRoomId") Long chatRoomId, @Param("participantType") ViewerType participantType,
+		@Param("participantId") Long participantId, @Param("lastReadMessageId") Long lastReadMessageId);
+}
@@ -1,11 +1,14 @@
 package com.dementor.domain.chat.repository;
 
+import com.dementor.domain.chat.entity.ChatParticipant;
 import com.dementor.domain.chat.entity.ChatRoom;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +22,14 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
 		""")
 	List<ChatRoom> findMentoringChatRoomsByMemberId(@Param("memberId") Long memberId);
 
+	// 멤버가 참여한 모든 채팅방 조회 (멘토링 + 관리자 채팅방을 한 번에)
+	@Query("""
+		    SELECT r FROM ChatRoom r
+		    WHERE (r.roomType = 'MENTORING_CHAT' AND :memberId IN (r.mentorId, r.menteeId))
+		       OR (r.roomType = 'ADMIN_CHAT' AND r.memberId = :memberId)
+		""")
+	List<ChatRoom> findAllChatRoomsByMemberId(@Param("memberId") Long memberId);
+
 	// 멤버가 참여한 관리자 채팅방 조회
 	@Query("""
 		    SELECT r FROM ChatRoom r
@@ -47,4 +58,74 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
 			@Param("adminId") Long adminId,
 			@Param("memberId") Long memberId
 	);
+
+	// 새 메시지 반영: 마지막 메시지/시간 갱신 + 수신자 안 읽은 메시지 수 증가
+	// 엔티티 dirty checking 대신 단일 UPDATE 로 처리해서 동시에 여러 메시지가 와도 카운트가 유실되지 않음
+	@Modifying
+	@Query("""
+		    UPDATE ChatRoom r
+		    SET r.lastMessage = :lastMessage,
+		        r.lastMessageAt = :sentAt,
+		        r.mentorUnreadCount = r.mentorUnreadCount + :mentorDelta,
+		        r.menteeUnreadCount = r.menteeUnreadCount + :menteeDelta,
+		        r.adminUnreadCount = r.adminUnreadCount + :adminDelta,
+		        r.memberUnreadCount = r.memberUnreadCount + :memberDelta
+		    WHERE r.chatRoomId = :chatRoomId
+		""")
+	int applyNewMessage(
+			@Param("chatRoomId") Long chatRoomId,
+			@Param("lastMessage") String lastMessage,
+			@Param("sentAt") ZonedDateTime sentAt,
+			@Param("mentorDelta") int mentorDelta,
+			@Param("menteeDelta") int menteeDelta,
+			@Param("adminDelta") int adminDelta,
+			@Param("memberDelta") int memberDelta
+	);
+
+	default int applyNewMessage(Long chatRoomId, String content, ZonedDateTime sentAt, ChatParticipant receiver) {
+		return applyNewMessage(chatRoomId, ChatRoom.toPreview(content), sentAt,
+				receiver == ChatParticipant.MENTOR ? 1 : 0,
+				receiver == ChatParticipant.MENTEE ? 1 : 0,
+				receiver == ChatParticipant.ADMIN ? 1 : 0,
+				receiver == ChatParticipant.MEMBER ? 1 : 0);
+	}
+
+	// 기존 방 미리보기 채우기: 아직 비어 있을 때만 (그사이 새 메시지가 반영됐으면 그대로 둠)
+	@Modifying
+	@Query("""
+		    UPDATE ChatRoom r
+		    SET r.lastMessage = :lastMessage,
+		        r.lastMessageAt = :sentAt,
+		        r.mentorUnreadCount = :mentorUnread,
+		        r.menteeUnreadCount = :menteeUnread,
+		        r.adminUnreadCount = :adminUnread,
+		        r.memberUnreadCount = :memberUnread
+		    WHERE r.chatRoomId = :chatRoomId
+		      AND r.lastMessage IS NULL
+		""")
+	int fillSummary(
+			@Param("chatRoomId") Long chatRoomId,
+			@Param("lastMessage") String lastMessage,
+			@Param("sentAt") ZonedDateTime sentAt,
+			@Param("mentorUnread") int mentorUnread,
+			@Param("menteeUnread") int menteeUnread,
+			@Param("adminUnread") int adminUnread,
+			@Param("memberUnread") int memberUnread
+	);
+
+	// 읽음 처리: 조회한 참여자의 안 읽은 메시지 수 초기화
+	@Modifying
+	@Query("""
+		    UPDATE ChatRoom r
+		    SET r.mentorUnreadCount = CASE WHEN :reader = 'MENTOR' THEN 0 ELSE r.mentorUnreadCount END,
+		        r.menteeUnreadCount = CASE WHEN :reader = 'MENTEE' THEN 0 ELSE r.menteeUnreadCount END,
+		        r.adminUnreadCount = CASE WHEN :reader = 'ADMIN' THEN 0 ELSE r.adminUnreadCount END,
+		        r.memberUnreadCount = CASE WHEN :reader = 'MEMBER' THEN 0 ELSE r.memberUnreadCount END
+		    WHERE r.chatRoomId = :chatRoomId
+		""")
+	int resetUnreadCount(@Param("chatRoomId") Long chatRoomId, @Param("reader") String reader);
+
+	default int resetUnreadCount(Long chatRoomId, ChatParticipant reader) {
+		return resetUnreadCount(chatRoomId, reader.name());
+	}
 }
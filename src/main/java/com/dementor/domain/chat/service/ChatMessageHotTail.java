@@ -0,0 +1,260 @@
+package com.dementor.domain.chat.service;
+
+import com.dementor.domain.chat.dto.ChatMessageResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방별 최근 메시지 캐시 (Redis list, key = chat:room:{id}:recent)
+ * - 오래된 순으로 RPUSH, 최대 chat.hot-tail.size 개만 유지 (LTRIM)
+ * - 첫 입장(커서 없는 첫 페이지)은 이 목록에서 응답하고, 이전 페이지는 DB 커서 쿼리 사용
+ * - 목록은 항상 "가장 최근 메시지들"의 연속 구간이어야 하므로
+ *   전송 시에는 목록이 이미 있을 때만 추가(RPUSHX), 비어 있으면 다음 입장 때 DB 결과로 채움
+ * - 추가는 목록이 없어도 방별 버전(chat:room:{id}:version)을 올림
+ *   채우는 쪽은 DB 조회 전에 버전을 읽고(version), 버전이 그대로일 때만 채움(fill)
+ *   -> DB 조회와 채우기 사이에 커밋된 메시지가 빠진 목록이 만들어지지 않음
+ * - 두 키는 같은 해시 태그({id})라 Redis Cluster 에서도 같은 슬롯
+ * - Redis 장애 시 예외를 삼키고 DB 조회로 동작, 실패 후 일정 시간은 Redis 호출 자체를 건너뜀
+ *   그동안 추가하지 못한 방(추가 실패 후 정리까지 실패한 방 포함)은 기억해 두었다가
+ *   다시 Redis 를 쓰기 전에 목록 삭제 + 버전 증가 (빈 구간이 있는 목록에 이어 붙이지 않도록)
+ */
+@Slf4j
+@Component
+public class ChatMessageHotTail {
+
+	private static final String KEY_PREFIX = "chat:room:{";
+	private static final String KEY_SUFFIX = "}:recent";
+	private static final String VERSION_KEY_SUFFIX = "}:version";
+	// Redis 를 쓸 수 없을 때의 버전 - fill 하지 않음
+	public static final long NO_VERSION = -1;
+
+	// 버전 증가 + 목록이 있을 때만 추가 + 개수 제한 + TTL 갱신 (한 번의 왕복)
+	private static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>("""
+		redis.call('INCR', KEYS[2])
+		redis.call('EXPIRE', KEYS[2], ARGV[2])
+		local size = redis.call('RPUSHX', KEYS[1], ARGV[3])
+		if size > 0 then
+			redis.call('LTRIM', KEYS[1], -tonumber(ARGV[1]), -1)
+			redis.call('EXPIRE', KEYS[1], ARGV[2])
+		end
+		return size
+		""", Long.class);
+
+	// DB 조회 전에 읽은 버전이 그대로이고 목록이 없을 때만 채움 (그 사이 추가/채우기가 있었으면 그대로 둠)
+	private static final RedisScript<Long> FILL_SCRIPT = new DefaultRedisScript<>("""
+		if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[3] then
+			return 0
+		end
+		if redis.call('EXISTS', KEYS[1]) == 1 then
+			return 0
+		end
+		redis.call('RPUSH', KEYS[1], unpack(ARGV, 4))
+		redis.call('LTRIM', KEYS[1], -tonumber(ARGV[1]), -1)
+		redis.call('EXPIRE', KEYS[1], ARGV[2])
+		return 1
+		""", Long.class);
+
+	private final RedisTemplate<String, String> redisTemplate;
+	private final ObjectMapper objectMapper;
+	private final int size;
+	private final long ttlSeconds;
+	private final long retryAfterFailureMs;
+
+	// Redis 장애 후 이 시각까지는 Redis 를 호출하지 않음 (요청마다 연결 타임아웃을 기다리지 않도록)
+	private volatile long skipUntil = 0;
+	// 메시지를 추가하지 못해 목록에 빈 구간이 생겼을 수 있는 방 - 다음 Redis 사용 전에 무효화
+	private final Set<Long> staleRooms = ConcurrentHashMap.newKeySet();
+
+	public ChatMessageHotTail(
+		RedisTemplate<String, String> redisTemplate,
+		ObjectMapper objectMapper,
+		@Value("${chat.hot-tail.size}") int size,
+		@Value("${chat.hot-tail.ttl-seconds}") long ttlSeconds,
+		@Value("${chat.hot-tail.retry-after-failure-ms}") long retryAfterFailureMs
+	) {
+		this.redisTemplate = redisTemplate;
+		this.objectMapper = objectMapper;
+		this.size = size;
+		this.ttlSeconds = ttlSeconds;
+		this.retryAfterFailureMs = retryAfterFailureMs;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 최근 메시지 count 개 (오래된 순)
+	 * - 목록이 없거나 Redis 를 쓸 수 없으면 empty -> 호출자가 DB 조회
+	 */
+	public Optional<List<ChatMessageResponseDto>> latest(Long chatRoomId, int count) {
+		// 보관 개수보다 많이 요청하면 목록만으로는 응답할 수 없음
+		if (count > size || !available()) {
+			return Optional.empty();
+		}
+		try {
+			List<String> values = redisTemplate.opsForList().range(key(chatRoomId), -count, -1);
+			if (values == null || values.isEmpty()) {
+				return Optional.empty();
+			}
+			List<ChatMessageResponseDto> messages = new ArrayList<>(values.size());
+			for (String value : values) {
+				messages.add(objectMapper.readValue(value, ChatMessageResponseDto.class));
+			}
+			return Optional.of(messages);
+		} catch (JsonProcessingException e) {
+			// 형식이 바뀐 예전 데이터 -> 지우고 DB 에서 다시 채움
+			log.warn("최근 메시지 캐시 역직렬화 실패, 삭제 후 DB 조회 (room={})", chatRoomId, e);
+			evict(chatRoomId);
+			return Optional.empty();
+		} catch (RuntimeException e) {
+			markFailure("조회", e);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * 채우기 전 버전 - DB 조회 전에 읽어서 fill 에 넘김
+	 * - Redis 를 쓸 수 없으면 NO_VERSION (채우지 않음)
+	 */
+	public long version(Long chatRoomId) {
+		if (!available()) {
+			return NO_VERSION;
+		}
+		try {
+			String version = redisTemplate.opsForValue().get(versionKey(chatRoomId));
+			return version != null ? Long.parseLong(version) : 0;
+		} catch (RuntimeException e) {
+			markFailure("조회", e);
+			return NO_VERSION;
+		}
+	}
+
+	// DB 에서 읽은 최근 메시지(오래된 순)로 목록을 채움, version 은 DB 조회 전에 읽은 값
+	public void fill(Long chatRoomId, long version, List<ChatMessageResponseDto> messages) {
+		if (messages.isEmpty() || version == NO_VERSION || !available()) {
+			return;
+		}
+		try {
+			List<String> args = new ArrayList<>(messages.size() + 3);
+			args.add(String.valueOf(size));
+			args.add(String.valueOf(ttlSeconds));
+			args.add(String.valueOf(version));
+			for (ChatMessageResponseDto message : messages) {
+				args.add(objectMapper.writeValueAsString(message));
+			}
+			redisTemplate.execute(FILL_SCRIPT, List.of(key(chatRoomId), versionKey(chatRoomId)), args.toArray());
+		} catch (JsonProcessingException e) {
+			log.warn("최근 메시지 캐시 직렬화 실패 (room={})", chatRoomId, e);
+		} catch (RuntimeException e) {
+			markFailure("저장", e);
+		}
+	}
+
+	/**
+	 * 새 메시지 추가
+	 * - 트랜잭션 안이면 커밋 후에 추가 (롤백된 메시지가 캐시에 남지 않도록)
+	 */
+	public void append(ChatMessageResponseDto message) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					appendNow(message);
+				}
+			});
+		} else {
+			appendNow(message);
+		}
+	}
+
+	// 목록 삭제 - 버전도 올려서 진행 중인 채우기가 지운 목록을 다시 만들지 않게 함
+	public void evict(Long chatRoomId) {
+		if (!available()) {
+			staleRooms.add(chatRoomId);
+			return;
+		}
+		try {
+			invalidate(chatRoomId);
+		} catch (RuntimeException e) {
+			staleRooms.add(chatRoomId);
+			markFailure("삭제", e);
+		}
+	}
+
+	private void appendNow(ChatMessageResponseDto message) {
+		if (!available()) {
+			// 건너뛴 메시지가 목록에 빠지므로 다시 쓸 수 있게 되면 이 방의 목록을 무효화
+			staleRooms.add(message.getChatRoomId());
+			return;
+		}
+		try {
+			redisTemplate.execute(APPEND_SCRIPT,
+				List.of(key(message.getChatRoomId()), versionKey(message.getChatRoomId())),
+				String.valueOf(size), String.valueOf(ttlSeconds), objectMapper.writeValueAsString(message));
+		} catch (JsonProcessingException e) {
+			log.warn("최근 메시지 캐시 직렬화 실패 (room={})", message.getChatRoomId(), e);
+		} catch (RuntimeException e) {
+			// 추가에 실패하면 목록에 빈 구간이 생기므로 지워서 다음 입장 때 DB 로 다시 채우게 함 (진행 중인 채우기도 막음)
+			markFailure("추가", e);
+			try {
+				invalidate(message.getChatRoomId());
+			} catch (RuntimeException ignored) {
+				// Redis 장애 중 - 다시 쓸 수 있게 되면 무효화
+				staleRooms.add(message.getChatRoomId());
+			}
+		}
+	}
+
+	// Redis 를 쓸 수 있는지 - 쓸 수 있으면 먼저 추가하지 못한 방의 목록을 무효화
+	private boolean available() {
+		if (System.currentTimeMillis() < skipUntil) {
+			return false;
+		}
+		for (Long chatRoomId : staleRooms) {
+			try {
+				invalidate(chatRoomId);
+				staleRooms.remove(chatRoomId);
+			} catch (RuntimeException e) {
+				markFailure("무효화", e);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// 버전 증가 후 목록 삭제 (진행 중인 채우기도 버전이 달라 실패)
+	private void invalidate(Long chatRoomId) {
+		redisTemplate.opsForValue().increment(versionKey(chatRoomId));
+		redisTemplate.delete(key(chatRoomId));
+	}
+
+	private void markFailure(String action, RuntimeException e) {
+		skipUntil = System.currentTimeMillis() + retryAfterFailureMs;
+		log.warn("최근 메시지 캐시 {} 실패, {}ms 동안 DB 조회로 대체: {}", action, retryAfterFailureMs, e.getMessage());
+	}
+
+	private static String key(Long chatRoomId) {
+		return KEY_PREFIX + chatRoomId + KEY_SUFFIX;
+	}
+
+	private static String versionKey(Long chatRoomId) {
+		return KEY_PREFIX + chatRoomId + VERSION_KEY_SUFFIX;
+	}
+}
@@ -10,18 +10,23 @@ import lombok.RequiredArgsConstructor;
 
 //import com.dementor.global.websocket.StompRabbitMqBrokerConfig;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 //import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.TimeZone;
 import java.util.stream.Collectors;
 
@@ -33,119 +38,168 @@ public class ChatMessageService {
     private final ChatMessageRepository chatMessageRepository;
     private final RabbitTemplate rabbitTemplate;
     private final ChatRoomService chatRoomService;
+    private final ChatRoomParticipantCache chatRoomParticipantCache;
+    private final ChatMessageHotTail chatMessageHotTail;
+    private final Optional<ChatMessageWriteBehindBuffer> writeBehindBuffer; // chat.ingest.mode=write-behind 일 때만 존재
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${chat.history.max-page-size}")
+    private int maxPageSize;
 
 //	private static final TimeZone KST = TimeZone.getTimeZone("Asia/Seoul");
 
     /**
-     * 1. 메시지 목록 조회
-     * - 사용자가 채팅방에 입장할 때 과거 메시지 불러오기
+     * 1. 메시지 목록 조회 (키셋 페이지네이션)
+     * - beforeMessageId: 이전 메시지 (과거 스크롤), afterMessageId: 이후 메시지 (재접속 시 놓친 메시지)
+     * - 둘 다 없으면 최신 메시지 -> Redis 최근 메시지 캐시(ChatMessageHotTail)에서 응답, 없으면 DB 조회 후 캐시 채움
+     * - 항상 오래된 순(화면 표시 순서)으로 반환
      */
     @Transactional(readOnly = true)
-    public List<ChatMessageResponseDto> getMessages(Long chatRoomId, Long beforeMessageId) {
-        List<ChatMessage> messages;
-
-        if (beforeMessageId != null && beforeMessageId > 0) {
-            // 과거 스크롤 시: 이전 메시지부터 20개
-            messages = chatMessageRepository
-                    .findTop20ByChatRoom_ChatRoomIdAndChatMessageIdLessThanOrderByChatMessageIdDesc(chatRoomId,
-                            beforeMessageId);
-        } else {
-            // 첫 입장 시: 최신 메시지부터 20개
-            messages = chatMessageRepository
-                    .findTop20ByChatRoom_ChatRoomIdOrderByChatMessageIdDesc(chatRoomId);
+    public List<ChatMessageResponseDto> getMessages(Long chatRoomId, Long beforeMessageId, Long afterMessageId,
+            int size) {
+        if (beforeMessageId != null && afterMessageId != null) {
+            throw new IllegalArgumentException("beforeMessageId 와 afterMessageId 는 함께 사용할 수 없습니다.");
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("size 는 1 이상 " + maxPageSize + " 이하여야 합니다.");
+        }
+
+        if (beforeMessageId != null) {
+            // 과거 스크롤 시: 이전 메시지부터 size 개
+            return toDisplayOrder(chatMessageRepository.findPageBefore(chatRoomId, beforeMessageId,
+                    PageRequest.ofSize(size)));
+        }
+        if (afterMessageId != null) {
+            return chatMessageRepository.findPageAfter(chatRoomId, afterMessageId, PageRequest.ofSize(size));
+        }
+
+        // 첫 입장 시: 최신 메시지부터 size 개
+        Optional<List<ChatMessageResponseDto>> cached = chatMessageHotTail.latest(chatRoomId, size);
+        if (cached.isPresent()) {
+            return cached.get();
         }
 
-        // 오래된 순으로 정렬
-        return messages.stream()
-                .sorted(Comparator.comparingLong(ChatMessage::getChatMessageId))
-                .map(chatMessage -> {
-//                    ZonedDateTime seoulTime = chatMessage.getSentAt()
-//                            .atZone(ZoneId.of("Asia/Seoul"));
-//
-////                            .atZone(ZoneId.of("UTC"))
-////                            .withZoneSameInstant(ZoneId.of("Asia/Seoul")); //시간 변환
-
-
-                    return new ChatMessageResponseDto(
-                            chatMessage.getChatRoom().getChatRoomId(),
-                            chatMessage.getSenderId(),
-                            chatMessage.getSenderType(),
-                            chatMessage.getContent(),
-                            chatMessage.getSentAt());
-                }).toList();
+        // 캐시는 항상 최근 hot-tail.size 개로 채워야 이후 다른 size 요청도 캐시로 응답 가능
+        // 버전은 DB 조회 전에 읽음 - 조회 후에 추가된 메시지가 있으면 채우지 않음
+        int fetchSize = Math.max(size, chatMessageHotTail.size());
+        long version = chatMessageHotTail.version(chatRoomId);
+        List<ChatMessageResponseDto> latest = toDisplayOrder(chatMessageRepository.findLatestPage(chatRoomId,
+                PageRequest.ofSize(fetchSize)));
+        chatMessageHotTail.fill(chatRoomId, version, latest);
+        return latest.subList(Math.max(0, latest.size() - size), latest.size());
+    }
+
+    // 최신순(내림차순)으로 조회한 페이지를 화면 표시 순서(오래된 순)로 뒤집음 - 정렬 없이 O(n)
+    private List<ChatMessageResponseDto> toDisplayOrder(List<ChatMessageResponseDto> newestFirst) {
+        List<ChatMessageResponseDto> messages = new ArrayList<>(newestFirst);
+        Collections.reverse(messages);
+        return messages;
     }
 
     /**
      * 2. 메시지 저장 및 실시간 전송
      * - 사용자가 메시지를 보낼 때 호출
      * - DB에 저장 후, RabbitMQ 통해 실시간 브로드캐스트
+     * - chat.ingest.mode=write-behind 이면 저장 대기열에 넣고 바로 브로드캐스트 (ChatMessageWriteBehindBuffer)
+     * - 메서드 자체는 트랜잭션 없음: write-behind 모드는 대기열이 가득 차 enqueue 가 기다리는 동안 DB 커넥션을 잡지 않고,
+     *   동기 저장만 TransactionTemplate 으로 트랜잭션 안에서 실행
      */
-    @Transactional
 //	public ChatMessageResponseDto sendMessage(Long chatRoomId, ChatMessageSendDto dto, Long senderId, SenderType senderType) {
     public ChatMessageResponseDto sendMessage(Long chatRoomId, ChatMessageSendDto dto) {
 
-        // 채팅방 유효성 검사
-        ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
-                .orElseThrow(() -> new IllegalArgumentException("채팅방이 존재하지 않습니다."));
+        // 채팅방 유효성 검사 (참여자 캐시 - 캐시에 없을 때만 chat_room 조회)
+        ChatRoomParticipants participants = chatRoomParticipantCache.get(chatRoomId);
 
 
         // 참여자 검증 로직 (ChatRoomService 사용 대신 직접 구현)
-        validateChatParticipant(chatRoom, dto.getSenderId(), dto.getSenderType());
+        validateChatParticipant(participants, dto.getSenderId(), dto.getSenderType());
+
+
+        ZonedDateTime sentAt = ZonedDateTime.now();
+        ChatParticipant receiver = participants.getReceiver(dto.getSenderId(), dto.getSenderType());
+
+        // 응답 DTO 생성
+        ChatMessageResponseDto responseDto = new ChatMessageResponseDto(
+                null,
+                chatRoomId,
+                dto.getSenderId(),
+                dto.getSenderType(),
+                dto.getContent(),
+                sentAt);
+
+        // write-behind 모드: 저장 대기열에 넣고 바로 브로드캐스트 (DB 저장은 배치로)
+        if (writeBehindBuffer.isPresent()) {
+            writeBehindBuffer.get().enqueue(new ChatMessageWriteBehindBuffer.PendingChatMessage(
+                    chatRoomId,
+                    dto.getSenderId(),
+                    dto.getSenderType(),
+                    dto.getContent(),
+                    sentAt,
+                    receiver
+            ));
+            // 최근 메시지 캐시는 저장 후 ID 와 함께 추가 (ChatMessageWriteBehindBuffer)
+            // 저장 전에 보내므로 브로드캐스트/응답의 chatMessageId 는 null - 클라이언트는 ID 대신 sentAt 으로 표시,
+            // 페이지 커서가 필요하면 다음 목록 조회(afterMessageId 등)에서 받은 ID 사용
+            broadcast(responseDto);
+            return responseDto;
+        }
 
+        // 동기 저장 (한 트랜잭션) 후 브로드캐스트 - 커밋된 메시지만 전송
+        transactionTemplate.executeWithoutResult(status -> save(responseDto, receiver));
+        broadcast(responseDto);
+
+        return responseDto;
+    }
+
+    private void save(ChatMessageResponseDto responseDto, ChatParticipant receiver) {
+        Long chatRoomId = responseDto.getChatRoomId();
+        ZonedDateTime sentAt = responseDto.getSentAt();
 
         // 메시지 엔티티 생성
         ChatMessage chatMessage = ChatMessage.builder()
-                .chatRoom(chatRoom)
-                .senderId(dto.getSenderId())
-                .senderType(dto.getSenderType())
-                .content(dto.getContent())
-                .sentAt(ZonedDateTime.now())
+                .chatRoom(chatRoomRepository.getReferenceById(chatRoomId)) // 프록시 - 조회 쿼리 없음
+                .senderId(responseDto.getSenderId())
+                .senderType(responseDto.getSenderType())
+                .content(responseDto.getContent())
+                .sentAt(sentAt)
                 .build();
 
-//		// 시간 변환: UTC → KST
-//		ZonedDateTime seoulTime = chatMessage.getSentAt()
-//				.atZone(ZoneId.of("Asia/Seoul"));
-////				.withZoneSameInstant(ZoneId.of("Asia/Seoul"));
-
         // DB 저장
         chatMessageRepository.save(chatMessage);
-        chatRoom.updateLastMessageTime(chatMessage.getSentAt());
+        responseDto.setChatMessageId(chatMessage.getChatMessageId());
 
-        // 응답 DTO 생성
-        ChatMessageResponseDto responseDto = new ChatMessageResponseDto(
-                chatMessage.getChatRoom().getChatRoomId(),
-                chatMessage.getSenderId(),
-                chatMessage.getSenderType(),
-                chatMessage.getContent(),
-                chatMessage.getSentAt()         );
+        // 채팅방 마지막 메시지 + 상대방 안 읽은 메시지 수 갱신 (단일 UPDATE)
+        chatRoomRepository.applyNewMessage(chatRoomId, chatMessage.getContent(), sentAt, receiver);
+
+        // 최근 메시지 캐시에 추가 (커밋 후)
+        chatMessageHotTail.append(responseDto);
+    }
 
-        // RabbitMQ로 브로드캐스트 전송
+    private void broadcast(ChatMessageResponseDto responseDto) {
         rabbitTemplate.convertAndSend(
                 "amq.topic",
-                "chat.room." + chatRoom.getChatRoomId(),
+                "chat.room." + responseDto.getChatRoomId(),
                 responseDto
         );
-
-        return responseDto;
     }
 
 
     // 참여자 검증 로직
-    private void validateChatParticipant(ChatRoom room, Long senderId, SenderType senderType) {
-        if (room.getRoomType() == RoomType.MENTORING_CHAT) {
+    private void validateChatParticipant(ChatRoomParticipants room, Long senderId, SenderType senderType) {
+        if (room.roomType() == RoomType.MENTORING_CHAT) {
             if (senderType != SenderType.MEMBER) {
                 throw new SecurityException("멘토링 채팅방에는 멤버만 참여할 수 있습니다.");
             }
-            if (!(senderId.equals(room.getMentorId()) || senderId.equals(room.getMenteeId()))) {
+            if (!(senderId.equals(room.mentorId()) || senderId.equals(room.menteeId()))) {
                 throw new SecurityException("해당 멘토링 채팅방에 접근할 수 없습니다.");
             }
-        } else if (room.getRoomType() == RoomType.ADMIN_CHAT) {
+        } else if (room.roomType() == RoomType.ADMIN_CHAT) {
             if (senderType == SenderType.ADMIN) {
-                if (!senderId.equals(room.getAdminId())) {
+                if (!senderId.equals(room.adminId())) {
                     throw new SecurityException("해당 채팅방의 관리자와 일치하지 않습니다.");
                 }
             } else if (senderType == SenderType.MEMBER) {
-                if (!senderId.equals(room.getMemberId())) {
+                if (!senderId.equals(room.memberId())) {
                     throw new SecurityException("해당 채팅방의 멤버가 아닙니다.");
                 }
             } else {
@@ -0,0 +1,305 @@
+package com.dementor.domain.chat.service;
+
+import com.dementor.domain.chat.dto.ChatMessageResponseDto;
+import com.dementor.domain.chat.entity.ChatParticipant;
+import com.dementor.domain.chat.entity.ChatRoom;
+import com.dementor.domain.chat.entity.SenderType;
+import com.dementor.domain.chat.repository.ChatRoomRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 메시지 write-behind 저장 (chat.ingest.mode=write-behind 일 때만 등록)
+ * - sendMessage 는 검증 후 바로 브로드캐스트하고 메시지는 이 대기열에 넣기만 한다
+ * - 단일 writer 스레드가 flush-size 개 또는 flush-interval-ms 마다 JDBC 배치 INSERT 로 저장
+ *   (대기열 FIFO + 단일 writer 이므로 같은 방의 메시지 순서 = chatMessageId 순서)
+ * - 저장된 ID(생성 키)로 커밋 후 최근 메시지 캐시(ChatMessageHotTail)에 추가 (ID 없는 메시지가 캐시에 들어가지 않도록)
+ * - 저장 실패 시 배치를 버리지 않고 간격을 늘려가며(retry-initial-backoff-ms ~ retry-max-backoff-ms) 재시도
+ *   DB 장애 동안에는 대기열이 차고 enqueue 가 실패 -> 발신자에게 에러 (메시지 유실 대신 전송 거부)
+ * - 종료 시(graceful shutdown) 대기열에 남은 메시지를 모두 저장한 뒤 종료
+ *   shutdown-timeout-ms 안에 저장하지 못하면 남은 메시지를 에러 로그로 남김
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.ingest.mode", havingValue = "write-behind")
+public class ChatMessageWriteBehindBuffer {
+
+	// IDENTITY 컬럼은 Hibernate 배치 INSERT 가 안 되므로 JDBC 배치로 직접 저장
+	private static final String INSERT_SQL = """
+		INSERT INTO chat_message (chat_room_id, sender_id, sender_type, content, sent_at, is_read)
+		VALUES (?, ?, ?, ?, ?, false)
+		""";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ChatRoomRepository chatRoomRepository;
+	private final ChatMessageHotTail chatMessageHotTail;
+	private final TransactionTemplate transactionTemplate;
+
+	private final BlockingQueue<PendingChatMessage> queue;
+	private final int flushSize;
+	private final long flushIntervalMs;
+	private final long offerTimeoutMs;
+	private final long shutdownTimeoutMs;
+	private final long retryInitialBackoffMs;
+	private final long retryMaxBackoffMs;
+
+	private volatile boolean running;
+	private Thread writer;
+
+	public ChatMessageWriteBehindBuffer(
+		JdbcTemplate jdbcTemplate,
+		ChatRoomRepository chatRoomRepository,
+		ChatMessageHotTail chatMessageHotTail,
+		PlatformTransactionManager transactionManager,
+		@Value("${chat.ingest.queue-capacity}") int queueCapacity,
+		@Value("${chat.ingest.flush-size}") int flushSize,
+		@Value("${chat.ingest.flush-interval-ms}") long flushIntervalMs,
+		@Value("${chat.ingest.offer-timeout-ms}") long offerTimeoutMs,
+		@Value("${chat.ingest.shutdown-timeout-ms}") long shutdownTimeoutMs,
+		@Value("${chat.ingest.retry-initial-backoff-ms}") long retryInitialBackoffMs,
+		@Value("${chat.ingest.retry-max-backoff-ms}") long retryMaxBackoffMs
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.chatRoomRepository = chatRoomRepository;
+		this.chatMessageHotTail = chatMessageHotTail;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.flushSize = flushSize;
+		this.flushIntervalMs = flushIntervalMs;
+		this.offerTimeoutMs = offerTimeoutMs;
+		this.shutdownTimeoutMs = shutdownTimeoutMs;
+		this.retryInitialBackoffMs = retryInitialBackoffMs;
+		this.retryMaxBackoffMs = retryMaxBackoffMs;
+	}
+
+	@PostConstruct
+	public void start() {
+		running = true;
+		writer = new Thread(this::runWriter, "chat-write-behind");
+		writer.setDaemon(true);
+		writer.start();
+		log.info("채팅 메시지 write-behind 저장 시작 (flushSize={}, flushIntervalMs={})", flushSize, flushIntervalMs);
+	}
+
+	// 대기열이 가득 차면 offer-timeout-ms 만큼 기다린 뒤 실패 (발신자에게 에러 -> 브로드캐스트 하지 않음)
+	public void enqueue(PendingChatMessage message) {
+		if (!running) {
+			throw new IllegalStateException("서버가 종료 중이라 메시지를 저장할 수 없습니다.");
+		}
+		try {
+			if (!queue.offer(message, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+				throw new IllegalStateException("채팅 메시지 저장 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("채팅 메시지 저장이 중단되었습니다.", e);
+		}
+	}
+
+	public int pendingCount() {
+		return queue.size();
+	}
+
+	@PreDestroy
+	public void drain() throws InterruptedException {
+		running = false;
+		writer.join(shutdownTimeoutMs);
+		if (writer.isAlive()) {
+			// 저장 재시도 중 - 더 기다릴 수 없으므로 중단 (재시도 중이던 배치는 writer 가 로그로 남김)
+			writer.interrupt();
+			writer.join(shutdownTimeoutMs);
+		}
+		List<PendingChatMessage> unsaved = new ArrayList<>();
+		queue.drainTo(unsaved);
+		if (!unsaved.isEmpty()) {
+			log.error("종료 전에 저장하지 못한 채팅 메시지 {}건", unsaved.size());
+			logUnsaved(unsaved);
+		}
+	}
+
+	private void runWriter() {
+		while (running || !queue.isEmpty()) {
+			try {
+				PendingChatMessage first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+
+				List<PendingChatMessage> batch = new ArrayList<>(flushSize);
+				batch.add(first);
+
+				// flush-size 를 채우거나 첫 메시지 이후 flush-interval-ms 가 지나면 저장
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+				while (batch.size() < flushSize) {
+					queue.drainTo(batch, flushSize - batch.size());
+					long remaining = deadline - System.nanoTime();
+					if (batch.size() >= flushSize || remaining <= 0 || !running) {
+						break;
+					}
+					PendingChatMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+
+				flushUntilSaved(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 저장될 때까지 재시도 (실패할 때마다 대기 시간 2배, 최대 retry-max-backoff-ms)
+	 * - 재시도하는 동안 writer 는 다음 배치를 꺼내지 않음 -> 저장 순서 유지
+	 * - 무결성 위반은 데이터 자체의 문제라 재시도해도 성공하지 않음
+	 *   -> 한 건씩 나눠 저장하고, 저장할 수 없는 메시지만 로그로 남기고 제외
+	 * - 종료 중 중단(interrupt)되면 재시도 중이던 배치를 로그로 남김
+	 */
+	private void flushUntilSaved(List<PendingChatMessage> batch) throws InterruptedException {
+		long backoffMs = retryInitialBackoffMs;
+		for (int attempt = 1; ; attempt++) {
+			try {
+				flush(batch);
+				return;
+			} catch (DataIntegrityViolationException e) {
+				if (batch.size() == 1) {
+					log.error("저장할 수 없는 채팅 메시지 제외", e);
+					logUnsaved(batch);
+					return;
+				}
+				log.warn("채팅 메시지 배치 무결성 위반, 한 건씩 저장 ({}건): {}", batch.size(), e.getMessage());
+				for (PendingChatMessage message : batch) {
+					flushUntilSaved(List.of(message));
+				}
+				return;
+			} catch (RuntimeException e) {
+				log.warn("채팅 메시지 배치 저장 실패 ({}건, {}번째), {}ms 후 재시도: {}",
+					batch.size(), attempt, backoffMs, e.getMessage());
+				try {
+					Thread.sleep(backoffMs);
+				} catch (InterruptedException interrupted) {
+					log.error("저장 재시도 중 종료 - 저장하지 못한 채팅 메시지 {}건", batch.size());
+					logUnsaved(batch);
+					throw interrupted;
+				}
+				backoffMs = Math.min(backoffMs * 2, retryMaxBackoffMs);
+			}
+		}
+	}
+
+	private void logUnsaved(List<PendingChatMessage> messages) {
+		messages.forEach(message -> log.error("저장 실패 메시지: room={}, sender={}, senderType={}, sentAt={}, content={}",
+			message.chatRoomId(), message.senderId(), message.senderType(), message.sentAt(), message.content()));
+	}
+
+	void flush(List<PendingChatMessage> batch) {
+		List<Long> ids = transactionTemplate.execute(status -> {
+			List<Long> generatedIds = insert(batch);
+
+			// 방별로 모아서 채팅방 마지막 메시지 / 안 읽은 메시지 수 갱신 (방마다 UPDATE 1번)
+			Map<Long, RoomUpdate> roomUpdates = new LinkedHashMap<>();
+			for (PendingChatMessage message : batch) {
+				roomUpdates.computeIfAbsent(message.chatRoomId(), id -> new RoomUpdate()).add(message);
+			}
+			roomUpdates.forEach((chatRoomId, update) -> chatRoomRepository.applyNewMessage(
+				chatRoomId,
+				ChatRoom.toPreview(update.lastContent),
+				update.lastSentAt,
+				update.unreadDeltas[ChatParticipant.MENTOR.ordinal()],
+				update.unreadDeltas[ChatParticipant.MENTEE.ordinal()],
+				update.unreadDeltas[ChatParticipant.ADMIN.ordinal()],
+				update.unreadDeltas[ChatParticipant.MEMBER.ordinal()]
+			));
+			return generatedIds;
+		});
+
+		// 드라이버가 생성 키를 모두 돌려주지 않으면 캐시를 지워서 다음 입장 때 DB 로 채우게 함 (저장은 이미 커밋됨)
+		if (ids.size() != batch.size()) {
+			log.warn("생성된 채팅 메시지 ID 개수가 배치와 다름 ({} / {}), 최근 메시지 캐시 삭제", ids.size(), batch.size());
+			batch.stream().map(PendingChatMessage::chatRoomId).distinct().forEach(chatMessageHotTail::evict);
+			return;
+		}
+
+		// 커밋 후 저장 순서(= ID 순서)대로 최근 메시지 캐시에 추가
+		for (int i = 0; i < batch.size(); i++) {
+			PendingChatMessage message = batch.get(i);
+			chatMessageHotTail.append(new ChatMessageResponseDto(ids.get(i), message.chatRoomId(), message.senderId(),
+				message.senderType(), message.content(), message.sentAt()));
+		}
+	}
+
+	// JDBC 배치 INSERT 후 생성된 ID 를 배치 순서대로 반환
+	private List<Long> insert(List<PendingChatMessage> batch) {
+		return jdbcTemplate.execute((ConnectionCallback<List<Long>>)connection -> {
+			try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+				for (PendingChatMessage message : batch) {
+					ps.setLong(1, message.chatRoomId());
+					ps.setLong(2, message.senderId());
+					ps.setString(3, message.senderType().name());
+					ps.setString(4, message.content());
+					ps.setTimestamp(5, Timestamp.from(message.sentAt().toInstant()));
+					ps.addBatch();
+				}
+				ps.executeBatch();
+
+				List<Long> ids = new ArrayList<>(batch.size());
+				try (ResultSet keys = ps.getGeneratedKeys()) {
+					while (keys.next()) {
+						ids.add(keys.getLong(1));
+					}
+				}
+				return ids;
+			}
+		});
+	}
+
+	// 저장 대기 중인 메시지 (수신자는 enqueue 시점에 계산)
+	public record PendingChatMessage(
+		Long chatRoomId,
+		Long senderId,
+		SenderType senderType,
+		String content,
+		ZonedDateTime sentAt,
+		ChatParticipant receiver
+	) {
+	}
+
+	private static class RoomUpdate {
+		private String lastContent;
+		private ZonedDateTime lastSentAt;
+		private final int[] unreadDeltas = new int[ChatParticipant.values().length];
+
+		private void add(PendingChatMessage message) {
+			lastContent = message.content();
+			lastSentAt = message.sentAt();
+			unreadDeltas[message.receiver().ordinal()]++;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package com.dementor.domain.chat.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dementor.domain.chat.entity.ChatReadCursor;
+import com.dementor.domain.chat.entity.ChatRoom;
+import com.dementor.domain.chat.entity.RoomType;
+import com.dementor.domain.chat.entity.ViewerType;
+import com.dementor.domain.chat.repository.ChatMessageRepository;
+import com.dementor.domain.chat.repository.ChatReadCursorRepository;
+import com.dementor.domain.chat.repository.ChatRoomRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 예전 메시지별 읽음 플래그(is_read)를 참여자별 읽음 위치(ChatReadCursor)로 옮김 (애플리케이션 시작 시)
+ * - 참여자의 읽음 위치 = 상대방이 보낸 메시지 중 읽음 처리된 마지막 메시지 ID (이미 더 앞에 있으면 유지)
+ * - 옮긴 플래그는 false 로 되돌려 다음 시작 때는 할 일이 없음 (모두 한 트랜잭션)
+ * - 플래그를 지우기 전에 ChatRoomSummaryBackfill 이 안 읽은 수를 먼저 계산하도록 뒤에 실행
+ */
+@Slf4j
+@Order(2)
+@Component
+public class ChatReadCursorBackfill implements CommandLineRunner {
+
+	private final ChatMessageRepository chatMessageRepository;
+	private final ChatReadCursorRepository chatReadCursorRepository;
+	private final ChatRoomRepository chatRoomRepository;
+	private final boolean enabled;
+
+	public ChatReadCursorBackfill(
+		ChatMessageRepository chatMessageRepository,
+		ChatReadCursorRepository chatReadCursorRepository,
+		ChatRoomRepository chatRoomRepository,
+		@Value("${chat.read-cursor.backfill-legacy}") boolean enabled
+	) {
+		this.chatMessageRepository = chatMessageRepository;
+		this.chatReadCursorRepository = chatReadCursorRepository;
+		this.chatRoomRepository = chatRoomRepository;
+		this.enabled = enabled;
+	}
+
+	@Override
+	@Transactional
+	public void run(String... args) {
+		if (!enabled) {
+			return;
+		}
+
+		// chatRoomId -> (senderId -> 읽음 처리된 마지막 메시지 ID)
+		Map<Long, Map<Long, Long>> readPositions = new HashMap<>();
+		for (Object[] row : chatMessageRepository.findLegacyReadPositions()) {
+			readPositions.computeIfAbsent((Long)row[0], roomId -> new HashMap<>()).put((Long)row[1], (Long)row[2]);
+		}
+		if (readPositions.isEmpty()) {
+			return;
+		}
+
+		int moved = 0;
+		for (ChatRoom room : chatRoomRepository.findAllById(readPositions.keySet())) {
+			Map<Long, Long> bySender = readPositions.get(room.getChatRoomId());
+			for (Participant participant : participants(room)) {
+				// 다른 사람이 보낸 메시지만 (읽음 판단 쿼리와 같은 기준: senderId <> 나)
+				Long lastRead = bySender.entrySet().stream()
+					.filter(entry -> !entry.getKey().equals(participant.id()))
+					.map(Map.Entry::getValue)
+					.max(Long::compare)
+					.orElse(null);
+				if (lastRead != null && moveCursor(room.getChatRoomId(), participant, lastRead)) {
+					moved++;
+				}
+			}
+		}
+
+		int cleared = chatMessageRepository.clearLegacyReadFlags();
+		log.info("예전 읽음 플래그 전환 완료: 메시지 {}개, 읽음 위치 {}개", cleared, moved);
+	}
+
+	private boolean moveCursor(Long chatRoomId, Participant participant, Long lastRead) {
+		ChatReadCursor cursor = chatReadCursorRepository
+			.findByChatRoomIdAndParticipantTypeAndParticipantId(chatRoomId, participant.type(), participant.id())
+			.orElse(null);
+		if (cursor == null) {
+			chatReadCursorRepository.save(ChatReadCursor.builder()
+				.chatRoomId(chatRoomId)
+				.participantType(participant.type())
+				.participantId(participant.id())
+				.lastReadMessageId(lastRead)
+				.build());
+			return true;
+		}
+		if (cursor.getLastReadMessageId() >= lastRead) {
+			return false;
+		}
+		cursor.advanceTo(lastRead);
+		return true;
+	}
+
+	private List<Participant> participants(ChatRoom room) {
+		List<Participant> participants = new ArrayList<>();
+		if (room.getRoomType() == RoomType.MENTORING_CHAT) {
+			addIfPresent(participants, ViewerType.MEMBER, room.getMentorId());
+			addIfPresent(participants, ViewerType.MEMBER, room.getMenteeId());
+		} else if (room.getRoomType() == RoomType.ADMIN_CHAT) {
+			addIfPresent(participants, ViewerType.ADMIN, room.getAdminId());
+			addIfPresent(participants, ViewerType.MEMBER, room.getMemberId());
+		}
+		return participants;
+	}
+
+	private void addIfPresent(List<Participant> participants, ViewerType type, Long id) {
+		if (id != null) {
+			participants.add(new Participant(type, id));
+		}
+	}
+
+	private record Participant(ViewerType type, Long id) {
+	}
+}
@@ -0,0 +1,90 @@
+package com.dementor.domain.chat.service;
+
+import com.dementor.domain.chat.entity.ChatRoom;
+import com.dementor.domain.chat.entity.ChatRoomParticipants;
+import com.dementor.domain.chat.repository.ChatRoomRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 채팅방 참여자 캐시 (chatRoomId -> 참여자/방 유형)
+ * - 참여자는 채팅방 생성 이후 바뀌지 않으므로 메시지 전송마다 chat_room 을 조회하지 않도록 메모리에 보관
+ * - 처음 조회할 때 채우고(lazy), 최대 개수를 넘으면 가장 오래 안 쓴 방부터 제거(LRU)
+ * - hit/miss 는 actuator 메트릭(chat.room.participant.cache)으로 확인
+ */
+@Component
+public class ChatRoomParticipantCache {
+
+	private final ChatRoomRepository chatRoomRepository;
+	private final Map<Long, ChatRoomParticipants> cache;
+	private final Counter hits;
+	private final Counter misses;
+
+	public ChatRoomParticipantCache(
+		ChatRoomRepository chatRoomRepository,
+		MeterRegistry meterRegistry,
+		@Value("${chat.room-cache.max-size}") int maxSize
+	) {
+		this.chatRoomRepository = chatRoomRepository;
+		this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, ChatRoomParticipants> eldest) {
+				return size() > maxSize;
+			}
+		};
+		this.hits = Counter.builder("chat.room.participant.cache")
+			.tag("result", "hit")
+			.description("채팅방 참여자 캐시 조회 결과")
+			.register(meterRegistry);
+		this.misses = Counter.builder("chat.room.participant.cache")
+			.tag("result", "miss")
+			.description("채팅방 참여자 캐시 조회 결과")
+			.register(meterRegistry);
+		Gauge.builder("chat.room.participant.cache.size", this, ChatRoomParticipantCache::size)
+			.description("캐시된 채팅방 수")
+			.register(meterRegistry);
+	}
+
+	public ChatRoomParticipants get(Long chatRoomId) {
+		ChatRoomParticipants participants;
+		synchronized (cache) {
+			participants = cache.get(chatRoomId);
+		}
+		if (participants != null) {
+			hits.increment();
+			return participants;
+		}
+
+		misses.increment();
+		// 없는 방은 캐시하지 않음
+		participants = chatRoomRepository.findById(chatRoomId)
+			.map(ChatRoom::toParticipants)
+			.orElseThrow(() -> new IllegalArgumentException("채팅방이 존재하지 않습니다."));
+
+		synchronized (cache) {
+			cache.put(chatRoomId, participants);
+		}
+		return participants;
+	}
+
+	// 채팅방 생성/삭제 시 호출
+	public void evict(Long chatRoomId) {
+		synchronized (cache) {
+			cache.remove(chatRoomId);
+		}
+	}
+
+	public int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+}
@@ -2,11 +2,12 @@ package com.dementor.domain.chat.service;
 
 import com.dementor.domain.admin.repository.AdminRepository;
 import com.dementor.domain.chat.dto.ChatRoomResponseDto;
-import com.dementor.domain.chat.entity.ChatMessage;
+import com.dementor.domain.chat.entity.ChatReadCursor;
 import com.dementor.domain.chat.entity.ChatRoom;
 import com.dementor.domain.chat.entity.RoomType;
 import com.dementor.domain.chat.entity.ViewerType;
 import com.dementor.domain.chat.repository.ChatMessageRepository;
+import com.dementor.domain.chat.repository.ChatReadCursorRepository;
 import com.dementor.domain.chat.repository.ChatRoomRepository;
 import com.dementor.domain.admin.entity.Admin;
 import com.dementor.domain.member.entity.Member;
@@ -16,14 +17,20 @@ import com.dementor.domain.member.repository.MemberRepository;
 import com.dementor.global.security.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.ZoneId;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -31,8 +38,16 @@ public class ChatRoomService {
 
 	private final ChatRoomRepository chatRoomRepository;
 	private final ChatMessageRepository chatMessageRepository;
+	private final ChatReadCursorRepository chatReadCursorRepository;
 	private final MemberRepository memberRepository;
 	private final AdminRepository adminRepository;
+	private final ChatRoomParticipantCache chatRoomParticipantCache;
+	private final PlatformTransactionManager transactionManager;
+
+	// 최근 메시지 기준 내림차순 (메시지가 없는 방은 뒤로)
+	private static final Comparator<ChatRoomResponseDto> LAST_MESSAGE_DESC =
+			Comparator.comparing(ChatRoomResponseDto::getLastMessageAt,
+					Comparator.nullsLast(Comparator.reverseOrder()));
 
 
 //	//닉네임 캐시 저장 - (닉네임캐싱) 최초 1회만 DB 조회 후 메모리 캐시에서 꺼냄
@@ -58,7 +73,9 @@ public class ChatRoomService {
 				//                .targetNickname(mentorNickname) // 기본값 (멘티 기준)
 				.build();
 
-		return chatRoomRepository.save(newRoom);
+		ChatRoom savedRoom = chatRoomRepository.save(newRoom);
+		chatRoomParticipantCache.evict(savedRoom.getChatRoomId());
+		return savedRoom;
 	}
 
 	// 관리자 채팅방 생성
@@ -89,6 +106,7 @@ public class ChatRoomService {
 				.memberId(member.getId())
 				.build();
 		chatRoomRepository.save(room);
+		chatRoomParticipantCache.evict(room.getChatRoomId());
 		return toDto(room, member.getId(), ViewerType.MEMBER); // 수정: viewerType 추가
 	}
 
@@ -97,17 +115,10 @@ public class ChatRoomService {
 	// 사용자(memberId) 기준 참여 중인 모든 채팅방 목록 조회
 	@Transactional(readOnly = true)
 	public List<ChatRoomResponseDto> getAllMyChatRooms(Long memberId) {
-		List<ChatRoom> mentoringRooms = chatRoomRepository.findMentoringChatRoomsByMemberId(memberId);
-		List<ChatRoom> adminRooms = chatRoomRepository.findAdminChatRoomsByMemberId(memberId);
-
-		return List.of(mentoringRooms, adminRooms).stream()
-				.flatMap(List::stream)
-				.map(room -> toDto(room, memberId, ViewerType.MEMBER )) // viewerId 넘기기
-				.sorted((r1, r2) -> { // 최근 메시지 기준 정렬 추가
-					if (r1.getLastMessageAt() == null) return 1;
-					if (r2.getLastMessageAt() == null) return -1;
-					return r2.getLastMessageAt().compareTo(r1.getLastMessageAt());
-				})
+		List<ChatRoom> rooms = chatRoomRepository.findAllChatRoomsByMemberId(memberId);
+
+		return toDtos(rooms, memberId, ViewerType.MEMBER).stream() // viewerId 넘기기
+				.sorted(LAST_MESSAGE_DESC) // 최근 메시지 기준 정렬
 				.toList();
 	}
 
@@ -116,13 +127,8 @@ public class ChatRoomService {
 	public List<ChatRoomResponseDto> getAllMyAdminChatRooms(Long adminId) {
 
 		List<ChatRoom> rooms = chatRoomRepository.findAdminChatRoomsByAdminId(adminId);
-		return rooms.stream()
-				.map(room -> toDto(room, adminId, ViewerType.ADMIN))
-				.sorted((r1, r2) -> { // 최근 메시지 기준 정렬 추가
-					if (r1.getLastMessageAt() == null) return 1;
-					if (r2.getLastMessageAt() == null) return -1;
-					return r2.getLastMessageAt().compareTo(r1.getLastMessageAt());
-				})
+		return toDtos(rooms, adminId, ViewerType.ADMIN).stream()
+				.sorted(LAST_MESSAGE_DESC) // 최근 메시지 기준 정렬
 				.toList();
 	}
 
@@ -158,53 +164,78 @@ public class ChatRoomService {
 		}
 
 		// 입장시 읽음 처리
-		markMessagesAsRead(chatRoomId, viewerId);
+		markMessagesAsRead(room, viewerId, viewerType);
 
-		return toDto(room, viewerId, viewerType);
+		ChatRoomResponseDto dto = toDto(room, viewerId, viewerType);
+		// 방금 읽음 처리했으므로 (room 엔티티의 카운트는 UPDATE 이전 값)
+		dto.setHasUnread(false);
+		dto.setUnreadCount(0);
+		return dto;
 	}
 
 
 	//------------------------------ ChatRoomResponseDto 변환 -------------------------------------
 
 	private ChatRoomResponseDto toDto(ChatRoom room, Long viewerId, ViewerType viewerType) {
+		return toDtos(List.of(room), viewerId, viewerType).get(0);
+	}
 
-		// 가장 최신 메시지 1개 가져옴
-		List<ChatMessage> messages = chatMessageRepository
-				.findTop1ByChatRoom_ChatRoomIdOrderBySentAtDesc(room.getChatRoomId());
-		ChatMessage lastMessage = messages.isEmpty() ? null : messages.get(0);
-
-		// 안 읽은 메시지가 있는지 확인
-		boolean hasUnread = chatMessageRepository
-				.existsByChatRoom_ChatRoomIdAndSenderIdNotAndReadFalse(room.getChatRoomId(), viewerId);
-
+	// 채팅방 목록을 한 번에 변환 - 마지막 메시지 / 안 읽은 메시지 수는 chat_room 에 저장된 값 사용
+	// 방 개수와 상관없이 상대방 닉네임 조회 1번만 추가로 발생
+	private List<ChatRoomResponseDto> toDtos(List<ChatRoom> rooms, Long viewerId, ViewerType viewerType) {
+		if (rooms.isEmpty()) {
+			return List.of();
+		}
 
-		//상대방 닉네임 가져오기
-		String targetNickname = getTargetNickname(room, viewerId, viewerType);
-		//상대방 Id 가져오기
-		Long targetId = getTargetId(room, viewerId, viewerType);
+		// 상대방이 회원인 방들의 닉네임
+		List<Long> memberTargetIds = rooms.stream()
+				.filter(room -> isMemberTarget(room, viewerType))
+				.map(room -> getTargetId(room, viewerId, viewerType))
+				.distinct()
+				.toList();
+		Map<Long, String> nicknames = findNicknames(memberTargetIds);
 
-		return new ChatRoomResponseDto(
-				room.getChatRoomId(),
-				room.getRoomType(),
-				lastMessage != null ? lastMessage.getContent() : null,
-				lastMessage != null ? lastMessage.getSentAt() : null, // ✅ 수정: atZone(...) 제거
-				targetNickname,
-				targetId,
-				hasUnread
-		);
+		return rooms.stream()
+				.map(room -> {
+					Long targetId = getTargetId(room, viewerId, viewerType);
+					int unreadCount = room.getUnreadCount(room.getViewer(viewerId, viewerType));
+
+					return new ChatRoomResponseDto(
+							room.getChatRoomId(),
+							room.getRoomType(),
+							room.getLastMessage(),
+							// 미리보기가 아직 채워지지 않은 기존 방도 저장된 시간 그대로 (ChatRoomSummaryBackfill 전까지)
+							room.getLastMessageAt(),
+							resolveTargetNickname(room, viewerType, targetId, nicknames),
+							targetId,
+							unreadCount > 0,
+							unreadCount
+					);
+				})
+				.toList();
 	}
 
 //	----------------------------------상대방  Id(pk), 닉네임 관련-------------------------------------
 	// 자신의 입장에서 상대방 닉네임 반환 (targetNickname 설정)
 	public String getTargetNickname(ChatRoom room, Long viewerId, ViewerType viewerType) {
 		Long targetId = getTargetId(room, viewerId, viewerType);
+		Map<Long, String> nicknames = isMemberTarget(room, viewerType)
+				? findNicknames(List.of(targetId))
+				: Map.of();
+
+		return resolveTargetNickname(room, viewerType, targetId, nicknames);
+	}
 
-		// 멘토링 챗에서 viewerType은 MEMBER로 보장됨 (TargetId 내가 멘토면 상대 멘티Id, 멘티면 멘토Id)
-		if (room.getRoomType() == RoomType.MENTORING_CHAT ||
-				(room.getRoomType() == RoomType.ADMIN_CHAT && viewerType == ViewerType.ADMIN)) {
-			return memberRepository.findById(targetId)
-					.map(Member::getNickname)
-					.orElse("회원 정보가 없습니다");
+	// 멘토링 챗에서 viewerType은 MEMBER로 보장됨 (TargetId 내가 멘토면 상대 멘티Id, 멘티면 멘토Id)
+	private boolean isMemberTarget(ChatRoom room, ViewerType viewerType) {
+		return room.getRoomType() == RoomType.MENTORING_CHAT ||
+				(room.getRoomType() == RoomType.ADMIN_CHAT && viewerType == ViewerType.ADMIN);
+	}
+
+	private String resolveTargetNickname(ChatRoom room, ViewerType viewerType, Long targetId,
+			Map<Long, String> nicknames) {
+		if (isMemberTarget(room, viewerType)) {
+			return nicknames.getOrDefault(targetId, "회원 정보가 없습니다");
 		}
 
 		// ADMIN_CHAT이면서 viewer가 MEMBER인 경우 → 상대는 관리자
@@ -215,6 +246,15 @@ public class ChatRoomService {
 		return "알 수 없음";
 	}
 
+	// 회원 닉네임 일괄 조회 (memberId -> nickname)
+	private Map<Long, String> findNicknames(List<Long> memberIds) {
+		if (memberIds.isEmpty()) {
+			return Map.of();
+		}
+		return memberRepository.findAllById(memberIds).stream()
+				.collect(Collectors.toMap(Member::getId, Member::getNickname));
+	}
+
 
 	private Long getTargetId(ChatRoom room, Long viewerId, ViewerType viewerType) {
 		if (room.getRoomType() == RoomType.MENTORING_CHAT) {
@@ -226,14 +266,51 @@ public class ChatRoomService {
 		return null;
 	}
 
-	// 메시지 읽음 처리 메서드
+	/**
+	 * 메시지 읽음 처리 메서드 - 메시지 행은 건드리지 않고 내 읽음 위치만 가장 최근 메시지로 이동
+	 * - 읽음 위치는 조건부 UPDATE 로 앞으로만 이동 (같은 참여자가 동시에 입장해도 안전)
+	 * - 처음 읽는 방이면 읽음 위치 생성, 동시에 다른 요청이 먼저 만들었으면 그 행을 이동
+	 */
 	@Transactional
-	public void markMessagesAsRead(Long chatRoomId, Long viewerId) {
-		List<ChatMessage> unreadMessages = chatMessageRepository
-				.findByChatRoom_ChatRoomIdAndSenderIdNotAndReadFalse(chatRoomId, viewerId);
+	public void markMessagesAsRead(ChatRoom room, Long viewerId, ViewerType viewerType) {
+		Long lastMessageId = chatMessageRepository.findLastMessageId(room.getChatRoomId()).orElse(null);
+		if (lastMessageId == null) {
+			return; // 메시지가 없는 방
+		}
+
+		// 없는 행을 UPDATE 하면 갭 락이 걸려 별도 트랜잭션의 생성과 서로 기다리므로 먼저 조회
+		Long chatRoomId = room.getChatRoomId();
+		boolean exists = chatReadCursorRepository
+				.findByChatRoomIdAndParticipantTypeAndParticipantId(chatRoomId, viewerType, viewerId)
+				.isPresent();
+		boolean moved = exists
+				? chatReadCursorRepository.advance(chatRoomId, viewerType, viewerId, lastMessageId) > 0
+				: createReadCursor(chatRoomId, viewerType, viewerId, lastMessageId);
+		if (!moved) {
+			return; // 이미 다 읽은 상태 - 쓰기 없음
+		}
+
+		// 채팅방 목록용 안 읽은 메시지 수 초기화
+		chatRoomRepository.resetUnreadCount(chatRoomId, room.getViewer(viewerId, viewerType));
+	}
 
-		for (ChatMessage message : unreadMessages) {
-			message.setRead(true);
+	/**
+	 * 읽음 위치 생성 - 유니크 제약 충돌이 현재 트랜잭션을 롤백 전용으로 만들지 않도록 별도 트랜잭션(REQUIRES_NEW)에서
+	 * - 동시에 같은 참여자의 행이 먼저 생성됐으면 그 행을 이동, 이동했거나 생성했으면 true
+	 */
+	private boolean createReadCursor(Long chatRoomId, ViewerType viewerType, Long viewerId, Long lastMessageId) {
+		TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+		requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		try {
+			requiresNew.executeWithoutResult(status -> chatReadCursorRepository.saveAndFlush(ChatReadCursor.builder()
+					.chatRoomId(chatRoomId)
+					.participantType(viewerType)
+					.participantId(viewerId)
+					.lastReadMessageId(lastMessageId)
+					.build()));
+			return true;
+		} catch (DataIntegrityViolationException e) {
+			return chatReadCursorRepository.advance(chatRoomId, viewerType, viewerId, lastMessageId) > 0;
 		}
 	}
 
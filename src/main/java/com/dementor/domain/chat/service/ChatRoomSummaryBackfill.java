@@ -0,0 +1,111 @@
+package com.dementor.domain.chat.service;
+
+import java.time.ZonedDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dementor.domain.chat.entity.ChatParticipant;
+import com.dementor.domain.chat.entity.ChatReadCursor;
+import com.dementor.domain.chat.entity.ChatRoom;
+import com.dementor.domain.chat.entity.RoomType;
+import com.dementor.domain.chat.entity.ViewerType;
+import com.dementor.domain.chat.repository.ChatMessageRepository;
+import com.dementor.domain.chat.repository.ChatReadCursorRepository;
+import com.dementor.domain.chat.repository.ChatRoomRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * chat_room 에 미리보기 컬럼이 생기기 전부터 있던 방의 마지막 메시지 / 안 읽은 메시지 수 채우기 (애플리케이션 시작 시)
+ * - 대상: last_message 가 비어 있고 메시지가 있는 방, 마지막 메시지 = 가장 최근 chat_message
+ * - 안 읽은 수 = 상대방이 보낸 메시지 중 is_read = false 인 것 (읽음 위치가 있으면 그 이후만)
+ * - 예전 읽음 플래그를 지우는 ChatReadCursorBackfill 보다 먼저 실행
+ * - 그사이 새 메시지가 반영된 방은 건드리지 않음, 채운 방은 다음 시작 때 대상에서 빠짐
+ */
+@Slf4j
+@Order(1)
+@Component
+public class ChatRoomSummaryBackfill implements CommandLineRunner {
+
+	private final ChatMessageRepository chatMessageRepository;
+	private final ChatReadCursorRepository chatReadCursorRepository;
+	private final ChatRoomRepository chatRoomRepository;
+	private final boolean enabled;
+
+	public ChatRoomSummaryBackfill(
+		ChatMessageRepository chatMessageRepository,
+		ChatReadCursorRepository chatReadCursorRepository,
+		ChatRoomRepository chatRoomRepository,
+		@Value("${chat.room-summary.backfill}") boolean enabled
+	) {
+		this.chatMessageRepository = chatMessageRepository;
+		this.chatReadCursorRepository = chatReadCursorRepository;
+		this.chatRoomRepository = chatRoomRepository;
+		this.enabled = enabled;
+	}
+
+	@Override
+	@Transactional
+	public void run(String... args) {
+		if (!enabled) {
+			return;
+		}
+
+		// chatRoomId -> [content, sentAt]
+		Map<Long, Object[]> latestMessages = new HashMap<>();
+		for (Object[] row : chatMessageRepository.findLatestMessagesOfRoomsWithoutPreview()) {
+			latestMessages.put((Long)row[0], row);
+		}
+		if (latestMessages.isEmpty()) {
+			return;
+		}
+
+		int filled = 0;
+		for (ChatRoom room : chatRoomRepository.findAllById(latestMessages.keySet())) {
+			Object[] latest = latestMessages.get(room.getChatRoomId());
+			Map<ChatParticipant, Integer> unread = unreadCounts(room);
+			filled += chatRoomRepository.fillSummary(
+				room.getChatRoomId(),
+				ChatRoom.toPreview((String)latest[1]),
+				(ZonedDateTime)latest[2],
+				unread.getOrDefault(ChatParticipant.MENTOR, 0),
+				unread.getOrDefault(ChatParticipant.MENTEE, 0),
+				unread.getOrDefault(ChatParticipant.ADMIN, 0),
+				unread.getOrDefault(ChatParticipant.MEMBER, 0));
+		}
+		log.info("기존 채팅방 미리보기 채우기 완료: {}개", filled);
+	}
+
+	private Map<ChatParticipant, Integer> unreadCounts(ChatRoom room) {
+		Map<ChatParticipant, Integer> counts = new EnumMap<>(ChatParticipant.class);
+		if (room.getRoomType() == RoomType.MENTORING_CHAT) {
+			putCount(counts, room, ChatParticipant.MENTOR, ViewerType.MEMBER, room.getMentorId());
+			putCount(counts, room, ChatParticipant.MENTEE, ViewerType.MEMBER, room.getMenteeId());
+		} else if (room.getRoomType() == RoomType.ADMIN_CHAT) {
+			putCount(counts, room, ChatParticipant.ADMIN, ViewerType.ADMIN, room.getAdminId());
+			putCount(counts, room, ChatParticipant.MEMBER, ViewerType.MEMBER, room.getMemberId());
+		}
+		return counts;
+	}
+
+	private void putCount(Map<ChatParticipant, Integer> counts, ChatRoom room, ChatParticipant participant,
+		ViewerType type, Long id) {
+		if (id == null) {
+			return;
+		}
+		Long lastRead = chatReadCursorRepository
+			.findByChatRoomIdAndParticipantTypeAndParticipantId(room.getChatRoomId(), type, id)
+			.map(ChatReadCursor::getLastReadMessageId)
+			.orElse(0L);
+		long count = chatMessageRepository.countByChatRoom_ChatRoomIdAndSenderIdNotAndReadFalseAndChatMessageIdGreaterThan(
+			room.getChatRoomId(), id, lastRead);
+		counts.put(participant, (int)count);
+	}
+}
@@ -1,5 +1,7 @@
 package com.dementor.domain.member.controller;
 
+import java.util.List;
+
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -8,12 +10,16 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.dementor.domain.member.dto.request.LoginRequest;
+import com.dementor.domain.member.dto.response.LoginSessionResponse;
 import com.dementor.global.ApiResponse;
 import com.dementor.global.security.CustomUserDetails;
 import com.dementor.global.security.cookie.CookieUtil;
@@ -23,6 +29,7 @@ import com.dementor.global.security.jwt.service.TokenService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
 @Tag(name = "로그인, 로그아웃", description = "로그인, 로그아웃")
@@ -37,7 +44,8 @@ public class MemberAuthController {
 
 	@Operation(summary = "로그인", description = "이메일과 비밀번호로 로그인합니다.")
 	@PostMapping("/login")
-	public ResponseEntity<ApiResponse<Void>> login(@RequestBody LoginRequest loginRequest) {
+	public ResponseEntity<ApiResponse<Void>> login(@RequestBody LoginRequest loginRequest,
+		HttpServletRequest request) {
 		try {
 			// 인증 시도
 			Authentication authentication = authenticationManager.authenticate(
@@ -55,8 +63,9 @@ public class MemberAuthController {
 			Long memberId = userDetails.getId();
 			String nickname = userDetails.getNickname();
 
-			// JWT 토큰 생성 (memberId와 nickname 포함)
-			TokenDto tokens = tokenService.createMemberTokens(authentication, memberId, nickname);
+			// JWT 토큰 생성 (memberId와 nickname 포함), 기기별 세션
+			TokenDto tokens = tokenService.createMemberTokens(authentication, memberId, nickname,
+				request.getHeader(HttpHeaders.USER_AGENT), cookieUtil.getRefreshToken(request));
 
 			// 쿠키에는 액세스 토큰만 저장,
 			HttpHeaders headers = new HttpHeaders();
@@ -74,22 +83,67 @@ public class MemberAuthController {
 		}
 	}
 
+	// 이 기기만 로그아웃 (다른 기기의 세션은 유지)
 	@PostMapping("/logout")
-	public ResponseEntity<ApiResponse<Void>> logout(Authentication authentication) {
+	public ResponseEntity<ApiResponse<Void>> logout(Authentication authentication, HttpServletRequest request) {
 		if (authentication != null) {
-			String userIdentifier = authentication.getName();
-			tokenService.logout(userIdentifier);
+			tokenService.logoutDevice(cookieUtil.getRefreshToken(request));
+		}
+
+		SecurityContextHolder.clearContext();
+
+		return ResponseEntity.ok()
+			.headers(deleteTokenCookies())
+			.body(ApiResponse.of(true, HttpStatus.OK, "로그아웃 성공"));
+	}
+
+	@Operation(summary = "로그인 기기 목록", description = "로그인된 기기(세션) 목록을 조회합니다.")
+	@GetMapping("/sessions")
+	public ResponseEntity<ApiResponse<List<LoginSessionResponse>>> sessions(Authentication authentication,
+		HttpServletRequest request) {
+		String currentSessionId = tokenService.getSessionId(cookieUtil.getRefreshToken(request)).orElse(null);
+		List<LoginSessionResponse> sessions = tokenService.getSessions(authentication.getName()).stream()
+			.map(session -> LoginSessionResponse.of(session, currentSessionId))
+			.toList();
+
+		return ResponseEntity.ok()
+			.body(ApiResponse.of(true, HttpStatus.OK, "로그인 기기 목록 조회 성공", sessions));
+	}
+
+	@Operation(summary = "기기 로그아웃", description = "선택한 기기(세션)를 로그아웃합니다.")
+	@DeleteMapping("/sessions/{sessionId}")
+	public ResponseEntity<ApiResponse<Void>> revokeSession(Authentication authentication,
+		@PathVariable String sessionId, HttpServletRequest request) {
+		if (!tokenService.revokeSession(authentication.getName(), sessionId)) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND)
+				.body(ApiResponse.of(false, HttpStatus.NOT_FOUND, "로그인 기기를 찾을 수 없습니다"));
 		}
 
+		// 지금 기기를 로그아웃했으면 쿠키도 삭제
+		boolean current = tokenService.getSessionId(cookieUtil.getRefreshToken(request))
+			.map(sessionId::equals)
+			.orElse(false);
+		return ResponseEntity.ok()
+			.headers(current ? deleteTokenCookies() : new HttpHeaders())
+			.body(ApiResponse.of(true, HttpStatus.OK, "기기 로그아웃 성공"));
+	}
+
+	@Operation(summary = "모든 기기 로그아웃", description = "모든 기기(세션)를 로그아웃합니다.")
+	@DeleteMapping("/sessions")
+	public ResponseEntity<ApiResponse<Void>> revokeAllSessions(Authentication authentication) {
+		tokenService.logout(authentication.getName());
 		SecurityContextHolder.clearContext();
 
+		return ResponseEntity.ok()
+			.headers(deleteTokenCookies())
+			.body(ApiResponse.of(true, HttpStatus.OK, "모든 기기 로그아웃 성공"));
+	}
+
+	private HttpHeaders deleteTokenCookies() {
 		HttpHeaders headers = new HttpHeaders();
 		headers.add(HttpHeaders.SET_COOKIE, cookieUtil.deleteAccessTokenCookie().toString());
 		headers.add(HttpHeaders.SET_COOKIE, cookieUtil.deleteRefreshTokenCookie().toString());
-
-		return ResponseEntity.ok()
-			.headers(headers)
-			.body(ApiResponse.of(true, HttpStatus.OK, "로그아웃 성공"));
+		return headers;
 	}
 
 }
@@ -0,0 +1,49 @@
+package com.dementor.domain.member.dto.response;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import com.dementor.global.security.jwt.repository.RefreshTokenRepository.RefreshSession;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "로그인 기기(세션)")
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoginSessionResponse {
+	@Schema(description = "session_id")
+	private String sessionId;
+
+	@Schema(description = "로그인한 기기 (User-Agent)")
+	private String device;
+
+	@Schema(description = "로그인 시각")
+	private LocalDateTime createdAt;
+
+	@Schema(description = "마지막 토큰 갱신 시각")
+	private LocalDateTime lastUsedAt;
+
+	@Schema(description = "지금 요청한 기기인지")
+	private boolean current;
+
+	public static LoginSessionResponse of(RefreshSession session, String currentSessionId) {
+		return LoginSessionResponse.builder()
+			.sessionId(session.sessionId())
+			.device(session.device())
+			.createdAt(toLocalDateTime(session.createdAt()))
+			.lastUsedAt(toLocalDateTime(session.lastUsedAt()))
+			.current(session.sessionId().equals(currentSessionId))
+			.build();
+	}
+
+	private static LocalDateTime toLocalDateTime(long epochMillis) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+	}
+}
@@ -12,6 +12,7 @@ import com.dementor.domain.member.entity.UserRole;
 import com.dementor.domain.member.exception.MemberErrorCode;
 import com.dementor.domain.member.exception.MemberException;
 import com.dementor.domain.member.repository.MemberRepository;
+import com.dementor.global.security.jwt.service.TokenService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,6 +24,7 @@ public class MemberService {
 	private final RedisTemplate<String, String> redisTemplate;
 
 	private final PasswordEncoder passwordEncoder;
+	private final TokenService tokenService;
 
 	@Transactional
 	public void createMember(SignupRequest signupRequest) {
@@ -92,5 +94,7 @@ public class MemberService {
 			() -> new MemberException(MemberErrorCode.MEMBER_NOT_FOUND));
 
 		member.updateNickname(nickname);
+		// 리프레시 토큰에 담긴 닉네임이 바뀜 -> 커밋 후 표시, 다음 갱신은 DB 에서 읽어 발급
+		tokenService.markClaimsStale(email);
 	}
 }
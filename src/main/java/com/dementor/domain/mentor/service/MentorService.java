@@ -31,7 +31,9 @@ import com.dementor.domain.mentoreditproposal.entity.MentorEditProposalStatus;
 import com.dementor.domain.mentoreditproposal.repository.MentorEditProposalRepository;
 import com.dementor.domain.postattachment.entity.PostAttachment;
 import com.dementor.domain.postattachment.repository.PostAttachmentRepository;
+import com.dementor.domain.postattachment.service.MarkdownImageIngestor;
 import com.dementor.domain.postattachment.service.PostAttachmentService;
+import com.dementor.domain.postattachment.service.PostAttachmentUploader.UploadedFile;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -40,6 +42,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.*;
@@ -55,55 +58,140 @@ public class MentorService {
 	private final MentorApplyProposalRepository mentorApplyProposalRepository;
 	private final ApplyRepository applyRepository;
 	private final PostAttachmentService postAttachmentService;
+	private final MarkdownImageIngestor markdownImageIngestor;
 	private final PostAttachmentRepository postAttachmentRepository;
+	private final TransactionTemplate transactionTemplate;
 
 	//멘토 지원하기
-	@Transactional
+	// 파일은 트랜잭션 밖에서 먼저 업로드 (업로드 동안 DB 커넥션을 잡지 않도록), 저장 실패 시 업로드한 파일 삭제
+	// 업로드 전에 조회만 하는 확인(회원/지원 내역/직무/파일 개수)을 먼저 해서 거절될 요청은 업로드하지 않음
 	public ApplymentResponse applyMentor(
 			MentorApplyProposalRequest.MentorApplyProposalRequestDto requestDto,
 			List<MultipartFile> files) {
 
+		findApplicant(requestDto.memberId());
+		findApplyJob(requestDto.jobId());
+		postAttachmentService.validateUpload(requestDto.memberId(), files);
+
+		List<UploadedFile> uploadedFiles = postAttachmentService.uploadToStorage(files, "apply");
+		ApplymentResponse response;
+		try {
+			response = transactionTemplate.execute(status -> saveMentorApplication(requestDto, uploadedFiles));
+		} catch (RuntimeException e) {
+			postAttachmentService.discardUploads(uploadedFiles);
+			throw e;
+		}
+
+		// 소개글의 외부 이미지는 커밋 후 백그라운드에서 수집
+		markdownImageIngestor.ingestApplyProposal(response.id(), requestDto.introduction());
+		return response;
+	}
+
+	private ApplymentResponse saveMentorApplication(
+			MentorApplyProposalRequest.MentorApplyProposalRequestDto requestDto,
+			List<UploadedFile> uploadedFiles) {
+
+		// 업로드 전에 확인했지만 그 사이 바뀌었을 수 있으므로 트랜잭션 안에서 다시 확인
+		Member member = findApplicant(requestDto.memberId());
+		Job job = findApplyJob(requestDto.jobId());
+
+		// 멘토 애플리케이션 엔티티 생성 및 저장
+		MentorApplyProposal savedProposal = createAndSaveMentorProposal(requestDto, member, job);
+
+		// 업로드된 파일 레코드 저장
+		postAttachmentService.saveApplyAttachments(uploadedFiles, savedProposal);
+
+		// 응답 데이터 구성
+		return ApplymentResponse.from(savedProposal);
+	}
+
+	// 지원할 수 있는 회원인지 확인 (회원 존재, 아직 멘토가 아님, 지원 내역 없음)
+	private Member findApplicant(Long memberId) {
 		// 회원 엔티티 조회
-		Member member = memberRepository.findById(requestDto.memberId())
+		Member member = memberRepository.findById(memberId)
 			.orElseThrow(() -> new MentorException(MentorErrorCode.MENTOR_NOT_FOUND,
-				"회원을 찾을 수 없습니다: " + requestDto.memberId()));
+				"회원을 찾을 수 없습니다: " + memberId));
 
 		// 회원의 역할이 이미 MENTOR인지 확인
 		if (member.getUserRole() == UserRole.MENTOR) {
 			throw new MentorException(MentorErrorCode.MENTOR_ALREADY_EXISTS,
-				"이미 멘토로 등록된 사용자입니다: " + requestDto.memberId());
+				"이미 멘토로 등록된 사용자입니다: " + memberId);
 		}
 
 		// 이미 지원 내역이 있는지 확인
-		if (mentorApplyProposalRepository.existsByMemberId(requestDto.memberId())) {
+		if (mentorApplyProposalRepository.existsByMemberId(memberId)) {
 			throw new MentorException(MentorErrorCode.INVALID_MENTOR_APPLICATION,
-				"이미 멘토 지원 내역이 존재합니다: " + requestDto.memberId());
+				"이미 멘토 지원 내역이 존재합니다: " + memberId);
 		}
+		return member;
+	}
 
-		// 직무 엔티티 조회
-		Job job = jobRepository.findById(requestDto.jobId())
+	private Job findApplyJob(Long jobId) {
+		return jobRepository.findById(jobId)
 				.orElseThrow(() -> new MentorException(MentorErrorCode.INVALID_MENTOR_APPLICATION,
-						"직무를 찾을 수 없습니다: " + requestDto.jobId()));
+						"직무를 찾을 수 없습니다: " + jobId));
+	}
 
-		// 멘토 애플리케이션 엔티티 생성 및 저장
-		MentorApplyProposal savedProposal = createAndSaveMentorProposal(requestDto, member, job);
+	//멘토 정보 업데이트
+	// 파일은 트랜잭션 밖에서 먼저 업로드, 교체된 기존 파일은 커밋 후 스토리지에서 삭제
+	// 업로드 전에 조회만 하는 확인(멘토/수정 요청 상태/변경 여부/직무/파일 개수)을 먼저 해서 거절될 요청은 업로드하지 않음
+	public MentorEditUpdateRenewalResponse updateMentor(
+			Long memberId,
+			MentorEditProposalRequest requestDto,
+			List<MultipartFile> files) {
+
+		Mentor editable = findEditableMentor(memberId, requestDto, files);
+		findEditJob(requestDto, editable);
+		postAttachmentService.validateUpload(memberId, files);
 
-		// 파일 업로드 처리
-		if (files != null && !files.isEmpty()) {
-			postAttachmentService.uploadFilesApply(files, savedProposal);
+		List<UploadedFile> uploadedFiles = postAttachmentService.uploadToStorage(files, "edit");
+		List<UploadedFile> replacedFiles = new ArrayList<>();
+		MentorEditUpdateRenewalResponse response;
+		try {
+			response = transactionTemplate.execute(
+				status -> saveMentorModification(memberId, requestDto, files, uploadedFiles, replacedFiles));
+		} catch (RuntimeException e) {
+			postAttachmentService.discardUploads(uploadedFiles);
+			throw e;
 		}
 
-		// 응답 데이터 구성
-		return ApplymentResponse.from(savedProposal);
+		postAttachmentService.deleteStoredFiles(replacedFiles);
+		markdownImageIngestor.ingestEditProposal(response.id(), requestDto.getIntroduction());
+		return response;
 	}
 
-	//멘토 정보 업데이트
-	@Transactional
-	public MentorEditUpdateRenewalResponse updateMentor(
+	private MentorEditUpdateRenewalResponse saveMentorModification(
 			Long memberId,
 			MentorEditProposalRequest requestDto,
-			List<MultipartFile> files) {
+			List<MultipartFile> files,
+			List<UploadedFile> uploadedFiles,
+			List<UploadedFile> replacedFiles) {
+
+		// 업로드 전에 확인했지만 그 사이 바뀌었을 수 있으므로 트랜잭션 안에서 다시 확인
+		Mentor mentor = findEditableMentor(memberId, requestDto, files);
+		Job job = findEditJob(requestDto, mentor);
+
+		// 파일 변경 여부는 파일이 존재하는지만 확인 (단순화)
+		boolean filesChanged = (files != null && !files.isEmpty());
+
+		// 수정 요청 엔티티 생성 및 저장
+		MentorEditProposal savedModification = createAndSaveMentorModification(requestDto, mentor, job);
+
+		// 멘토의 수정 상태 업데이트
+		mentor.updateModificationStatus(ModificationStatus.PENDING);
+		mentorRepository.save(mentor);
+
+		// 업로드된 파일로 첨부 교체 (기존 파일 경로는 커밋 후 삭제)
+		if (filesChanged) {
+			replacedFiles.addAll(postAttachmentService.replaceEditAttachments(uploadedFiles, savedModification));
+		}
+
+		// 응답 데이터 구성
+		return MentorEditUpdateRenewalResponse.from(savedModification);
+	}
 
+	// 정보 수정을 요청할 수 있는 멘토인지 확인 (멘토 존재, 수정 요청 중 아님, 변경 내용 있음)
+	private Mentor findEditableMentor(Long memberId, MentorEditProposalRequest requestDto, List<MultipartFile> files) {
 		Mentor mentor = mentorRepository.findById(memberId)
 			.orElseThrow(() -> new MentorException(MentorErrorCode.MENTOR_NOT_FOUND,
 				"멘토를 찾을 수 없습니다: " + memberId));
@@ -124,28 +212,16 @@ public class MentorService {
 			throw new MentorException(MentorErrorCode.INVALID_MENTOR_APPLICATION,
 					"변경된 내용이 없습니다.");
 		}
+		return mentor;
+	}
 
-		// 직무 엔티티 조회
-		Job job = (requestDto.getJobId() != null)
+	// 직무 엔티티 조회 (요청에 없으면 현재 직무)
+	private Job findEditJob(MentorEditProposalRequest requestDto, Mentor mentor) {
+		return (requestDto.getJobId() != null)
 				? jobRepository.findById(requestDto.getJobId())
 				.orElseThrow(() -> new MentorException(MentorErrorCode.JOB_NOT_FOUND,
 						"직무 정보를 찾을 수 없습니다: " + requestDto.getJobId()))
 				: mentor.getJob();
-
-		// 수정 요청 엔티티 생성 및 저장
-		MentorEditProposal savedModification = createAndSaveMentorModification(requestDto, mentor, job);
-
-		// 멘토의 수정 상태 업데이트
-		mentor.updateModificationStatus(ModificationStatus.PENDING);
-		mentorRepository.save(mentor);
-
-		// 파일 업로드 처리
-		if (filesChanged) {
-			postAttachmentService.uploadFilesEdit(files, savedModification);
-		}
-
-		// 응답 데이터 구성
-		return MentorEditUpdateRenewalResponse.from(savedModification);
 	}
 
 	// 멘토 지원서 생성 및 저장을 위한 내부 메소드
@@ -60,6 +60,11 @@ public class MentorApplyProposal extends BaseEntity {
 		this.status = status;
 	}
 
+	// 외부 이미지 수집 후 마크다운 이미지 참조를 내부 주소로 교체
+	public void updateIntroduction(String introduction) {
+		this.introduction = introduction;
+	}
+
 	// 멘토 엔티티로 변환
 	public Mentor toMentor() {
 		if (this.status != MentorApplyProposalStatus.APPROVED) {
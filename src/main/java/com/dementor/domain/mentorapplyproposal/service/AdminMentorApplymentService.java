@@ -17,6 +17,7 @@ import com.dementor.domain.mentorapplyproposal.entity.MentorApplyProposalStatus;
 import com.dementor.domain.mentorapplyproposal.repository.MentorApplyProposalRepository;
 import com.dementor.domain.postattachment.entity.PostAttachment;
 import com.dementor.domain.postattachment.repository.PostAttachmentRepository;
+import com.dementor.global.security.jwt.service.TokenService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -33,6 +34,7 @@ public class AdminMentorApplymentService {
 	private final MemberRepository memberRepository;
 	private final MentorApplyProposalRepository mentorApplyProposalRepository;
 	private final PostAttachmentRepository postAttachmentRepository;
+	private final TokenService tokenService;
 
 	public Page<ApplymentResponse> findAllApplyment(Pageable pageable) {
 		return mentorApplyProposalRepository.findAll(pageable)
@@ -78,6 +80,8 @@ public class AdminMentorApplymentService {
 		mentorRepository.save(mentor);
 		member.updateUserRole(UserRole.MENTOR);
 		memberRepository.save(member);
+		// 리프레시 토큰에 담긴 권한이 바뀜 -> (트랜잭션 안이면 커밋 후) 표시, 다음 갱신은 DB 에서 읽어 발급
+		tokenService.markClaimsStale(member.getEmail());
 
 		applyment.updateStatus(MentorApplyProposalStatus.APPROVED);
 		MentorApplyProposal updatedApplyment = mentorApplyProposalRepository.save(applyment);
@@ -58,4 +58,9 @@ public class MentorEditProposal extends BaseEntity {
 	public void updateStatus(MentorEditProposalStatus status) {
 		this.status = status;
 	}
+
+	// 외부 이미지 수집 후 마크다운 이미지 참조를 내부 주소로 교체
+	public void updateIntroduction(String introduction) {
+		this.introduction = introduction;
+	}
 }
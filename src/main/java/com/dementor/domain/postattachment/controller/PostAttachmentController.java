@@ -1,7 +1,9 @@
 package com.dementor.domain.postattachment.controller;
 
 import com.dementor.domain.postattachment.dto.response.FileResponse;
+import com.dementor.domain.postattachment.dto.response.FileResponse.CacheValidatorDto;
 import com.dementor.domain.postattachment.dto.response.FileResponse.FileInfoDto;
+import com.dementor.domain.postattachment.dto.response.FileStreamResponse;
 import com.dementor.domain.postattachment.exception.PostAttachmentException;
 import com.dementor.domain.postattachment.service.PostAttachmentService;
 import com.dementor.global.ApiResponse;
@@ -11,6 +13,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -18,11 +21,17 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @RestController
@@ -31,6 +40,16 @@ import java.util.Map;
 @Tag(name = "멘토 파일첨부 API", description = "멘토 지원, 정보 수정에 파일 첨부할 수 있습니다.")
 public class PostAttachmentController {
 
+	// 업로드된 파일은 바뀌지 않음 - 마크다운 이미지는 누구나 볼 수 있어 CDN 캐시 허용, 일반 첨부는 본인/관리자만
+	private static final CacheControl IMMUTABLE_IMAGE_CACHE = CacheControl.maxAge(365, TimeUnit.DAYS)
+		.cachePublic()
+		.immutable();
+	// 크기별 파일 생성 전이라 원본으로 대신 응답한 경우 - 생성 후 다시 받아 가도록 짧게
+	private static final CacheControl PENDING_IMAGE_CACHE = CacheControl.maxAge(60, TimeUnit.SECONDS)
+		.cachePublic();
+	private static final CacheControl PRIVATE_FILE_CACHE = CacheControl.maxAge(1, TimeUnit.DAYS)
+		.cachePrivate();
+
 	private final PostAttachmentService postAttachmentService;
 
 	@PostMapping(value = "/upload-images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -99,29 +118,65 @@ public class PostAttachmentController {
 		}
 	}
 
-	//일반 첨부 파일 다운로드 API
+	//일반 첨부 파일 다운로드 API (스트리밍, Range 지원)
 	@GetMapping("/{attachmentId}/download")
 	@PreAuthorize("hasRole('ADMIN') or @postAttachmentService.isFileOwner(#attachmentId, authentication.principal.id)")
 	@Operation(summary = "일반 첨부 파일 다운로드", description = "특정 일반 첨부 파일을 다운로드합니다. 파일 소유자와 관리자만 다운로드가 가능합니다.")
 	public ResponseEntity<?> downloadFile(
 		@PathVariable Long attachmentId,
-		@AuthenticationPrincipal CustomUserDetails userDetails
+		@RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+		@AuthenticationPrincipal CustomUserDetails userDetails,
+		WebRequest webRequest
 	) {
 		try {
-			// 파일 다운로드 처리
-			Map<String, Object> fileInfo = postAttachmentService.downloadFile(attachmentId, userDetails.getId());
-
-			Resource resource = (Resource)fileInfo.get("resource");
-			String contentType = (String)fileInfo.get("contentType");
-			String fileName = (String)fileInfo.get("fileName");
+			// 브라우저에 있는 파일이면 스토리지를 열지 않고 304
+			CacheValidatorDto validator = postAttachmentService.getFileValidator(attachmentId);
+			if (webRequest.checkNotModified(validator.getETag(), validator.getLastModified())) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+					.cacheControl(PRIVATE_FILE_CACHE)
+					.build();
+			}
 
-			// 파일명 인코딩 처리 (ASCII 범위 내 문자만 포함하는 파일명)
-			String encodedFileName = new String(fileName.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1);
+			// 저장소가 서명 URL 을 줄 수 있으면 바이트를 서버로 거치지 않고 저장소로 바로 보냄 (Range 도 저장소가 처리)
+			// URL 은 곧 만료되므로 리다이렉트 응답은 캐시하지 않음
+			Optional<String> redirectUrl = postAttachmentService.getDownloadRedirectUrl(attachmentId);
+			if (redirectUrl.isPresent()) {
+				return ResponseEntity.status(HttpStatus.FOUND)
+					.location(URI.create(redirectUrl.get()))
+					.cacheControl(CacheControl.noStore())
+					.build();
+			}
 
-			return ResponseEntity.ok()
-				.contentType(MediaType.parseMediaType(contentType))
-				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFileName + "\"")
-				.body(resource);
+			// 스토리지 응답만 열고 본문은 응답으로 바로 흘려보냄
+			FileStreamResponse file = postAttachmentService.openFileStream(attachmentId, range);
+			try {
+				// 파일명 인코딩 처리 (ASCII 범위 내 문자만 포함하는 파일명)
+				String encodedFileName = new String(file.getFileName().getBytes(StandardCharsets.UTF_8),
+					StandardCharsets.ISO_8859_1);
+
+				ResponseEntity.BodyBuilder response = ResponseEntity.status(file.getStatus())
+					.contentType(MediaType.parseMediaType(file.getContentType()))
+					.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFileName + "\"")
+					.header(HttpHeaders.ACCEPT_RANGES, "bytes")
+					.cacheControl(PRIVATE_FILE_CACHE);
+				if (file.getContentLength() >= 0) {
+					response.contentLength(file.getContentLength());
+				}
+				if (file.getContentRange() != null) {
+					response.header(HttpHeaders.CONTENT_RANGE, file.getContentRange());
+				}
+
+				StreamingResponseBody body = file::transferTo;
+				return response.body(body);
+			} catch (RuntimeException e) {
+				// 응답 본문(StreamingResponseBody)이 넘겨받기 전에 실패 -> 저장소 자원을 여기서 닫음
+				try {
+					file.close();
+				} catch (IOException closeFailure) {
+					e.addSuppressed(closeFailure);
+				}
+				throw e;
+			}
 
 		} catch (IllegalStateException e) {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -141,9 +196,20 @@ public class PostAttachmentController {
 	public ResponseEntity<?> downloadMarkdownImage(
 		@PathVariable String uniqueIdentifier,
 		@RequestParam(required = false) Integer width,
-		@RequestParam(required = false) Integer height
+		@RequestParam(required = false) Integer height,
+		WebRequest webRequest
 	) {
 		try {
+			// 같은 크기별 파일을 이미 가진 요청이면 스토리지 다운로드 없이 304
+			CacheValidatorDto validator = postAttachmentService.getMarkdownImageValidator(uniqueIdentifier, width,
+				height);
+			CacheControl cacheControl = validator.isImmutable() ? IMMUTABLE_IMAGE_CACHE : PENDING_IMAGE_CACHE;
+			if (webRequest.checkNotModified(validator.getETag(), validator.getLastModified())) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+					.cacheControl(cacheControl)
+					.build();
+			}
+
 			Map<String, Object> imageInfo = postAttachmentService.downloadMarkdownImage(uniqueIdentifier, width,
 				height);
 
@@ -153,7 +219,11 @@ public class PostAttachmentController {
 			return ResponseEntity.ok()
 				.contentType(MediaType.parseMediaType(contentType))
 				.header(HttpHeaders.CONTENT_DISPOSITION, "inline")
+				.cacheControl(Boolean.TRUE.equals(imageInfo.get("immutable")) ? IMMUTABLE_IMAGE_CACHE : PENDING_IMAGE_CACHE)
 				.body(resource);
+		} catch (PostAttachmentException e) {
+			return ResponseEntity.status(e.getErrorCode().getStatus().value())
+				.body(ApiResponse.of(false, e.getErrorCode().getStatus(), e.getMessage()));
 		} catch (Exception e) {
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
 				.body(ApiResponse.of(false, HttpStatus.INTERNAL_SERVER_ERROR, "서버 오류가 발생했습니다: " + e.getMessage()));
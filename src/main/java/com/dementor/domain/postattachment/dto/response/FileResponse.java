@@ -41,4 +41,15 @@ public class FileResponse {
 		private int status;
 		private String message;
 	}
+
+	// 조건부 요청(If-None-Match / If-Modified-Since) 검증 값
+	@Getter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class CacheValidatorDto {
+		private String eTag;         // 강한 ETag (따옴표 포함)
+		private long lastModified;   // epoch millis, 모르면 -1
+		private boolean immutable;   // 같은 URL 응답이 앞으로 바뀌지 않는지 (false 면 짧게 캐시)
+	}
 }
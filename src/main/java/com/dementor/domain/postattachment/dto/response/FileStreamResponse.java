@@ -0,0 +1,40 @@
+package com.dementor.domain.postattachment.dto.response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.dementor.global.storage.BlobStream;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 스토리지 응답 본문을 그대로 흘려보내는 다운로드 응답
+ * - 파일 전체를 메모리에 올리지 않고 저장소 구현이 클라이언트로 바로 복사 (Firebase: 8KB 버퍼, 로컬: FileChannel.transferTo)
+ * - status / Content-Length / Content-Range 는 스토리지 응답 값을 그대로 전달 (Range 요청 지원)
+ * - 본문을 보내기 전에 실패하면 받은 쪽에서 close 로 저장소 자원을 닫아야 함
+ */
+@Getter
+@Builder
+public class FileStreamResponse implements Closeable {
+
+	private final int status; // 200, 206
+	private final String contentType;
+	private final long contentLength; // 모르면 -1
+	private final String contentRange;
+	private final String fileName;
+
+	@Getter(lombok.AccessLevel.NONE)
+	private final BlobStream blob;
+
+	// 클라이언트 연결이 끊겨 쓰기에 실패해도 저장소 자원은 반드시 닫음 (BlobStream.transferTo)
+	public void transferTo(OutputStream out) throws IOException {
+		blob.transferTo(out);
+	}
+
+	@Override
+	public void close() throws IOException {
+		blob.close();
+	}
+}
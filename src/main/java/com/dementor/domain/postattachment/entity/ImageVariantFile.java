@@ -0,0 +1,31 @@
+package com.dementor.domain.postattachment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 마크다운 이미지의 미리 만들어 둔 크기별 파일 (원본과 같은 형식, 비율 유지)
+@Embeddable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class ImageVariantFile {
+
+	@Column(nullable = false)
+	private Integer width;
+
+	@Column(nullable = false)
+	private Integer height;
+
+	@Column(length = 1024, nullable = false)
+	private String storeFilePath;
+
+	@Column(nullable = false)
+	private Long fileSize;
+
+	@Column(name = "content_hash", length = 64)
+	private String contentHash;
+}
@@ -8,8 +8,13 @@ import com.dementor.global.base.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Entity
-@Table(name = "post_attachment")
+@Table(name = "post_attachment", indexes = {
+	@Index(name = "idx_post_attachment_content_hash", columnList = "content_hash")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -32,6 +37,9 @@ public class PostAttachment extends BaseEntity {
 	@Column(nullable = false)
 	private Long fileSize;
 
+	@Column(name = "content_hash", length = 64)
+	private String contentHash; // 파일 내용 SHA-256 (같은 내용이면 storeFilePath 를 공유, StoredBlob 참조 수로 관리)
+
 	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "mentor_apply_proposal_id")
 	private MentorApplyProposal mentorApplyProposal;
@@ -43,6 +51,30 @@ public class PostAttachment extends BaseEntity {
 	@Column(unique = true)
 	private String uniqueIdentifier; // 마크다운 내 이미지 참조를 위한 고유 식별자
 
+	// 마크다운 이미지 원본 크기 (크기별 파일 생성 전이면 null, 이미지로 읽을 수 없으면 0)
+	private Integer imageWidth;
+
+	private Integer imageHeight;
+
+	// 너비 오름차순
+	@Builder.Default
+	@ElementCollection
+	@CollectionTable(name = "post_attachment_variant", joinColumns = @JoinColumn(name = "post_attachment_id"))
+	@OrderBy("width ASC")
+	private List<ImageVariantFile> imageVariants = new ArrayList<>();
+
+	public boolean hasImageVariantsProcessed() {
+		return imageWidth != null;
+	}
+
+	// 크기별 파일 생성 결과 반영 (이미지가 아니거나 원본이 충분히 작으면 variants 는 비어 있음)
+	public void applyImageVariants(int width, int height, List<ImageVariantFile> variants) {
+		this.imageWidth = width;
+		this.imageHeight = height;
+		this.imageVariants.clear();
+		this.imageVariants.addAll(variants);
+	}
+
 	// 멤버 조회 메서드 추가
 	public Member getMember() {
 		if (this.mentorApplyProposal != null) {
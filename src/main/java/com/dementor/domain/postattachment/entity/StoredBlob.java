@@ -0,0 +1,45 @@
+package com.dementor.domain.postattachment.entity;
+
+import com.dementor.global.base.BaseEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 내용(SHA-256)이 같은 업로드 파일은 저장소에 한 번만 저장하고 참조 수로 관리
+ * - 첨부 레코드가 생길 때 +1, 첨부가 삭제/교체되거나 업로드가 취소되면 -1
+ * - 0 이 되면 이 레코드와 저장소 파일을 함께 삭제
+ */
+@Entity
+@Table(name = "stored_blob")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class StoredBlob extends BaseEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "content_hash", length = 64, nullable = false, unique = true)
+	private String contentHash;
+
+	@Column(length = 1024, nullable = false)
+	private String storeFilePath;
+
+	@Column(nullable = false)
+	private Long fileSize;
+
+	@Column(nullable = false)
+	private Integer refCount;
+}
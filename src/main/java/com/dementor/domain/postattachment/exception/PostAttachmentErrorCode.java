@@ -18,6 +18,7 @@ public enum PostAttachmentErrorCode {
 	INVALID_FILE_PATH(HttpStatus.BAD_REQUEST, "잘못된 파일 경로입니다."),
 	NOT_MARKDOWN_IMAGE(HttpStatus.BAD_REQUEST, "요청한 파일은 마크다운 이미지가 아닙니다."),
 	FILE_READ_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "파일을 읽을 수 없습니다."),
+	INVALID_RANGE(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, "요청한 범위가 파일 크기를 벗어났습니다."),
 	UNAUTHORIZED_ACCESS(HttpStatus.UNAUTHORIZED, "인증이 필요합니다."),
 	FILE_UPLOAD_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "파일 업로드 중 오류가 발생했습니다."),
 	APPLY_PROPOSAL_NOT_FOUND(HttpStatus.NOT_FOUND, "멘토 지원서를 찾을 수 없습니다."),
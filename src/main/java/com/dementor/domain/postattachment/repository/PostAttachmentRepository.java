@@ -3,6 +3,7 @@ package com.dementor.domain.postattachment.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,6 +21,10 @@ public interface PostAttachmentRepository extends JpaRepository<PostAttachment,
 	// 고유 식별자로 파일 조회 (마크다운 이미지용)
 	Optional<PostAttachment> findByUniqueIdentifier(String uniqueIdentifier);
 
+	// 크기별 파일까지 한 번에 조회 (마크다운 이미지 응답용)
+	@EntityGraph(attributePaths = "imageVariants")
+	Optional<PostAttachment> findWithImageVariantsByUniqueIdentifier(String uniqueIdentifier);
+
 	// 멤버별 파일 수 카운트 수정 - 조인 쿼리 사용
 	@Query("SELECT COUNT(p) FROM PostAttachment p WHERE " +
 		"(p.mentorApplyProposal.member.id = :memberId) OR " +
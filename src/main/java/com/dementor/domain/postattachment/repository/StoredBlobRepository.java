@@ -0,0 +1,30 @@
+package com.dementor.domain.postattachment.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.dementor.domain.postattachment.entity.StoredBlob;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, Long> {
+
+	Optional<StoredBlob> findByContentHash(String contentHash);
+
+	// 참조 추가 - 이미 0 이 되어 삭제 중인 파일은 재사용하지 않음 (0 이면 새로 업로드)
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE StoredBlob b SET b.refCount = b.refCount + 1 WHERE b.contentHash = :contentHash AND b.refCount > 0")
+	int acquire(@Param("contentHash") String contentHash);
+
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE StoredBlob b SET b.refCount = b.refCount - 1 WHERE b.contentHash = :contentHash AND b.refCount > 0")
+	int release(@Param("contentHash") String contentHash);
+
+	@Modifying(clearAutomatically = true)
+	@Query("DELETE FROM StoredBlob b WHERE b.contentHash = :contentHash AND b.refCount = 0")
+	int deleteIfUnreferenced(@Param("contentHash") String contentHash);
+}
@@ -0,0 +1,479 @@
+package com.dementor.domain.postattachment.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dementor.domain.mentorapplyproposal.entity.MentorApplyProposal;
+import com.dementor.domain.mentorapplyproposal.repository.MentorApplyProposalRepository;
+import com.dementor.domain.mentoreditproposal.entity.MentorEditProposal;
+import com.dementor.domain.mentoreditproposal.repository.MentorEditProposalRepository;
+import com.dementor.domain.postattachment.entity.PostAttachment;
+import com.dementor.domain.postattachment.repository.PostAttachmentRepository;
+import com.dementor.domain.postattachment.service.PostAttachmentUploader.UploadedFile;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 멘토 지원/정보 수정 소개글(마크다운)의 외부 이미지 수집
+ * - 제출 요청에서는 수집하지 않고 저장이 끝난 뒤 이 대기열에 넣기만 함 (느린 외부 호스트가 제출을 막지 않도록)
+ * - 워커 스레드가 이미지를 내려받아 저장소에 올리고(같은 내용이 있으면 재사용), 끝나면 소개글의 이미지 주소를 /api/files/markdown-images/{id} 로 교체
+ * - 호스트별 동시 다운로드 수 제한, 연결/읽기/전체 다운로드 시간 제한, 크기 제한(읽는 중에 확인)
+ * - 수집에 실패한 이미지는 외부 주소 그대로 둠
+ * - 내부망 요청 방지(SSRF): 처음 요청과 리다이렉트마다 호스트를 조회해 공인 주소가 아니면 거부, 포트는 80/443 만 허용
+ */
+@Slf4j
+@Component
+public class MarkdownImageIngestor {
+
+	private static final Pattern MARKDOWN_IMAGE = Pattern.compile("!\\[(.*?)\\]\\((.*?)\\)");
+	private static final String MARKDOWN_IMAGE_PATH = "/api/files/markdown-images/";
+	private static final int INTRODUCTION_MAX_LENGTH = 500; // 지원서/수정 요청 introduction 컬럼 길이
+	private static final int MAX_REDIRECTS = 3;
+	private static final int BUFFER_SIZE = 8192;
+
+	private final PostAttachmentUploader postAttachmentUploader;
+	private final PostAttachmentRepository postAttachmentRepository;
+	private final MentorApplyProposalRepository mentorApplyProposalRepository;
+	private final MentorEditProposalRepository mentorEditProposalRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	private final ThreadPoolExecutor executor;
+	// 다운로드 중이거나 대기 중인 호스트만 보관 (마지막 사용자가 끝나면 제거)
+	private final Map<String, HostPermits> hostPermits = new ConcurrentHashMap<>();
+	private final int perHostConcurrency;
+	private final int connectTimeoutMs;
+	private final int readTimeoutMs;
+	private final long downloadTimeoutMs;
+	private final long maxBytes;
+	private final boolean allowPrivateHosts;
+
+	public MarkdownImageIngestor(
+		PostAttachmentUploader postAttachmentUploader,
+		PostAttachmentRepository postAttachmentRepository,
+		MentorApplyProposalRepository mentorApplyProposalRepository,
+		MentorEditProposalRepository mentorEditProposalRepository,
+		TransactionTemplate transactionTemplate,
+		@Value("${file.external-image.workers}") int workers,
+		@Value("${file.external-image.queue-capacity}") int queueCapacity,
+		@Value("${file.external-image.per-host-concurrency}") int perHostConcurrency,
+		@Value("${file.external-image.connect-timeout-ms}") int connectTimeoutMs,
+		@Value("${file.external-image.read-timeout-ms}") int readTimeoutMs,
+		@Value("${file.external-image.download-timeout-ms}") long downloadTimeoutMs,
+		@Value("${file.max-size}") long maxBytes,
+		@Value("${file.external-image.allow-private-hosts}") boolean allowPrivateHosts
+	) {
+		this.postAttachmentUploader = postAttachmentUploader;
+		this.postAttachmentRepository = postAttachmentRepository;
+		this.mentorApplyProposalRepository = mentorApplyProposalRepository;
+		this.mentorEditProposalRepository = mentorEditProposalRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.perHostConcurrency = perHostConcurrency;
+		this.connectTimeoutMs = connectTimeoutMs;
+		this.readTimeoutMs = readTimeoutMs;
+		this.downloadTimeoutMs = downloadTimeoutMs;
+		this.maxBytes = maxBytes;
+		this.allowPrivateHosts = allowPrivateHosts;
+
+		AtomicInteger sequence = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+			Thread thread = new Thread(runnable, "markdown-image-ingest-" + sequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	// 저장(커밋)이 끝난 지원서의 소개글 이미지 수집 - 수집할 이미지가 없거나 대기열이 가득 차면 바로 완료
+	public CompletableFuture<Void> ingestApplyProposal(Long proposalId, String markdown) {
+		return submit(markdown, "apply:" + proposalId, (attachments, replacements) -> {
+			MentorApplyProposal proposal = mentorApplyProposalRepository.findById(proposalId).orElse(null);
+			if (proposal == null) {
+				return false;
+			}
+			String rewritten = rewrite(proposal.getIntroduction(), replacements);
+			if (rewritten == null) {
+				return false;
+			}
+			attachments.forEach(builder -> builder.mentorApplyProposal(proposal));
+			proposal.updateIntroduction(rewritten);
+			return true;
+		});
+	}
+
+	public CompletableFuture<Void> ingestEditProposal(Long proposalId, String markdown) {
+		return submit(markdown, "edit:" + proposalId, (attachments, replacements) -> {
+			MentorEditProposal proposal = mentorEditProposalRepository.findById(proposalId).orElse(null);
+			if (proposal == null) {
+				return false;
+			}
+			String rewritten = rewrite(proposal.getIntroduction(), replacements);
+			if (rewritten == null) {
+				return false;
+			}
+			attachments.forEach(builder -> builder.mentorEditProposal(proposal));
+			proposal.updateIntroduction(rewritten);
+			return true;
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private CompletableFuture<Void> submit(String markdown, String target, ProposalUpdater updater) {
+		Set<String> imageUrls = findExternalImageUrls(markdown);
+		if (imageUrls.isEmpty()) {
+			return CompletableFuture.completedFuture(null);
+		}
+		try {
+			return CompletableFuture.runAsync(() -> ingest(imageUrls, target, updater), executor);
+		} catch (RejectedExecutionException e) {
+			log.warn("외부 이미지 수집 대기열이 가득 차 건너뜀 ({}): {}개", target, imageUrls.size());
+			return CompletableFuture.completedFuture(null);
+		}
+	}
+
+	private void ingest(Set<String> imageUrls, String target, ProposalUpdater updater) {
+		List<PostAttachment.PostAttachmentBuilder> attachments = new ArrayList<>();
+		Map<String, String> replacements = new LinkedHashMap<>();
+		List<UploadedFile> storedFiles = new ArrayList<>();
+
+		for (String imageUrl : imageUrls) {
+			try {
+				DownloadedImage image = download(imageUrl);
+				String uniqueIdentifier = UUID.randomUUID().toString();
+				String filename = uniqueIdentifier + image.extension();
+				UploadedFile stored = postAttachmentUploader.upload(image.data(), filename, image.contentType(),
+					"markdown");
+				storedFiles.add(stored);
+
+				attachments.add(PostAttachment.builder()
+					.filename(filename)
+					.originalFilename("image" + image.extension())
+					.storeFilePath(stored.storeFilePath())
+					.fileSize(stored.fileSize())
+					.contentHash(stored.contentHash())
+					.uniqueIdentifier(uniqueIdentifier));
+				replacements.put(imageUrl, MARKDOWN_IMAGE_PATH + uniqueIdentifier);
+			} catch (Exception e) {
+				log.warn("외부 이미지 수집 실패, 외부 주소 유지 ({}): {} - {}", target, imageUrl, e.getMessage());
+			}
+		}
+		if (replacements.isEmpty()) {
+			return;
+		}
+
+		// 첨부 레코드 저장 + 소개글 주소 교체를 한 트랜잭션으로 (실패하면 올린 파일 삭제)
+		boolean applied;
+		try {
+			applied = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+				if (!updater.update(attachments, replacements)) {
+					return false;
+				}
+				postAttachmentRepository.saveAll(attachments.stream()
+					.map(PostAttachment.PostAttachmentBuilder::build)
+					.toList());
+				return true;
+			}));
+		} catch (RuntimeException e) {
+			log.error("외부 이미지 수집 결과 저장 실패 ({}): {}", target, e.getMessage());
+			applied = false;
+		}
+
+		if (!applied) {
+			postAttachmentUploader.discard(storedFiles);
+			return;
+		}
+		log.info("외부 이미지 {}개 수집 완료 ({})", replacements.size(), target);
+	}
+
+	// 소개글이 그 사이 바뀌었어도 남아 있는 참조만 교체, 컬럼 길이를 넘으면 교체하지 않음(null)
+	private String rewrite(String markdown, Map<String, String> replacements) {
+		if (markdown == null) {
+			return null;
+		}
+		String rewritten = markdown;
+		for (Map.Entry<String, String> replacement : replacements.entrySet()) {
+			rewritten = rewritten.replace("](" + replacement.getKey() + ")", "](" + replacement.getValue() + ")");
+		}
+		return rewritten.length() <= INTRODUCTION_MAX_LENGTH ? rewritten : null;
+	}
+
+	private Set<String> findExternalImageUrls(String markdown) {
+		Set<String> imageUrls = new LinkedHashSet<>();
+		if (markdown == null || markdown.isEmpty()) {
+			return imageUrls;
+		}
+
+		Matcher matcher = MARKDOWN_IMAGE.matcher(markdown);
+		while (matcher.find()) {
+			String imageUrl = matcher.group(2);
+			if (!imageUrl.startsWith("http://") && !imageUrl.startsWith("https://")) {
+				continue;
+			}
+			if (imageUrl.contains(MARKDOWN_IMAGE_PATH)) {
+				continue; // 이미 업로드된 이미지
+			}
+			// GitHub 이미지는 인증이 필요해 직접 받을 수 없음
+			if (imageUrl.contains("github.com/user-attachments") ||
+				imageUrl.contains("githubusercontent.com") ||
+				imageUrl.contains("github-production-user-asset") ||
+				imageUrl.contains("github.io") && imageUrl.contains("assets")) {
+				continue;
+			}
+			imageUrls.add(imageUrl);
+		}
+		return imageUrls;
+	}
+
+	/**
+	 * 외부 이미지 다운로드
+	 * - 같은 호스트에는 per-host-concurrency 개까지만 동시에 요청 (허용량을 기다리는 시간도 제한)
+	 * - 요청 전(리다이렉트 포함)에 대상 주소 확인 (checkTarget)
+	 * - Content-Length 가 크면 바로 실패, 모르면 읽으면서 max-size 를 넘는 순간 중단
+	 */
+	private DownloadedImage download(String imageUrl) throws IOException, InterruptedException {
+		URL url = new URL(imageUrl);
+		checkTarget(url);
+
+		String host = url.getHost().toLowerCase();
+		HostPermits permits = hostPermits.compute(host, (key, existing) -> {
+			HostPermits holder = existing != null ? existing : new HostPermits(new Semaphore(perHostConcurrency));
+			holder.users++;
+			return holder;
+		});
+		boolean acquired = false;
+		HttpURLConnection connection = null;
+		try {
+			acquired = permits.semaphore.tryAcquire(downloadTimeoutMs, TimeUnit.MILLISECONDS);
+			if (!acquired) {
+				throw new IOException("같은 호스트의 다운로드가 많아 대기 시간을 초과했습니다.");
+			}
+
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(downloadTimeoutMs);
+			URL current = url;
+			connection = open(current);
+			for (int redirects = 0; isRedirect(connection.getResponseCode()); redirects++) {
+				String location = connection.getHeaderField("Location");
+				connection.disconnect();
+				if (location == null || redirects >= MAX_REDIRECTS) {
+					throw new IOException("리다이렉트를 따라갈 수 없습니다.");
+				}
+				current = new URL(current, location);
+				checkTarget(current);
+				connection = open(current);
+			}
+
+			int responseCode = connection.getResponseCode();
+			if (responseCode != HttpURLConnection.HTTP_OK) {
+				throw new IOException("응답 코드: " + responseCode);
+			}
+			if (connection.getContentLengthLong() > maxBytes) {
+				throw new IOException("이미지가 너무 큽니다: " + connection.getContentLengthLong() + " bytes");
+			}
+
+			byte[] data = readLimited(connection.getInputStream(), deadline);
+			if (!isImage(data)) {
+				throw new IOException("이미지 형식이 아닙니다.");
+			}
+
+			String extension = determineImageExtension(imageUrl);
+			String contentType = connection.getContentType();
+			if (contentType == null || !contentType.startsWith("image/")) {
+				contentType = extension.equals(".jpg") ? "image/jpeg" : "image/" + extension.substring(1);
+			}
+			return new DownloadedImage(data, contentType, extension);
+		} finally {
+			if (connection != null) {
+				connection.disconnect();
+			}
+			if (acquired) {
+				permits.semaphore.release();
+			}
+			hostPermits.computeIfPresent(host, (key, holder) -> --holder.users == 0 ? null : holder);
+		}
+	}
+
+	/**
+	 * 요청 대상 확인 - http/https, 기본 포트(80/443), 조회한 주소가 모두 공인 주소일 때만 허용
+	 * - 연결할 때 다시 조회하는 주소는 JVM DNS 캐시(networkaddress.cache.ttl)에서 오므로 여기서 확인한 주소와 같음
+	 * - allow-private-hosts 는 로컬 테스트용 (주소/포트 확인 생략)
+	 */
+	private void checkTarget(URL url) throws IOException {
+		String protocol = url.getProtocol();
+		if (!protocol.equals("http") && !protocol.equals("https")) {
+			throw new IOException("허용되지 않는 프로토콜: " + protocol);
+		}
+		if (allowPrivateHosts) {
+			return;
+		}
+		int port = url.getPort();
+		if (port != -1 && port != 80 && port != 443) {
+			throw new IOException("허용되지 않는 포트: " + port);
+		}
+
+		InetAddress[] addresses;
+		try {
+			addresses = InetAddress.getAllByName(url.getHost());
+		} catch (UnknownHostException e) {
+			throw new IOException("호스트를 찾을 수 없습니다: " + url.getHost());
+		}
+		for (InetAddress address : addresses) {
+			if (!isPublicAddress(address)) {
+				throw new IOException("내부 주소로는 요청할 수 없습니다: " + url.getHost());
+			}
+		}
+	}
+
+	// 루프백/사설/링크 로컬/멀티캐스트/예약 대역이 아닌 주소
+	private static boolean isPublicAddress(InetAddress address) {
+		if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+			|| address.isSiteLocalAddress() || address.isMulticastAddress()) {
+			return false;
+		}
+		byte[] ip = address.getAddress();
+		if (address instanceof Inet4Address) {
+			int first = ip[0] & 0xff;
+			int second = ip[1] & 0xff;
+			return first != 0 // 0.0.0.0/8
+				&& !(first == 100 && second >= 64 && second <= 127) // 100.64.0.0/10 (CGNAT)
+				&& !(first == 192 && second == 0 && (ip[2] & 0xff) == 0) // 192.0.0.0/24
+				&& !(first == 198 && (second == 18 || second == 19)) // 198.18.0.0/15
+				&& first < 240; // 240.0.0.0/4, 255.255.255.255
+		}
+		if (address instanceof Inet6Address) {
+			// fc00::/7 (고유 로컬), IPv4 호환/NAT64 주소는 안의 IPv4 로 판단하지 않고 거부
+			return (ip[0] & 0xfe) != 0xfc && !isEmbeddedIpv4(ip);
+		}
+		return false;
+	}
+
+	// ::a.b.c.d (IPv4 호환), 64:ff9b::/96 (NAT64)
+	private static boolean isEmbeddedIpv4(byte[] ip) {
+		boolean compatible = true;
+		for (int i = 0; i < 12; i++) {
+			compatible &= ip[i] == 0;
+		}
+		boolean nat64 = ip[0] == 0 && ip[1] == 0x64 && (ip[2] & 0xff) == 0xff && (ip[3] & 0xff) == 0x9b;
+		return compatible || nat64;
+	}
+
+	private HttpURLConnection open(URL url) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection)url.openConnection();
+		connection.setRequestProperty("User-Agent",
+			"Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36");
+		connection.setRequestProperty("Accept", "image/avif,image/webp,image/apng,image/svg+xml,image/*,*/*;q=0.8");
+		connection.setRequestProperty("Accept-Language", "en-US,en;q=0.9");
+		connection.setInstanceFollowRedirects(false); // 프로토콜이 바뀌는 리다이렉트도 직접 따라감 (횟수 제한)
+		connection.setConnectTimeout(connectTimeoutMs);
+		connection.setReadTimeout(readTimeoutMs);
+		return connection;
+	}
+
+	private boolean isRedirect(int responseCode) {
+		return responseCode == HttpURLConnection.HTTP_MOVED_PERM ||
+			responseCode == HttpURLConnection.HTTP_MOVED_TEMP ||
+			responseCode == HttpURLConnection.HTTP_SEE_OTHER ||
+			responseCode == 307 || responseCode == 308;
+	}
+
+	// 읽기 타임아웃은 read 한 번 기준이므로 조금씩 보내는 호스트는 전체 시간으로 끊음
+	private byte[] readLimited(InputStream in, long deadline) throws IOException {
+		try (in) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[BUFFER_SIZE];
+			long total = 0;
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				total += read;
+				if (total > maxBytes) {
+					throw new IOException("이미지가 너무 큽니다: " + maxBytes + " bytes 초과");
+				}
+				if (System.nanoTime() > deadline) {
+					throw new IOException("다운로드 시간을 초과했습니다.");
+				}
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		}
+	}
+
+	// 디코딩하지 않고 읽을 수 있는 이미지 형식인지만 확인
+	private boolean isImage(byte[] data) throws IOException {
+		try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+			if (in == null) {
+				return false;
+			}
+			Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+			return readers.hasNext();
+		}
+	}
+
+	private String determineImageExtension(String url) {
+		String lowercaseUrl = url.toLowerCase();
+		if (lowercaseUrl.contains(".gif"))
+			return ".gif";
+		if (lowercaseUrl.contains(".png"))
+			return ".png";
+		if (lowercaseUrl.contains(".jpg") || lowercaseUrl.contains(".jpeg"))
+			return ".jpg";
+		if (lowercaseUrl.contains(".webp"))
+			return ".webp";
+		return ".jpg";
+	}
+
+	private record DownloadedImage(byte[] data, String contentType, String extension) {
+	}
+
+	// 호스트별 허용량 + 이 허용량을 쓰는(대기 포함) 요청 수 - users 는 hostPermits.compute 안에서만 변경
+	private static final class HostPermits {
+		private final Semaphore semaphore;
+		private int users;
+
+		private HostPermits(Semaphore semaphore) {
+			this.semaphore = semaphore;
+		}
+	}
+
+	// 트랜잭션 안에서 제안서를 다시 읽어 소개글 교체 + 첨부 연결, 제안서가 없거나 교체할 수 없으면 false
+	@FunctionalInterface
+	private interface ProposalUpdater {
+		boolean update(List<PostAttachment.PostAttachmentBuilder> attachments, Map<String, String> replacements);
+	}
+}
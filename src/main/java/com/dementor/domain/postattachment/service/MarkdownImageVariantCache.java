@@ -0,0 +1,281 @@
+package com.dementor.domain.postattachment.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 마크다운 이미지 변환 결과 캐시 (uniqueIdentifier, width, height, format) -> 이미지 바이트
+ * - 업로드된 이미지는 바뀌지 않으므로 한 번 만든 결과를 재사용 (스토리지 다운로드 + 디코딩 + 리사이즈 생략)
+ * - 1차: 메모리 LRU (전체 바이트 수로 제한), 2차: 로컬 디스크 (전체 바이트 수로 제한, 오래 안 쓴 파일부터 삭제)
+ * - 메트릭: markdown.image.variant.cache{result=memory_hit|disk_hit|miss}, ...evictions{tier}, ...bytes{tier}
+ */
+@Slf4j
+@Component
+public class MarkdownImageVariantCache {
+
+	public record VariantKey(String uniqueIdentifier, Integer width, Integer height, String format) {
+	}
+
+	public record ImageVariant(byte[] data, String contentType) {
+	}
+
+	private final long memoryMaxBytes;
+	private final long diskMaxBytes;
+	private final Path diskDir;
+
+	// 메모리 tier (access-order LRU)
+	private final LinkedHashMap<VariantKey, ImageVariant> memory = new LinkedHashMap<>(16, 0.75f, true);
+	private long memoryBytes = 0;
+
+	// 디스크 tier 파일명 -> 크기 (access-order LRU)
+	private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true);
+	private long diskBytes = 0;
+
+	private final Counter memoryHits;
+	private final Counter diskHits;
+	private final Counter misses;
+	private final Counter memoryEvictions;
+	private final Counter diskEvictions;
+
+	public MarkdownImageVariantCache(
+		MeterRegistry meterRegistry,
+		@Value("${file.image-cache.memory-max-bytes}") long memoryMaxBytes,
+		@Value("${file.image-cache.disk-max-bytes}") long diskMaxBytes,
+		@Value("${file.image-cache.disk-dir}") String diskDir
+	) {
+		this.memoryMaxBytes = memoryMaxBytes;
+		this.diskMaxBytes = diskMaxBytes;
+		this.diskDir = Paths.get(diskDir);
+
+		this.memoryHits = result(meterRegistry, "memory_hit");
+		this.diskHits = result(meterRegistry, "disk_hit");
+		this.misses = result(meterRegistry, "miss");
+		this.memoryEvictions = eviction(meterRegistry, "memory");
+		this.diskEvictions = eviction(meterRegistry, "disk");
+		Gauge.builder("markdown.image.variant.cache.bytes", this, cache -> cache.memoryBytes())
+			.tag("tier", "memory")
+			.register(meterRegistry);
+		Gauge.builder("markdown.image.variant.cache.bytes", this, cache -> cache.diskBytes())
+			.tag("tier", "disk")
+			.register(meterRegistry);
+
+		loadDiskIndex();
+	}
+
+	public Optional<ImageVariant> get(VariantKey key) {
+		synchronized (memory) {
+			ImageVariant variant = memory.get(key);
+			if (variant != null) {
+				memoryHits.increment();
+				return Optional.of(variant);
+			}
+		}
+
+		Optional<ImageVariant> fromDisk = readFromDisk(fileName(key));
+		if (fromDisk.isPresent()) {
+			diskHits.increment();
+			putInMemory(key, fromDisk.get()); // 자주 쓰는 이미지는 다시 메모리로
+			return fromDisk;
+		}
+
+		misses.increment();
+		return Optional.empty();
+	}
+
+	public void put(VariantKey key, ImageVariant variant) {
+		putInMemory(key, variant);
+		writeToDisk(fileName(key), variant);
+	}
+
+	public long memoryBytes() {
+		synchronized (memory) {
+			return memoryBytes;
+		}
+	}
+
+	public long diskBytes() {
+		synchronized (disk) {
+			return diskBytes;
+		}
+	}
+
+	private void putInMemory(VariantKey key, ImageVariant variant) {
+		long size = variant.data().length;
+		// 한 항목이 메모리 tier 의 1/4 를 넘으면 디스크에만 보관 (큰 이미지 하나가 캐시를 비우지 않도록)
+		if (size > memoryMaxBytes / 4) {
+			return;
+		}
+		synchronized (memory) {
+			ImageVariant previous = memory.put(key, variant);
+			if (previous != null) {
+				memoryBytes -= previous.data().length;
+			}
+			memoryBytes += size;
+
+			Iterator<Map.Entry<VariantKey, ImageVariant>> eldest = memory.entrySet().iterator();
+			while (memoryBytes > memoryMaxBytes && eldest.hasNext()) {
+				memoryBytes -= eldest.next().getValue().data().length;
+				eldest.remove();
+				memoryEvictions.increment();
+			}
+		}
+	}
+
+	private Optional<ImageVariant> readFromDisk(String fileName) {
+		synchronized (disk) {
+			if (disk.get(fileName) == null) { // LRU 순서 갱신
+				return Optional.empty();
+			}
+		}
+		try (DataInputStream in = new DataInputStream(Files.newInputStream(diskDir.resolve(fileName)))) {
+			String contentType = in.readUTF();
+			return Optional.of(new ImageVariant(in.readAllBytes(), contentType));
+		} catch (IOException e) {
+			// 다른 요청이 방금 삭제했거나 손상된 파일 -> 없는 것으로 처리
+			removeFromDisk(fileName);
+			return Optional.empty();
+		}
+	}
+
+	// 임시 파일에 쓴 뒤 이동 (읽는 쪽이 쓰다 만 파일을 보지 않도록)
+	private void writeToDisk(String fileName, ImageVariant variant) {
+		Path target = diskDir.resolve(fileName);
+		try {
+			Files.createDirectories(diskDir);
+			Path temp = Files.createTempFile(diskDir, fileName, ".tmp");
+			try (OutputStream out = Files.newOutputStream(temp);
+				 DataOutputStream data = new DataOutputStream(out)) {
+				data.writeUTF(variant.contentType());
+				data.write(variant.data());
+			}
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			log.warn("이미지 캐시 디스크 저장 실패 ({}): {}", fileName, e.getMessage());
+			return;
+		}
+
+		List<String> evicted = new ArrayList<>();
+		synchronized (disk) {
+			long size = fileSize(target);
+			Long previous = disk.put(fileName, size);
+			diskBytes += size - (previous == null ? 0 : previous);
+
+			Iterator<Map.Entry<String, Long>> eldest = disk.entrySet().iterator();
+			while (diskBytes > diskMaxBytes && eldest.hasNext()) {
+				Map.Entry<String, Long> entry = eldest.next();
+				diskBytes -= entry.getValue();
+				evicted.add(entry.getKey());
+				eldest.remove();
+				diskEvictions.increment();
+			}
+		}
+		evicted.forEach(name -> deleteQuietly(diskDir.resolve(name)));
+	}
+
+	private void removeFromDisk(String fileName) {
+		synchronized (disk) {
+			Long size = disk.remove(fileName);
+			if (size != null) {
+				diskBytes -= size;
+			}
+		}
+		deleteQuietly(diskDir.resolve(fileName));
+	}
+
+	// 재시작 시 기존 디스크 캐시를 이어서 사용 (수정 시각 오래된 순 = LRU 순서)
+	private void loadDiskIndex() {
+		if (!Files.isDirectory(diskDir)) {
+			return;
+		}
+		try (Stream<Path> files = Files.list(diskDir)) {
+			files.filter(Files::isRegularFile)
+				.sorted(Comparator.comparingLong(MarkdownImageVariantCache::lastModified))
+				.forEach(path -> {
+					String name = path.getFileName().toString();
+					if (name.endsWith(".tmp")) {
+						deleteQuietly(path);
+						return;
+					}
+					long size = fileSize(path);
+					disk.put(name, size);
+					diskBytes += size;
+				});
+		} catch (IOException e) {
+			log.warn("이미지 캐시 디렉터리 읽기 실패 ({}): {}", diskDir, e.getMessage());
+		}
+	}
+
+	private static String fileName(VariantKey key) {
+		String raw = key.uniqueIdentifier() + "|" + key.width() + "|" + key.height() + "|" + key.format();
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(hash) + ".img";
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static long fileSize(Path path) {
+		try {
+			return Files.size(path);
+		} catch (IOException e) {
+			return 0;
+		}
+	}
+
+	private static long lastModified(Path path) {
+		try {
+			return Files.getLastModifiedTime(path).toMillis();
+		} catch (IOException e) {
+			return 0;
+		}
+	}
+
+	private static void deleteQuietly(Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			log.warn("이미지 캐시 파일 삭제 실패 ({}): {}", path, e.getMessage());
+		}
+	}
+
+	private static Counter result(MeterRegistry meterRegistry, String result) {
+		return Counter.builder("markdown.image.variant.cache")
+			.tag("result", result)
+			.description("마크다운 이미지 변환 캐시 조회 결과")
+			.register(meterRegistry);
+	}
+
+	private static Counter eviction(MeterRegistry meterRegistry, String tier) {
+		return Counter.builder("markdown.image.variant.cache.evictions")
+			.tag("tier", tier)
+			.description("마크다운 이미지 변환 캐시 제거 수")
+			.register(meterRegistry);
+	}
+}
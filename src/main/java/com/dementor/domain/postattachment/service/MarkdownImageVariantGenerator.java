@@ -0,0 +1,230 @@
+package com.dementor.domain.postattachment.service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dementor.domain.postattachment.entity.ImageVariantFile;
+import com.dementor.domain.postattachment.entity.PostAttachment;
+import com.dementor.domain.postattachment.repository.PostAttachmentRepository;
+import com.dementor.domain.postattachment.service.PostAttachmentUploader.UploadedFile;
+import com.dementor.global.storage.BlobStore;
+import com.dementor.global.storage.BlobStream;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.coobird.thumbnailator.Thumbnails;
+
+/**
+ * 마크다운 이미지 크기별 파일 미리 생성 (업로드 후 백그라운드)
+ * - file.image-variants.widths 중 원본보다 작은 너비마다 비율을 유지한 파일을 만들어 저장소에 저장
+ * - 결과는 PostAttachment.imageVariants 에 기록, 조회 시에는 가장 가까운 크기 파일을 그대로 응답 (디코딩 없음)
+ * - 생성 전에 들어온 조회는 원본으로 응답하고 생성을 요청 (예전 이미지도 첫 조회 때 생성)
+ * - GIF 는 애니메이션이 깨지므로 크기별 파일을 만들지 않음
+ */
+@Slf4j
+@Component
+public class MarkdownImageVariantGenerator {
+
+	private final PostAttachmentRepository postAttachmentRepository;
+	private final BlobStore blobStore;
+	private final PostAttachmentUploader postAttachmentUploader;
+	private final TransactionTemplate transactionTemplate;
+	private final int[] widths;
+	private final float jpegQuality;
+
+	private final ThreadPoolExecutor executor;
+	// 대기 중이거나 생성 중인 첨부 (같은 이미지를 동시에 여러 번 만들지 않도록)
+	private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+	public MarkdownImageVariantGenerator(
+		PostAttachmentRepository postAttachmentRepository,
+		BlobStore blobStore,
+		PostAttachmentUploader postAttachmentUploader,
+		TransactionTemplate transactionTemplate,
+		@Value("${file.image-variants.widths}") int[] widths,
+		@Value("${file.image-variants.jpeg-quality}") float jpegQuality,
+		@Value("${file.image-variants.workers}") int workers,
+		@Value("${file.image-variants.queue-capacity}") int queueCapacity
+	) {
+		this.postAttachmentRepository = postAttachmentRepository;
+		this.blobStore = blobStore;
+		this.postAttachmentUploader = postAttachmentUploader;
+		this.transactionTemplate = transactionTemplate;
+		this.widths = Arrays.stream(widths).sorted().distinct().toArray();
+		this.jpegQuality = jpegQuality;
+
+		AtomicInteger sequence = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+			Thread thread = new Thread(runnable, "markdown-image-variant-" + sequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * 생성 요청 - 트랜잭션 안이면 커밋 후에 (워커가 아직 저장되지 않은 첨부를 읽지 않도록)
+	 * - 대기열이 가득 차면 버림 (다음 조회 때 다시 요청됨)
+	 */
+	public void request(Long attachmentId) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					submit(attachmentId);
+				}
+			});
+		} else {
+			submit(attachmentId);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	// 요청 너비(없으면 높이로 환산)보다 크거나 같은 가장 작은 파일, 없거나 크기를 모르면 원본(null)
+	public static ImageVariantFile select(PostAttachment attachment, Integer width, Integer height) {
+		if (!attachment.hasImageVariantsProcessed() || attachment.getImageVariants().isEmpty()) {
+			return null;
+		}
+		Integer targetWidth = width;
+		if (targetWidth == null && height != null && attachment.getImageHeight() > 0) {
+			targetWidth = (int)Math.ceil((double)height * attachment.getImageWidth() / attachment.getImageHeight());
+		}
+		if (targetWidth == null) {
+			return null;
+		}
+		for (ImageVariantFile variant : attachment.getImageVariants()) {
+			if (variant.getWidth() >= targetWidth) {
+				return variant;
+			}
+		}
+		return null;
+	}
+
+	private void submit(Long attachmentId) {
+		if (!pending.add(attachmentId)) {
+			return;
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					generate(attachmentId);
+				} catch (Exception e) {
+					log.warn("마크다운 이미지 크기별 파일 생성 실패 (attachment={}): {}", attachmentId, e.getMessage());
+				} finally {
+					pending.remove(attachmentId);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			pending.remove(attachmentId);
+			log.warn("마크다운 이미지 크기별 파일 생성 대기열이 가득 차 건너뜀 (attachment={})", attachmentId);
+		}
+	}
+
+	private void generate(Long attachmentId) throws IOException {
+		PostAttachment attachment = postAttachmentRepository.findById(attachmentId).orElse(null);
+		if (attachment == null || attachment.hasImageVariantsProcessed()
+			|| attachment.getStoreFilePath().startsWith("data:")) {
+			return;
+		}
+
+		BufferedImage original;
+		String contentType;
+		try (BlobStream blob = blobStore.openFile(attachment.getStoreFilePath(), null)) {
+			if (!blob.isReadable()) {
+				throw new IOException("원본을 읽을 수 없습니다. 응답 코드: " + blob.getStatus());
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			blob.transferTo(out);
+			original = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+			contentType = blob.getContentType();
+		}
+
+		List<UploadedFile> uploaded = new ArrayList<>();
+		List<ImageVariantFile> variants = new ArrayList<>();
+		int originalWidth = original != null ? original.getWidth() : 0;
+		int originalHeight = original != null ? original.getHeight() : 0;
+		String format = formatName(contentType, attachment.getOriginalFilename());
+
+		try {
+			if (original != null && !format.equals("gif")) {
+				for (int width : widths) {
+					if (width >= originalWidth) {
+						break;
+					}
+					byte[] data = resize(original, width, format);
+					UploadedFile stored = postAttachmentUploader.upload(data, "variant-" + width + "." + format,
+						"image/" + format, "markdown/variants");
+					uploaded.add(stored);
+					variants.add(new ImageVariantFile(width,
+						Math.max(1, Math.round((float)originalHeight * width / originalWidth)),
+						stored.storeFilePath(), stored.fileSize(), stored.contentHash()));
+				}
+			}
+
+			boolean applied = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+				PostAttachment current = postAttachmentRepository.findById(attachmentId).orElse(null);
+				if (current == null || current.hasImageVariantsProcessed()) {
+					return false;
+				}
+				current.applyImageVariants(originalWidth, originalHeight, variants);
+				return true;
+			}));
+			if (!applied) {
+				postAttachmentUploader.discard(uploaded);
+				return;
+			}
+			log.info("마크다운 이미지 크기별 파일 {}개 생성 (attachment={})", variants.size(), attachmentId);
+		} catch (RuntimeException | IOException e) {
+			postAttachmentUploader.discard(uploaded);
+			throw e;
+		}
+	}
+
+	private byte[] resize(BufferedImage original, int width, String format) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Thumbnails.Builder<BufferedImage> builder = Thumbnails.of(original)
+			.width(width)
+			.outputFormat(format);
+		if (format.equals("jpeg")) {
+			builder.outputQuality(jpegQuality);
+		}
+		builder.toOutputStream(out);
+		return out.toByteArray();
+	}
+
+	private String formatName(String contentType, String filename) {
+		String type = contentType != null ? contentType : "";
+		String name = filename != null ? filename.toLowerCase() : "";
+		if (type.contains("png") || name.endsWith(".png"))
+			return "png";
+		if (type.contains("gif") || name.endsWith(".gif"))
+			return "gif";
+		if (type.contains("bmp") || name.endsWith(".bmp"))
+			return "bmp";
+		return "jpeg";
+	}
+}
@@ -3,35 +3,38 @@ package com.dementor.domain.postattachment.service;
 import com.dementor.domain.member.entity.Member;
 import com.dementor.domain.mentorapplyproposal.entity.MentorApplyProposal;
 import com.dementor.domain.mentoreditproposal.entity.MentorEditProposal;
+import com.dementor.domain.postattachment.dto.response.FileResponse.CacheValidatorDto;
 import com.dementor.domain.postattachment.dto.response.FileResponse.FileInfoDto;
+import com.dementor.domain.postattachment.dto.response.FileStreamResponse;
+import com.dementor.domain.postattachment.entity.ImageVariantFile;
 import com.dementor.domain.postattachment.entity.PostAttachment;
 import com.dementor.domain.postattachment.exception.PostAttachmentErrorCode;
 import com.dementor.domain.postattachment.exception.PostAttachmentException;
 import com.dementor.domain.postattachment.repository.PostAttachmentRepository;
-import com.dementor.firebase.service.FirebaseStorageService;
+import com.dementor.domain.postattachment.service.MarkdownImageVariantCache.ImageVariant;
+import com.dementor.domain.postattachment.service.MarkdownImageVariantCache.VariantKey;
+import com.dementor.domain.postattachment.service.PostAttachmentUploader.UploadedFile;
+import com.dementor.global.storage.BlobStore;
+import com.dementor.global.storage.BlobStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Slf4j
 @Service
@@ -39,7 +42,10 @@ import java.util.regex.Pattern;
 public class PostAttachmentService {
 
 	private final PostAttachmentRepository postAttachmentRepository;
-	private final FirebaseStorageService firebaseStorageService;
+	private final BlobStore blobStore;
+	private final MarkdownImageVariantCache markdownImageVariantCache;
+	private final PostAttachmentUploader postAttachmentUploader;
+	private final MarkdownImageVariantGenerator markdownImageVariantGenerator;
 
 	@Value("${file.max-size}")
 	private long maxFileSize;
@@ -47,6 +53,9 @@ public class PostAttachmentService {
 	@Value("${file.max-per-user}")
 	private int maxFilesPerUser;
 
+	@Value("${file.download.redirect}")
+	private boolean downloadRedirect;
+
 	public boolean isFileOwner(Long fileId, Long userId) {
 		if (fileId == null || userId == null) {
 			return false;
@@ -59,189 +68,165 @@ public class PostAttachmentService {
 			.orElse(false);
 	}
 
-	//멘토 지원서용 파일 업로드 메소드
-	@Transactional
-	public void uploadFilesApply(
-		List<MultipartFile> files,
-		MentorApplyProposal applyProposal) {
-
+	/**
+	 * 첨부 파일 스토리지 업로드 (트랜잭션 밖에서 호출 - 업로드 동안 DB 커넥션을 잡지 않음)
+	 * - 업로드할 파일이 없으면(빈 파일만 있는 경우 포함) 빈 목록
+	 * - DB 저장은 saveApplyAttachments / replaceEditAttachments, 실패 시 discardUploads 로 보상 삭제
+	 */
+	public List<UploadedFile> uploadToStorage(List<MultipartFile> files, String directory) {
 		if (files == null || files.isEmpty()) {
-			return;
+			return List.of();
 		}
 
-		Long memberId = applyProposal.getMember().getId();
-		// 파일 개수 체크
-		long currentFileCount = postAttachmentRepository.countByMemberId(memberId);
-		if (currentFileCount + files.size() > maxFilesPerUser) {
-			throw new PostAttachmentException(PostAttachmentErrorCode.FILE_UPLOAD_LIMIT_EXCEEDED,
-				"파일 업로드 제한을 초과했습니다. 최대 " + maxFilesPerUser + "개까지 가능합니다.");
+		// 실제 업로드 가능한 파일이 있는지 확인 (빈 MultipartFile 객체는 있지만 내용이 없는 경우 처리)
+		boolean hasRealFiles = files.stream().anyMatch(file -> !file.isEmpty());
+		if (!hasRealFiles) {
+			return List.of();
 		}
 
-		for (MultipartFile file : files) {
-			if (file.isEmpty()) {
-				throw new PostAttachmentException(PostAttachmentErrorCode.FILE_REQUIRED);
-			}
-
-			if (file.getSize() > maxFileSize) {
-				throw new PostAttachmentException(PostAttachmentErrorCode.FILE_SIZE_EXCEEDED,
-					"파일 크기가 허용 범위를 초과했습니다. 최대 " + (maxFileSize / (1024 * 1024)) + "MB까지 가능합니다.");
-			}
+		validateFiles(files);
+		return postAttachmentUploader.uploadAll(files, directory);
+	}
 
-			try {
-				String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
-				String directory = "apply";
-				String fileUrl = firebaseStorageService.uploadFile(file, directory);
-
-				PostAttachment attachment = PostAttachment.builder()
-					.filename(UUID.randomUUID().toString() + "_" + originalFilename)
-					.originalFilename(originalFilename)
-					.storeFilePath(fileUrl)
-					.fileSize(file.getSize())
-					.mentorApplyProposal(applyProposal)
-					.mentorEditProposal(null)
-					.build();
-
-				postAttachmentRepository.save(attachment);
-			} catch (Exception e) {
-				log.error("파일 업로드 실패: {}", e.getMessage());
-				throw new PostAttachmentException(PostAttachmentErrorCode.FILE_UPLOAD_ERROR,
-					"파일 저장 중 오류가 발생했습니다: " + e.getMessage());
-			}
+	/**
+	 * 업로드 전 확인 (파일 크기, 사용자별 파일 개수) - 스토리지에 올리기 전에 걸러서 불필요한 업로드/보상 삭제를 막음
+	 * - 개수는 저장할 때(saveApplyAttachments / replaceEditAttachments) 트랜잭션 안에서 다시 확인
+	 */
+	public void validateUpload(Long memberId, List<MultipartFile> files) {
+		if (files == null || files.stream().allMatch(MultipartFile::isEmpty)) {
+			return;
 		}
 
+		validateFiles(files);
+		validateFileCount(memberId, files.size());
 	}
 
-	//멘토 정보 수정용 파일 업로드 메소드
-	@Transactional
-	public void uploadFilesEdit(
-		List<MultipartFile> files,
-		MentorEditProposal editProposal) {
-
-		if (files == null || files.isEmpty()) {
-			return;
-		}
+	public void discardUploads(List<UploadedFile> uploaded) {
+		postAttachmentUploader.discard(uploaded);
+	}
 
-		// 실제 업로드 가능한 파일이 있는지 확인 (빈 MultipartFile 객체는 있지만 내용이 없는 경우 처리)
-		boolean hasRealFiles = files.stream().anyMatch(file -> !file.isEmpty());
-		if (!hasRealFiles) {
-			// 실제 업로드할 파일이 없으면 기존 파일 유지
+	//멘토 지원서용 첨부 파일 저장 (호출자의 트랜잭션 안에서)
+	public void saveApplyAttachments(List<UploadedFile> uploaded, MentorApplyProposal applyProposal) {
+		if (uploaded.isEmpty()) {
 			return;
 		}
 
-		Long editProposalId = editProposal.getId();
+		validateFileCount(applyProposal.getMember().getId(), uploaded.size());
 
-		// 기존 파일 삭제 로직 추가
-		List<PostAttachment> existingAttachments = postAttachmentRepository.findByMentorEditProposalId(editProposalId);
-		for (PostAttachment attachment : existingAttachments) {
-			// Firebase에서 물리적 파일 삭제
-			try {
-				String filePath = attachment.getStoreFilePath();
-				if (filePath != null && !filePath.isEmpty()) {
-					firebaseStorageService.deleteFile(filePath);
-				}
-			} catch (Exception e) {
-				log.warn("파일 삭제 중 오류 발생: {}", e.getMessage());
-				// 파일 삭제 실패해도 계속 진행
-			}
+		postAttachmentRepository.saveAll(uploaded.stream()
+			.map(file -> toAttachment(file, applyProposal, null))
+			.toList());
+	}
 
-			// DB에서 첨부파일 레코드 삭제
-			postAttachmentRepository.delete(attachment);
+	/**
+	 * 멘토 정보 수정용 첨부 파일 교체 (호출자의 트랜잭션 안에서)
+	 * - 기존 첨부 레코드를 지우고 새 레코드 저장
+	 * - 기존 파일의 참조 해제(마지막 참조면 스토리지 삭제)는 커밋 후 deleteStoredFiles 로 (롤백되면 기존 파일이 남아 있어야 하므로)
+	 * @return 커밋 후 참조를 해제할 기존 파일
+	 */
+	public List<UploadedFile> replaceEditAttachments(List<UploadedFile> uploaded, MentorEditProposal editProposal) {
+		if (uploaded.isEmpty()) {
+			return List.of();
 		}
 
-		Long memberId = editProposal.getMember().getId();
-		// 파일 개수 체크
-		long currentFileCount = postAttachmentRepository.countByMemberId(memberId);
-		if (currentFileCount + files.size() > maxFilesPerUser) {
-			throw new PostAttachmentException(PostAttachmentErrorCode.FILE_UPLOAD_LIMIT_EXCEEDED,
-				"파일 업로드 제한을 초과했습니다. 최대 " + maxFilesPerUser + "개까지 가능합니다.");
-		}
+		List<PostAttachment> existingAttachments = postAttachmentRepository.findByMentorEditProposalId(
+			editProposal.getId());
+		List<UploadedFile> replacedFiles = existingAttachments.stream()
+			.filter(attachment -> attachment.getStoreFilePath() != null && !attachment.getStoreFilePath().isEmpty())
+			.map(attachment -> new UploadedFile(attachment.getOriginalFilename(), attachment.getStoreFilePath(),
+				attachment.getFileSize(), attachment.getContentHash()))
+			.toList();
+		postAttachmentRepository.deleteAll(existingAttachments);
+		postAttachmentRepository.flush(); // 개수 제한 확인 전에 삭제 반영
 
-		for (MultipartFile file : files) {
-			if (file.isEmpty()) {
-				throw new PostAttachmentException(PostAttachmentErrorCode.FILE_REQUIRED);
-			}
+		validateFileCount(editProposal.getMember().getId(), uploaded.size());
 
-			if (file.getSize() > maxFileSize) {
-				throw new PostAttachmentException(PostAttachmentErrorCode.FILE_SIZE_EXCEEDED,
-					"파일 크기가 허용 범위를 초과했습니다. 최대 " + (maxFileSize / (1024 * 1024)) + "MB까지 가능합니다.");
-			}
+		postAttachmentRepository.saveAll(uploaded.stream()
+			.map(file -> toAttachment(file, null, editProposal))
+			.toList());
 
-			try {
-				String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
-				String directory = "edit";
-				String fileUrl = firebaseStorageService.uploadFile(file, directory);
-
-				PostAttachment attachment = PostAttachment.builder()
-					.filename(UUID.randomUUID().toString() + "_" + originalFilename)
-					.originalFilename(originalFilename)
-					.storeFilePath(fileUrl)
-					.fileSize(file.getSize())
-					.mentorApplyProposal(null)
-					.mentorEditProposal(editProposal)
-					.build();
-
-				postAttachmentRepository.save(attachment);
-			} catch (Exception e) {
-				log.error("파일 업로드 실패: {}", e.getMessage());
-				throw new PostAttachmentException(PostAttachmentErrorCode.FILE_UPLOAD_ERROR,
-					"파일 저장 중 오류가 발생했습니다: " + e.getMessage());
-			}
-		}
+		return replacedFiles;
+	}
 
+	// 파일 참조 해제 (마지막 참조면 스토리지에서 삭제), 실패해도 계속 진행
+	public void deleteStoredFiles(List<UploadedFile> files) {
+		postAttachmentUploader.discard(files);
 	}
 
-	//마크다운용 이미지 파일 업로드 메소드
-	@Transactional
+	//마크다운용 이미지 파일 업로드 메소드 (업로드는 병렬로, 레코드는 한 번에 저장)
 	public List<FileInfoDto> uploadMarkdownImages(List<MultipartFile> images) {
 		if (images == null || images.isEmpty()) {
 			throw new PostAttachmentException(PostAttachmentErrorCode.FILE_REQUIRED);
 		}
 
-		List<FileInfoDto> uploadedFiles = new ArrayList<>();
+		validateFiles(images);
+		List<UploadedFile> uploaded = postAttachmentUploader.uploadAll(images, "markdown");
+
+		List<PostAttachment> savedAttachments;
+		try {
+			savedAttachments = postAttachmentRepository.saveAll(uploaded.stream()
+				.map(file -> PostAttachment.builder()
+					.filename(UUID.randomUUID().toString() + "_" + file.originalFilename())
+					.originalFilename(file.originalFilename())
+					.storeFilePath(file.storeFilePath())
+					.fileSize(file.fileSize())
+					.contentHash(file.contentHash())
+					.uniqueIdentifier(UUID.randomUUID().toString())
+					.build())
+				.toList());
+		} catch (RuntimeException e) {
+			log.error("파일 업로드 실패: {}", e.getMessage());
+			postAttachmentUploader.discard(uploaded);
+			throw new PostAttachmentException(PostAttachmentErrorCode.FILE_UPLOAD_ERROR,
+				"파일 저장 중 오류가 발생했습니다: " + e.getMessage());
+		}
+
+		// 크기별 파일은 백그라운드에서 생성 (업로드 응답을 기다리게 하지 않음)
+		savedAttachments.forEach(savedAttachment -> markdownImageVariantGenerator.request(savedAttachment.getId()));
+
+		return savedAttachments.stream()
+			.map(savedAttachment -> FileInfoDto.builder()
+				.attachmentId(savedAttachment.getId())
+				.originalFilename(savedAttachment.getOriginalFilename())
+				.fileSize(savedAttachment.getFileSize())
+				.fileUrl("/api/files/markdown-images/" + savedAttachment.getUniqueIdentifier())
+				.uniqueIdentifier(savedAttachment.getUniqueIdentifier())
+				.build())
+			.toList();
+	}
 
-		for (MultipartFile image : images) {
-			if (image.isEmpty()) {
+	private void validateFiles(List<MultipartFile> files) {
+		for (MultipartFile file : files) {
+			if (file.isEmpty()) {
 				throw new PostAttachmentException(PostAttachmentErrorCode.FILE_REQUIRED);
 			}
 
-			if (image.getSize() > maxFileSize) {
+			if (file.getSize() > maxFileSize) {
 				throw new PostAttachmentException(PostAttachmentErrorCode.FILE_SIZE_EXCEEDED,
-						"파일 크기가 허용 범위를 초과했습니다. 최대 " + (maxFileSize / (1024 * 1024)) + "MB까지 가능합니다.");
+					"파일 크기가 허용 범위를 초과했습니다. 최대 " + (maxFileSize / (1024 * 1024)) + "MB까지 가능합니다.");
 			}
+		}
+	}
 
-			try {
-				String originalFilename = StringUtils.cleanPath(image.getOriginalFilename());
-				String directory = "markdown";
-				String fileUrl = firebaseStorageService.uploadFile(image, directory);
-				String uniqueIdentifier = UUID.randomUUID().toString();
-
-				PostAttachment attachment = PostAttachment.builder()
-						.filename(UUID.randomUUID().toString() + "_" + originalFilename)
-						.originalFilename(originalFilename)
-						.storeFilePath(fileUrl)
-						.fileSize(image.getSize())
-						.uniqueIdentifier(uniqueIdentifier)
-						.build();
-
-				PostAttachment savedAttachment = postAttachmentRepository.save(attachment);
-
-				FileInfoDto fileInfoDto = FileInfoDto.builder()
-						.attachmentId(savedAttachment.getId())
-						.originalFilename(savedAttachment.getOriginalFilename())
-						.fileSize(savedAttachment.getFileSize())
-						.fileUrl("/api/files/markdown-images/" + savedAttachment.getUniqueIdentifier())
-						.uniqueIdentifier(savedAttachment.getUniqueIdentifier())
-						.build();
-
-				uploadedFiles.add(fileInfoDto);
-			} catch (Exception e) {
-				log.error("파일 업로드 실패: {}", e.getMessage());
-				throw new PostAttachmentException(PostAttachmentErrorCode.FILE_UPLOAD_ERROR,
-						"파일 저장 중 오류가 발생했습니다: " + e.getMessage());
-			}
+	private void validateFileCount(Long memberId, int newFileCount) {
+		long currentFileCount = postAttachmentRepository.countByMemberId(memberId);
+		if (currentFileCount + newFileCount > maxFilesPerUser) {
+			throw new PostAttachmentException(PostAttachmentErrorCode.FILE_UPLOAD_LIMIT_EXCEEDED,
+				"파일 업로드 제한을 초과했습니다. 최대 " + maxFilesPerUser + "개까지 가능합니다.");
 		}
+	}
 
-		return uploadedFiles;
+	private PostAttachment toAttachment(UploadedFile file, MentorApplyProposal applyProposal,
+		MentorEditProposal editProposal) {
+		return PostAttachment.builder()
+			.filename(UUID.randomUUID().toString() + "_" + file.originalFilename())
+			.originalFilename(file.originalFilename())
+			.storeFilePath(file.storeFilePath())
+			.fileSize(file.fileSize())
+			.contentHash(file.contentHash())
+			.mentorApplyProposal(applyProposal)
+			.mentorEditProposal(editProposal)
+			.build();
 	}
 
 	// 파일 접근 권한 확인 메서드
@@ -251,182 +236,223 @@ public class PostAttachmentService {
 		return owner != null && owner.getId().equals(memberId);
 	}
 
-	// 마크다운 이미지 처리
-	private List<PostAttachment> processMarkdownImages(
-		String markdownText,
-		MentorApplyProposal applyProposal,
-		MentorEditProposal editProposal) {
+	/**
+	 * 첨부 파일 삭제
+	 * - 원본/크기별 파일 목록은 참조 해제 전에 복사 (참조 수 쿼리가 영속성 컨텍스트를 비우면 지연 로딩 불가)
+	 * - 참조 해제(마지막 참조면 저장소 삭제)는 레코드 삭제가 커밋된 뒤에 (롤백되면 파일이 남아 있어야 하므로)
+	 */
+	@Transactional
+	public void deleteFile(Long attachmentId, Long memberId) {
+		PostAttachment attachment = postAttachmentRepository.findById(attachmentId)
+			.orElseThrow(() -> new PostAttachmentException(PostAttachmentErrorCode.FILE_NOT_FOUND));
 
-		List<PostAttachment> processedAttachments = new ArrayList<>();
-		Pattern pattern = Pattern.compile("!\\[(.*?)\\]\\((.*?)\\)");
-		Matcher matcher = pattern.matcher(markdownText);
-		boolean isApplyProposal = (applyProposal != null);
+		if (!attachment.getMember().getId().equals(memberId)) {
+			throw new PostAttachmentException(PostAttachmentErrorCode.FILE_DELETE_NO_PERMISSION);
+		}
 
-		while (matcher.find()) {
-			String altText = matcher.group(1);
-			String imageUrl = matcher.group(2);
+		// 같은 내용을 다른 첨부가 참조 중이면 저장소 파일은 남김 (data: URL 등 저장소에 없는 경로는 저장소가 무시)
+		List<UploadedFile> storedFiles = new ArrayList<>();
+		storedFiles.add(new UploadedFile(attachment.getOriginalFilename(), attachment.getStoreFilePath(),
+			attachment.getFileSize(), attachment.getContentHash()));
+		for (ImageVariantFile variant : attachment.getImageVariants()) {
+			storedFiles.add(new UploadedFile(attachment.getOriginalFilename(), variant.getStoreFilePath(),
+				variant.getFileSize(), variant.getContentHash()));
+		}
 
-			// GitHub 이미지 URL 감지
-			if (imageUrl.contains("github.com/user-attachments") ||
-				imageUrl.contains("githubusercontent.com") ||
-				imageUrl.contains("github-production-user-asset") ||
-				imageUrl.contains("github.io") && imageUrl.contains("assets")) {
+		postAttachmentRepository.delete(attachment);
+		deleteStoredFilesAfterCommit(storedFiles);
+	}
 
-				log.warn("GitHub 이미지는 직접 액세스할 수 없습니다. 처리를 건너뜁니다: {}", imageUrl);
-				continue; // GitHub 이미지는 건너뛰기
-			}
+	// 트랜잭션 안이면 커밋 후에, 밖이면 바로 참조 해제
+	private void deleteStoredFilesAfterCommit(List<UploadedFile> files) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					deleteStoredFiles(files);
+				}
+			});
+		} else {
+			deleteStoredFiles(files);
+		}
+	}
 
-			if (imageUrl.contains("/api/files/markdown-images/")) {
-				String uniqueIdentifier = imageUrl.substring(imageUrl.lastIndexOf('/') + 1);
-				Optional<PostAttachment> attachment = postAttachmentRepository.findByUniqueIdentifier(uniqueIdentifier);
+	/**
+	 * 조건부 요청 검증 값 (첨부 파일은 업로드 후 바뀌지 않음 -> 첨부 식별자로 강한 ETag)
+	 * - 304 판단에는 DB 조회만 필요하고 스토리지 다운로드/이미지 디코딩은 하지 않음
+	 */
+	public CacheValidatorDto getFileValidator(Long attachmentId) {
+		PostAttachment attachment = postAttachmentRepository.findById(attachmentId)
+			.orElseThrow(() -> new PostAttachmentException(PostAttachmentErrorCode.FILE_NOT_FOUND));
 
-				if (attachment.isPresent()) {
-					PostAttachment existingAttachment = attachment.get();
-					if (!processedAttachments.contains(existingAttachment)) {
-						processedAttachments.add(existingAttachment);
-					}
-				}
-			} else if (imageUrl.startsWith("http://") || imageUrl.startsWith("https://")) {
-				try {
-					byte[] imageData = downloadImageFromUrl(imageUrl);
-					String extension = determineImageExtension(imageUrl);
-					String uniqueIdentifier = UUID.randomUUID().toString();
-
-					BufferedImage bufferedImage = ImageIO.read(new ByteArrayInputStream(imageData));
-					if (bufferedImage == null) {
-						continue;
-					}
+		return toValidator("\"file-" + attachment.getId() + "\"", attachment, true);
+	}
 
-					String contentType = determineContentTypeByFilename("image" + extension);
-					String directory = "markdown";
-					String fileUrl = firebaseStorageService.uploadFile(
-						imageData,
-						uniqueIdentifier + extension,
-						contentType,
-						directory
-					);
-
-					PostAttachment attachment = PostAttachment.builder()
-						.filename(uniqueIdentifier + extension)
-						.originalFilename(altText + extension)
-						.storeFilePath(fileUrl)
-						.fileSize((long)imageData.length)
-						.mentorApplyProposal(isApplyProposal ? applyProposal : null)
-						.mentorEditProposal(isApplyProposal ? null : editProposal)
-						.uniqueIdentifier(uniqueIdentifier)
-						.build();
-
-					PostAttachment savedAttachment = postAttachmentRepository.save(attachment);
-					processedAttachments.add(savedAttachment);
-				} catch (Exception e) {
-					log.error("외부 URL 이미지 처리 실패: {}", e.getMessage());
-				}
-			}
-		}
+	/**
+	 * 요청 크기는 가장 가까운 크기별 파일로 맞추므로 ETag 에는 실제 응답할 파일(너비 또는 원본 o)을 넣음
+	 * - 크기를 요청했는데 크기별 파일이 아직 없어 원본으로 응답하는 경우는 immutable 로 캐시하지 않음
+	 */
+	public CacheValidatorDto getMarkdownImageValidator(String uniqueIdentifier, Integer width, Integer height) {
+		PostAttachment attachment = findMarkdownImage(uniqueIdentifier);
+
+		ImageVariantFile variant = MarkdownImageVariantGenerator.select(attachment, width, height);
+		return toValidator("\"md-" + attachment.getUniqueIdentifier() + "-"
+				+ (variant != null ? variant.getWidth().toString() : "o") + "\"", attachment,
+			isFinalVariant(attachment, variant, width, height));
+	}
 
-		return processedAttachments;
+	// 원본 요청이거나, 크기별 파일 생성이 끝난 뒤 고른 결과면 바뀌지 않음
+	private boolean isFinalVariant(PostAttachment attachment, ImageVariantFile variant, Integer width,
+		Integer height) {
+		return variant != null || (width == null && height == null) || attachment.hasImageVariantsProcessed();
 	}
 
-	private String determineImageExtension(String url) {
-		String lowercaseUrl = url.toLowerCase();
-		if (lowercaseUrl.contains(".gif"))
-			return ".gif";
-		if (lowercaseUrl.contains(".png"))
-			return ".png";
-		if (lowercaseUrl.contains(".jpg") || lowercaseUrl.contains(".jpeg"))
-			return ".jpg";
-		if (lowercaseUrl.contains(".webp"))
-			return ".webp";
-		return ".jpg";
+	private PostAttachment findMarkdownImage(String uniqueIdentifier) {
+		return postAttachmentRepository.findWithImageVariantsByUniqueIdentifier(uniqueIdentifier)
+			.orElseThrow(() -> new PostAttachmentException(PostAttachmentErrorCode.FILE_NOT_FOUND, "이미지를 찾을 수 없습니다."));
 	}
 
-	@Transactional
-	public void deleteFile(Long attachmentId, Long memberId) {
-		PostAttachment attachment = postAttachmentRepository.findById(attachmentId)
-			.orElseThrow(() -> new PostAttachmentException(PostAttachmentErrorCode.FILE_NOT_FOUND));
+	private CacheValidatorDto toValidator(String eTag, PostAttachment attachment, boolean immutable) {
+		LocalDateTime updatedAt = attachment.getModifiedAt() != null ? attachment.getModifiedAt() : attachment.getCreatedAt();
+		long lastModified = updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
 
-		if (!attachment.getMember().getId().equals(memberId)) {
-			throw new PostAttachmentException(PostAttachmentErrorCode.FILE_DELETE_NO_PERMISSION);
+		return CacheValidatorDto.builder()
+			.eTag(eTag)
+			.lastModified(lastModified)
+			.immutable(immutable)
+			.build();
+	}
+
+	/**
+	 * 일반 첨부 파일을 저장소에서 직접 내려받을 URL (302 리다이렉트용)
+	 * - 권한 확인은 호출 전에 끝나 있어야 함, URL 은 짧은 시간만 유효
+	 * - 리다이렉트를 끄거나 저장소가 지원하지 않으면 empty -> openFileStream 으로 직접 스트리밍
+	 */
+	public Optional<String> getDownloadRedirectUrl(Long attachmentId) {
+		if (!downloadRedirect) {
+			return Optional.empty();
 		}
+		PostAttachment attachment = postAttachmentRepository.findById(attachmentId)
+			.orElseThrow(() -> new PostAttachmentException(PostAttachmentErrorCode.FILE_NOT_FOUND));
 
 		try {
-			if (attachment.getStoreFilePath().contains("firebasestorage.googleapis.com")) {
-				firebaseStorageService.deleteFile(attachment.getStoreFilePath());
-			}
-
-			postAttachmentRepository.delete(attachment);
-		} catch (Exception e) {
-			log.error("파일 삭제 중 오류 발생: {}", e.getMessage());
-			throw new PostAttachmentException(PostAttachmentErrorCode.FILE_UPLOAD_ERROR,
-				"파일 삭제 중 오류가 발생했습니다: " + e.getMessage());
+			return blobStore.downloadUrl(attachment.getStoreFilePath(), attachment.getOriginalFilename());
+		} catch (RuntimeException e) {
+			// 서명 실패 시 직접 스트리밍으로 대체
+			log.warn("다운로드 URL 생성 실패, 직접 스트리밍 (attachment={}): {}", attachmentId, e.getMessage());
+			return Optional.empty();
 		}
 	}
 
-	public Map<String, Object> downloadFile(Long attachmentId, Long memberId) {
+	/**
+	 * 일반 첨부 파일 다운로드 (스트리밍)
+	 * - 스토리지 응답을 열어 두기만 하고 본문은 컨트롤러가 응답으로 바로 복사 (힙에 파일 전체를 올리지 않음)
+	 * - Range 요청은 스토리지로 그대로 전달하고 206 / Content-Range 를 그대로 돌려줌
+	 */
+	public FileStreamResponse openFileStream(Long attachmentId, String range) {
 		PostAttachment attachment = postAttachmentRepository.findById(attachmentId)
 			.orElseThrow(() -> new PostAttachmentException(PostAttachmentErrorCode.FILE_NOT_FOUND));
 
+		BlobStream blob = openBlob(attachment.getStoreFilePath(), range);
 		try {
-			URL url = new URL(attachment.getStoreFilePath());
-			HttpURLConnection connection = (HttpURLConnection)url.openConnection();
-			connection.setRequestMethod("GET");
-			connection.setRequestProperty("User-Agent", "Mozilla/5.0");
-			connection.setConnectTimeout(10000);
-			connection.setReadTimeout(10000);
-
-			int responseCode = connection.getResponseCode();
-			if (responseCode != HttpURLConnection.HTTP_OK) {
-				throw new PostAttachmentException(PostAttachmentErrorCode.FILE_READ_ERROR,
-					"파일에 접근할 수 없습니다. 응답 코드: " + responseCode);
-			}
-
-			String contentType = connection.getContentType();
+			String contentType = blob.getContentType();
 			if (contentType == null) {
 				contentType = determineContentTypeByFilename(attachment.getOriginalFilename());
 			}
 
-			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
-			try (InputStream inputStream = connection.getInputStream()) {
-				byte[] buffer = new byte[8192];
-				int bytesRead;
-				while ((bytesRead = inputStream.read(buffer)) != -1) {
-					outputStream.write(buffer, 0, bytesRead);
-				}
-			}
-
-			final byte[] fileData = outputStream.toByteArray();
-			outputStream.close();
-
-			ByteArrayResource resource = new ByteArrayResource(fileData) {
-				@Override
-				public String getFilename() {
-					return attachment.getOriginalFilename();
-				}
-			};
-
-			Map<String, Object> fileInfo = new HashMap<>();
-			fileInfo.put("resource", resource);
-			fileInfo.put("contentType", contentType);
-			fileInfo.put("fileName", attachment.getOriginalFilename());
+			return FileStreamResponse.builder()
+				.status(blob.getStatus())
+				.contentType(contentType)
+				.contentLength(blob.getContentLength())
+				.contentRange(blob.getContentRange())
+				.fileName(attachment.getOriginalFilename())
+				.blob(blob)
+				.build();
+		} catch (RuntimeException e) {
+			closeQuietly(blob, e);
+			throw e;
+		}
+	}
 
-			return fileInfo;
-		} catch (IOException e) {
+	// 저장소 응답 코드를 첨부 파일 오류로 변환 (읽을 수 있는 경우에만 반환)
+	private BlobStream openBlob(String storeFilePath, String range) {
+		BlobStream blob;
+		try {
+			blob = blobStore.openFile(storeFilePath, range);
+		} catch (RuntimeException e) {
 			log.error("파일 다운로드 중 오류 발생: {}", e.getMessage());
 			throw new PostAttachmentException(PostAttachmentErrorCode.FILE_READ_ERROR,
 				"파일 다운로드 중 오류가 발생했습니다: " + e.getMessage());
 		}
+
+		// 읽을 수 없는 응답이면 본문을 넘기지 않으므로 여기서 닫음
+		PostAttachmentException error = null;
+		if (blob.getStatus() == 416) {
+			error = new PostAttachmentException(PostAttachmentErrorCode.INVALID_RANGE);
+		} else if (!blob.isReadable()) {
+			error = new PostAttachmentException(PostAttachmentErrorCode.FILE_READ_ERROR,
+				"파일에 접근할 수 없습니다. 응답 코드: " + blob.getStatus());
+		}
+		if (error != null) {
+			closeQuietly(blob, error);
+			throw error;
+		}
+		return blob;
 	}
 
+	// 저장소 자원을 닫다가 실패하면 원래 예외에 덧붙임
+	private static void closeQuietly(Closeable resource, Exception cause) {
+		try {
+			resource.close();
+		} catch (IOException | RuntimeException e) {
+			cause.addSuppressed(e);
+		}
+	}
+
+	/**
+	 * 마크다운 이미지 응답
+	 * - 요청 크기와 가장 가까운 크기별 파일(없으면 원본)을 그대로 응답 - 조회 시 이미지 디코딩/리사이즈 없음
+	 * - 크기별 파일이 아직 없으면 생성을 요청 (예전에 올린 이미지 포함)
+	 */
 	public Map<String, Object> downloadMarkdownImage(String uniqueIdentifier, Integer width, Integer height) {
-		PostAttachment attachment = postAttachmentRepository.findByUniqueIdentifier(uniqueIdentifier)
-			.orElseThrow(() -> new PostAttachmentException(PostAttachmentErrorCode.FILE_NOT_FOUND, "이미지를 찾을 수 없습니다."));
+		PostAttachment attachment = findMarkdownImage(uniqueIdentifier);
+		if (!attachment.hasImageVariantsProcessed()) {
+			markdownImageVariantGenerator.request(attachment.getId());
+		}
 
+		ImageVariantFile selected = MarkdownImageVariantGenerator.select(attachment, width, height);
+		String storeFilePath = selected != null ? selected.getStoreFilePath() : attachment.getStoreFilePath();
+
+		// 같은 파일 요청은 캐시에서 응답 (스토리지 다운로드 생략)
+		VariantKey key = new VariantKey(uniqueIdentifier, selected != null ? selected.getWidth() : null, null,
+			getFormatName(determineContentTypeByFilename(attachment.getOriginalFilename())));
+		ImageVariant variant = markdownImageVariantCache.get(key).orElseGet(() -> {
+			ImageVariant loaded = loadMarkdownImage(attachment, storeFilePath);
+			markdownImageVariantCache.put(key, loaded);
+			return loaded;
+		});
+
+		ByteArrayResource resource = new ByteArrayResource(variant.data()) {
+			@Override
+			public String getFilename() {
+				return attachment.getOriginalFilename() != null ?
+					attachment.getOriginalFilename() : "image.jpg";
+			}
+		};
+
+		Map<String, Object> imageInfo = new HashMap<>();
+		imageInfo.put("resource", resource);
+		imageInfo.put("contentType", variant.contentType());
+		imageInfo.put("fileName", attachment.getOriginalFilename());
+		imageInfo.put("immutable", isFinalVariant(attachment, selected, width, height));
+
+		return imageInfo;
+	}
+
+	private ImageVariant loadMarkdownImage(PostAttachment attachment, String storedPath) {
 		try {
 			byte[] imageBytes;
 			String contentType;
-			String storedPath = attachment.getStoreFilePath();
-			boolean isValidImage = false;
 
 			if (storedPath.startsWith("data:")) {
 				String[] parts = storedPath.split(",");
@@ -435,73 +461,28 @@ public class PostAttachmentService {
 
 				contentType = metadataPart.substring(metadataPart.indexOf(":") + 1, metadataPart.indexOf(";"));
 				imageBytes = Base64.getDecoder().decode(base64Data);
-				isValidImage = false;
 			} else {
-				URL url = new URL(storedPath);
-				HttpURLConnection connection = (HttpURLConnection)url.openConnection();
-				connection.setRequestMethod("GET");
-				connection.setRequestProperty("User-Agent", "Mozilla/5.0");
-				connection.setConnectTimeout(10000);
-				connection.setReadTimeout(10000);
-
-				int responseCode = connection.getResponseCode();
-				if (responseCode != HttpURLConnection.HTTP_OK) {
-					throw new PostAttachmentException(PostAttachmentErrorCode.FILE_READ_ERROR,
-						"이미지에 접근할 수 없습니다. 응답 코드: " + responseCode);
-				}
+				BlobStream blob = openBlob(storedPath, null);
 
-				contentType = connection.getContentType();
+				contentType = blob.getContentType();
 				if (contentType == null) {
 					contentType = determineContentTypeByFilename(attachment.getOriginalFilename());
 				}
 
 				ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-				try (InputStream inputStream = connection.getInputStream()) {
-					byte[] buffer = new byte[8192];
-					int bytesRead;
-					while ((bytesRead = inputStream.read(buffer)) != -1) {
-						outputStream.write(buffer, 0, bytesRead);
-					}
-				}
-				byte[] responseData = outputStream.toByteArray();
+				blob.transferTo(outputStream);
+				imageBytes = outputStream.toByteArray();
 
-				if (contentType != null && contentType.contains("application/json")) {
-					imageBytes = extractImageFromJson(responseData);
-					if (imageBytes != null) {
+				if (contentType.contains("application/json")) {
+					byte[] extracted = extractImageFromJson(imageBytes);
+					if (extracted != null) {
+						imageBytes = extracted;
 						contentType = "text/plain";
-						isValidImage = false;
-					} else {
-						imageBytes = responseData;
-						isValidImage = validateImage(imageBytes);
 					}
-				} else {
-					imageBytes = responseData;
-					isValidImage = validateImage(imageBytes);
 				}
 			}
 
-			if (isValidImage && width != null && height != null && imageBytes.length > 300) {
-				try {
-					imageBytes = resizeImage(imageBytes, width, height, contentType);
-				} catch (Exception e) {
-					// 리사이징 실패 시 원본 이미지 사용
-				}
-			}
-
-			ByteArrayResource resource = new ByteArrayResource(imageBytes) {
-				@Override
-				public String getFilename() {
-					return attachment.getOriginalFilename() != null ?
-						attachment.getOriginalFilename() : "image.jpg";
-				}
-			};
-
-			Map<String, Object> imageInfo = new HashMap<>();
-			imageInfo.put("resource", resource);
-			imageInfo.put("contentType", contentType);
-			imageInfo.put("fileName", attachment.getOriginalFilename());
-
-			return imageInfo;
+			return new ImageVariant(imageBytes, contentType);
 		} catch (Exception e) {
 			log.error("이미지 다운로드 중 오류 발생: {}", e.getMessage());
 			throw new PostAttachmentException(PostAttachmentErrorCode.FILE_READ_ERROR,
@@ -509,45 +490,6 @@ public class PostAttachmentService {
 		}
 	}
 
-	private byte[] downloadImageFromUrl(String imageUrl) throws IOException {
-		URL url = new URL(imageUrl);
-		HttpURLConnection connection = (HttpURLConnection)url.openConnection();
-
-		connection.setRequestProperty("User-Agent",
-			"Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36");
-		connection.setRequestProperty("Accept", "image/avif,image/webp,image/apng,image/svg+xml,image/*,*/*;q=0.8");
-		connection.setRequestProperty("Accept-Language", "en-US,en;q=0.9");
-
-		connection.setInstanceFollowRedirects(true);
-		HttpURLConnection.setFollowRedirects(true);
-
-		int responseCode = connection.getResponseCode();
-
-		if (responseCode == HttpURLConnection.HTTP_MOVED_PERM ||
-			responseCode == HttpURLConnection.HTTP_MOVED_TEMP ||
-			responseCode == HttpURLConnection.HTTP_SEE_OTHER) {
-			String redirectUrl = connection.getHeaderField("Location");
-			connection = (HttpURLConnection)new URL(redirectUrl).openConnection();
-			connection.setRequestProperty("User-Agent",
-				"Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36");
-			responseCode = connection.getResponseCode();
-		}
-
-		if (responseCode != HttpURLConnection.HTTP_OK) {
-			throw new IOException("Failed to download image. Response Code: " + responseCode);
-		}
-
-		try (InputStream inputStream = connection.getInputStream();
-			 ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-			byte[] buffer = new byte[4096];
-			int bytesRead;
-			while ((bytesRead = inputStream.read(buffer)) != -1) {
-				outputStream.write(buffer, 0, bytesRead);
-			}
-			return outputStream.toByteArray();
-		}
-	}
-
 	private byte[] extractImageFromJson(byte[] jsonData) {
 		try {
 			String jsonContent = new String(jsonData, StandardCharsets.UTF_8).trim();
@@ -565,43 +507,6 @@ public class PostAttachmentService {
 		return null;
 	}
 
-	private boolean validateImage(byte[] imageData) {
-		if (imageData == null || imageData.length == 0) {
-			return false;
-		}
-
-		try {
-			ByteArrayInputStream bis = new ByteArrayInputStream(imageData);
-			BufferedImage image = ImageIO.read(bis);
-			return image != null;
-		} catch (Exception e) {
-			return false;
-		}
-	}
-
-	private byte[] resizeImage(byte[] imageData, int width, int height, String contentType) throws IOException {
-		ByteArrayInputStream bis = new ByteArrayInputStream(imageData);
-		BufferedImage originalImage = ImageIO.read(bis);
-
-		if (originalImage == null) {
-			throw new IOException("이미지 데이터를 읽을 수 없습니다");
-		}
-
-		BufferedImage resizedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-		Graphics2D g = resizedImage.createGraphics();
-
-		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-		g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-		g.drawImage(originalImage, 0, 0, width, height, null);
-		g.dispose();
-
-		ByteArrayOutputStream bos = new ByteArrayOutputStream();
-		String formatName = getFormatName(contentType);
-		ImageIO.write(resizedImage, formatName, bos);
-
-		return bos.toByteArray();
-	}
-
 	private String getFormatName(String contentType) {
 		if (contentType == null)
 			return "jpeg";
@@ -0,0 +1,224 @@
+package com.dementor.domain.postattachment.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.dementor.domain.postattachment.entity.StoredBlob;
+import com.dementor.domain.postattachment.exception.PostAttachmentErrorCode;
+import com.dementor.domain.postattachment.exception.PostAttachmentException;
+import com.dementor.domain.postattachment.repository.StoredBlobRepository;
+import com.dementor.global.storage.BlobStore;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 첨부 파일 스토리지 업로드 단계 (DB 트랜잭션 밖에서 호출)
+ * - 여러 파일을 병렬로 업로드, 동시 업로드 수는 전체 노드 기준 file.upload.concurrency 로 제한
+ * - 하나라도 실패하면 나머지 업로드가 끝나길 기다렸다가 성공한 파일을 삭제(보상)하고 예외
+ * - DB 저장이 실패한 경우에도 호출자가 discard 로 업로드한 파일을 삭제
+ * - 내용(SHA-256)이 같은 파일이 이미 저장돼 있으면 업로드하지 않고 그 파일을 참조 (StoredBlob 참조 수 +1)
+ *   삭제(discard/release)는 참조 수를 줄이고 마지막 참조일 때만 저장소에서 삭제
+ * - 참조 수 변경은 항상 별도 트랜잭션(REQUIRES_NEW)으로 커밋 - 호출자 트랜잭션에 섞이지 않아
+ *   저장소 파일은 참조 수 변경이 커밋된 뒤에만 삭제되고, 커밋 후 콜백(afterCommit) 안에서도 호출 가능
+ */
+@Slf4j
+@Component
+public class PostAttachmentUploader {
+
+	private static final int HASH_BUFFER_SIZE = 8192;
+
+	private final BlobStore blobStore;
+	private final StoredBlobRepository storedBlobRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final ExecutorService executor;
+
+	public PostAttachmentUploader(
+		BlobStore blobStore,
+		StoredBlobRepository storedBlobRepository,
+		TransactionTemplate transactionTemplate,
+		@Value("${file.upload.concurrency}") int concurrency
+	) {
+		this.blobStore = blobStore;
+		this.storedBlobRepository = storedBlobRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		AtomicInteger sequence = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+			Thread thread = new Thread(runnable, "attachment-upload-" + sequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	// 스토리지에 올라간 파일 (DB 저장 전), contentHash 가 null 이면 참조 수 관리 대상이 아님 (예전 첨부)
+	public record UploadedFile(String originalFilename, String storeFilePath, long fileSize, String contentHash) {
+	}
+
+	public List<UploadedFile> uploadAll(List<MultipartFile> files, String directory) {
+		List<CompletableFuture<UploadedFile>> futures = files.stream()
+			.map(file -> CompletableFuture.supplyAsync(() -> upload(file, directory), executor))
+			.toList();
+
+		List<UploadedFile> uploaded = new ArrayList<>(files.size());
+		Throwable failure = null;
+		for (CompletableFuture<UploadedFile> future : futures) {
+			try {
+				uploaded.add(future.join());
+			} catch (CompletionException e) {
+				failure = failure != null ? failure : e.getCause();
+			}
+		}
+
+		if (failure != null) {
+			log.error("파일 업로드 실패, 업로드된 {}개 파일 삭제: {}", uploaded.size(), failure.getMessage());
+			discard(uploaded);
+			throw new PostAttachmentException(PostAttachmentErrorCode.FILE_UPLOAD_ERROR,
+				"파일 저장 중 오류가 발생했습니다: " + failure.getMessage());
+		}
+		return uploaded;
+	}
+
+	// 이미 메모리에 있는 데이터 업로드 (외부 이미지 수집 등, 호출 스레드에서 실행)
+	public UploadedFile upload(byte[] data, String originalFilename, String contentType, String directory) {
+		MessageDigest digest = sha256();
+		digest.update(data);
+		String contentHash = HexFormat.of().formatHex(digest.digest());
+		return store(contentHash, data.length, originalFilename,
+			() -> blobStore.uploadFile(data, originalFilename, contentType, directory));
+	}
+
+	// 보상 삭제 - 실패해도 나머지 파일은 계속 삭제
+	public void discard(List<UploadedFile> uploaded) {
+		for (UploadedFile file : uploaded) {
+			try {
+				release(file.contentHash(), file.storeFilePath());
+			} catch (Exception e) {
+				log.warn("업로드 취소 파일 삭제 실패 ({}): {}", file.storeFilePath(), e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * 참조 1개 해제 - 마지막 참조였으면 저장소에서 삭제
+	 * - 참조 수 관리 대상이 아닌 파일(contentHash 없음)은 바로 삭제
+	 * - 첨부 레코드 삭제와 같이 쓰는 경우 호출자는 그 트랜잭션이 커밋된 뒤에 호출 (롤백되면 파일이 남아 있어야 함)
+	 */
+	public void release(String contentHash, String storeFilePath) {
+		if (contentHash == null) {
+			blobStore.deleteFile(storeFilePath);
+			return;
+		}
+
+		String unreferencedPath = transactionTemplate.execute(status -> {
+			Optional<StoredBlob> blob = storedBlobRepository.findByContentHash(contentHash);
+			if (blob.isEmpty() || storedBlobRepository.release(contentHash) == 0) {
+				return null;
+			}
+			return storedBlobRepository.deleteIfUnreferenced(contentHash) == 1 ? blob.get().getStoreFilePath() : null;
+		});
+
+		// 레코드 삭제가 커밋된 뒤에 저장소 파일 삭제 (그 사이 같은 내용이 올라오면 새 파일로 저장됨)
+		if (unreferencedPath != null) {
+			blobStore.deleteFile(unreferencedPath);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	private UploadedFile upload(MultipartFile file, String directory) {
+		String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
+		String contentHash = hash(file);
+		return store(contentHash, file.getSize(), originalFilename, () -> blobStore.uploadFile(file, directory));
+	}
+
+	private UploadedFile store(String contentHash, long fileSize, String originalFilename, BlobUpload upload) {
+		// 같은 내용이 이미 있으면 업로드 생략
+		Optional<UploadedFile> existing = acquire(contentHash, originalFilename);
+		if (existing.isPresent()) {
+			return existing.get();
+		}
+
+		String storeFilePath = upload.upload();
+		try {
+			transactionTemplate.executeWithoutResult(status -> storedBlobRepository.saveAndFlush(StoredBlob.builder()
+				.contentHash(contentHash)
+				.storeFilePath(storeFilePath)
+				.fileSize(fileSize)
+				.refCount(1)
+				.build()));
+			return new UploadedFile(originalFilename, storeFilePath, fileSize, contentHash);
+		} catch (DataIntegrityViolationException e) {
+			// 같은 내용을 다른 요청이 동시에 먼저 저장함 -> 내 파일은 지우고 그 파일을 참조
+			blobStore.deleteFile(storeFilePath);
+			return acquire(contentHash, originalFilename)
+				.orElseThrow(() -> new PostAttachmentException(PostAttachmentErrorCode.FILE_UPLOAD_ERROR,
+					"파일 저장 중 오류가 발생했습니다: 중복 파일 처리 실패"));
+		}
+	}
+
+	private Optional<UploadedFile> acquire(String contentHash, String originalFilename) {
+		return transactionTemplate.execute(status -> {
+			if (storedBlobRepository.acquire(contentHash) == 0) {
+				return Optional.<UploadedFile>empty();
+			}
+			return storedBlobRepository.findByContentHash(contentHash)
+				.map(blob -> {
+					log.info("같은 내용의 파일이 있어 업로드 생략: {}", blob.getStoreFilePath());
+					return new UploadedFile(originalFilename, blob.getStoreFilePath(), blob.getFileSize(),
+						contentHash);
+				});
+		});
+	}
+
+	// 멀티파트 임시 파일을 고정 크기 버퍼로 읽으며 해시 계산 (파일 전체를 메모리에 올리지 않음)
+	private String hash(MultipartFile file) {
+		MessageDigest digest = sha256();
+		try (InputStream in = file.getInputStream()) {
+			byte[] buffer = new byte[HASH_BUFFER_SIZE];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		} catch (IOException e) {
+			throw new PostAttachmentException(PostAttachmentErrorCode.FILE_UPLOAD_ERROR,
+				"파일을 읽을 수 없습니다: " + e.getMessage());
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@FunctionalInterface
+	private interface BlobUpload {
+		String upload();
+	}
+}
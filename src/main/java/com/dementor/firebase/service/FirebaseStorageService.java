@@ -4,17 +4,29 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.UriUtils;
 
+import com.dementor.global.storage.BlobStore;
+import com.dementor.global.storage.BlobStream;
+import com.dementor.global.storage.SignedUrlCache;
 import com.google.auth.oauth2.GoogleCredentials;
-import com.google.cloud.storage.Blob;
+import com.google.cloud.WriteChannel;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
@@ -23,11 +35,22 @@ import com.google.firebase.FirebaseOptions;
 import com.google.firebase.cloud.StorageClient;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Firebase Storage 저장소
+ * - DB 에는 서명된 URL 대신 객체 경로(firebase:{directory}/{filename})를 저장하고, URL 은 필요할 때 서명
+ * - 서명된 URL 은 SignedUrlCache 로 재사용 (URL 만료보다 짧게 보관, 자주 쓰는 URL 은 백그라운드에서 미리 갱신)
+ * - 예전 첨부(서명된 URL 이 저장된 경우)는 URL 에서 객체 경로를 꺼내 새로 서명 -> 저장된 URL 이 만료돼도 읽기/삭제 가능
+ */
 @Slf4j
 @Service
-public class FirebaseStorageService {
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "firebase", matchIfMissing = true)
+public class FirebaseStorageService implements BlobStore {
+
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+	private static final String PATH_PREFIX = "firebase:";
 
 	@Value("${firebase.config.path}")
 	private String firebaseConfigPath;
@@ -35,11 +58,35 @@ public class FirebaseStorageService {
 	@Value("${firebase.storage.bucket}")
 	private String storageBucket;
 
-	@Value("${firebase.storage.url-expiry}")
-	private Long urlExpiry;
+	// 서명된 URL 유효 시간 / 캐시 보관 시간 (보관 시간 < 유효 시간)
+	@Value("${firebase.storage.signed-url.expiry-minutes}")
+	private long signedUrlExpiryMinutes;
+
+	@Value("${firebase.storage.signed-url.cache-ttl-minutes}")
+	private long signedUrlCacheTtlMinutes;
+
+	@Value("${firebase.storage.signed-url.refresh-interval-seconds}")
+	private long signedUrlRefreshIntervalSeconds;
+
+	@Value("${firebase.storage.signed-url.max-entries}")
+	private int signedUrlMaxEntries;
+
+	// 재개 가능(resumable) 업로드 1회 전송 크기 = WriteChannel 이 잡는 버퍼 크기 (256KB 배수로 올림)
+	@Value("${file.upload.chunk-size}")
+	private int uploadChunkSize;
+
+	private SignedUrlCache signedUrlCache;
 
 	@PostConstruct
 	public void initialize() {
+		signedUrlCache = new SignedUrlCache(this::signUrl,
+			TimeUnit.MINUTES.toMillis(signedUrlExpiryMinutes),
+			TimeUnit.MINUTES.toMillis(signedUrlCacheTtlMinutes),
+			TimeUnit.SECONDS.toMillis(signedUrlRefreshIntervalSeconds),
+			signedUrlMaxEntries,
+			System::currentTimeMillis);
+		signedUrlCache.start();
+
 		try {
 			log.info("Firebase 초기화 시작. 설정 파일 경로: {}", firebaseConfigPath);
 			FirebaseOptions options;
@@ -97,75 +144,79 @@ public class FirebaseStorageService {
 		}
 	}
 
-	// MultipartFile 업로드
+	/**
+	 * MultipartFile 업로드
+	 * - 파일 전체를 byte[] 로 읽지 않고 멀티파트 임시 파일에서 chunk-size 단위로 읽어 재개 가능 업로드로 전송
+	 * - 업로드 1건의 메모리 사용량은 파일 크기와 무관하게 chunk-size 정도
+	 */
+	@Override
 	public String uploadFile(MultipartFile file, String directory) {
 		try {
-			return uploadFile(file.getBytes(), file.getOriginalFilename(), file.getContentType(), directory);
-		} catch (IOException e) {
-			log.error("파일 업로드 실패", e);
+			String contentType = file.getContentType();
+			BlobInfo blobInfo = toBlobInfo(BlobStore.generateFilename(file.getOriginalFilename(), contentType),
+				contentType, directory);
+
+			Storage storage = StorageClient.getInstance().bucket().getStorage();
+			try (InputStream in = file.getInputStream();
+				 ReadableByteChannel source = Channels.newChannel(in);
+				 WriteChannel writer = storage.writer(blobInfo)) {
+				writer.setChunkSize(uploadChunkSize);
+				ByteBuffer buffer = ByteBuffer.allocate(Math.min(uploadChunkSize, READ_BUFFER_SIZE));
+				while (source.read(buffer) >= 0) {
+					buffer.flip();
+					while (buffer.hasRemaining()) {
+						writer.write(buffer);
+					}
+					buffer.clear();
+				}
+			}
+
+			log.info("Firebase에 파일 업로드 완료: {}", blobInfo.getName());
+			return PATH_PREFIX + blobInfo.getName();
+		} catch (Exception e) {
+			log.error("Firebase Storage 파일 업로드 실패", e);
 			throw new RuntimeException("파일 업로드 실패: " + e.getMessage());
 		}
 	}
 
 	// 바이트 배열 업로드 (Base64 이미지 등)
+	@Override
 	public String uploadFile(byte[] fileData, String originalFilename, String contentType, String directory) {
 		try {
-			// 파일명 생성 (UUID + 원본 파일명)
-			String filename = UUID.randomUUID().toString();
-			if (originalFilename != null && !originalFilename.isEmpty()) {
-				// 확장자 추출
-				int lastDotIndex = originalFilename.lastIndexOf(".");
-				if (lastDotIndex > 0) {
-					filename += originalFilename.substring(lastDotIndex);
-				}
-			} else {
-				// 컨텐츠 타입에 따른 확장자 추가
-				if (contentType != null) {
-					if (contentType.equals("image/png"))
-						filename += ".png";
-					else if (contentType.equals("image/jpeg"))
-						filename += ".jpg";
-					else if (contentType.equals("image/gif"))
-						filename += ".gif";
-					else if (contentType.equals("application/pdf"))
-						filename += ".pdf";
-					else if (contentType.equals("text/plain"))
-						filename += ".txt";
-					else
-						filename += ".bin";
-				}
-			}
-
-			// 저장 경로
-			String fullPath = directory + "/" + filename;
-
-			// Firebase Storage에 업로드
-			BlobId blobId = BlobId.of(storageBucket, fullPath);
-			BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
-				.setContentType(contentType)
-				.build();
+			// 파일명 생성 (UUID + 원본 확장자)
+			BlobInfo blobInfo = toBlobInfo(BlobStore.generateFilename(originalFilename, contentType), contentType,
+				directory);
 
+			// Firebase Storage에 업로드 (이미 메모리에 있는 작은 데이터 - 한 번에 전송)
 			Storage storage = StorageClient.getInstance().bucket().getStorage();
-			Blob blob = storage.create(blobInfo, fileData);
+			storage.create(blobInfo, fileData);
 
-			// 서명된 URL 생성
-			String downloadUrl = blob.signUrl(urlExpiry, TimeUnit.DAYS).toString();
-			log.info("Firebase에 파일 업로드 완료: {}", fullPath);
-
-			return downloadUrl;
+			log.info("Firebase에 파일 업로드 완료: {}", blobInfo.getName());
+			return PATH_PREFIX + blobInfo.getName();
 		} catch (Exception e) {
 			log.error("Firebase Storage 파일 업로드 실패", e);
 			throw new RuntimeException("파일 업로드 실패: " + e.getMessage());
 		}
 	}
 
+	private BlobInfo toBlobInfo(String filename, String contentType, String directory) {
+		return BlobInfo.newBuilder(BlobId.of(storageBucket, directory + "/" + filename))
+			.setContentType(contentType)
+			.build();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		signedUrlCache.stop();
+	}
+
 	// 파일 삭제
-	public void deleteFile(String fileUrl) {
+	@Override
+	public void deleteFile(String storeFilePath) {
 		try {
-			// URL에서 파일 경로 추출
-			String filePath = extractPathFromUrl(fileUrl);
+			String filePath = objectName(storeFilePath);
 			if (filePath == null) {
-				log.warn("삭제할 파일 경로를 찾을 수 없음: {}", fileUrl);
+				log.warn("삭제할 파일 경로를 찾을 수 없음: {}", storeFilePath);
 				return;
 			}
 
@@ -185,7 +236,95 @@ public class FirebaseStorageService {
 		}
 	}
 
-	// URL에서 파일 경로 추출
+	/**
+	 * 서명된 URL 로 파일 읽기
+	 * - Range 요청은 스토리지로 그대로 전달하고 206 / Content-Range 를 그대로 돌려줌
+	 * - 이 버킷의 객체가 아닌 URL 은 그대로 요청
+	 */
+	@Override
+	public BlobStream openFile(String storeFilePath, String range) {
+		String filePath = objectName(storeFilePath);
+		String fileUrl = filePath != null ? signedUrlCache.get(new SignedUrlCache.Key(filePath, null)) : storeFilePath;
+
+		HttpURLConnection connection = null;
+		try {
+			connection = (HttpURLConnection)new URL(fileUrl).openConnection();
+			connection.setRequestMethod("GET");
+			connection.setRequestProperty("User-Agent", "Mozilla/5.0");
+			connection.setConnectTimeout(10000);
+			connection.setReadTimeout(10000);
+			if (range != null && range.startsWith("bytes=")) {
+				connection.setRequestProperty("Range", range);
+			}
+
+			int responseCode = connection.getResponseCode();
+			if (responseCode != HttpURLConnection.HTTP_OK && responseCode != HttpURLConnection.HTTP_PARTIAL) {
+				connection.disconnect();
+				return BlobStream.builder().status(responseCode).contentLength(-1).build();
+			}
+
+			InputStream body = connection.getInputStream();
+			HttpURLConnection opened = connection;
+			return BlobStream.builder()
+				.status(responseCode)
+				.contentType(connection.getContentType())
+				.contentLength(connection.getContentLengthLong())
+				.contentRange(connection.getHeaderField("Content-Range"))
+				.body(body::transferTo)
+				.resource(() -> {
+					// 클라이언트 연결이 끊겨 복사가 실패해도 스토리지 연결은 반드시 해제
+					try {
+						body.close();
+					} finally {
+						opened.disconnect();
+					}
+				})
+				.build();
+		} catch (IOException e) {
+			if (connection != null) {
+				connection.disconnect();
+			}
+			log.error("Firebase Storage 파일 읽기 실패: {}", e.getMessage());
+			throw new RuntimeException("파일 읽기 실패: " + e.getMessage(), e);
+		}
+	}
+
+	// 다운로드 리다이렉트용 URL (캐시된 서명 URL, 받는 파일명은 response-content-disposition 으로 지정)
+	@Override
+	public Optional<String> downloadUrl(String storeFilePath, String downloadFilename) {
+		String filePath = objectName(storeFilePath);
+		if (filePath == null) {
+			return Optional.empty();
+		}
+		return Optional.of(signedUrlCache.get(new SignedUrlCache.Key(filePath, downloadFilename)));
+	}
+
+	private String signUrl(SignedUrlCache.Key key) {
+		BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(storageBucket, key.objectName())).build();
+		Storage storage = StorageClient.getInstance().bucket().getStorage();
+		if (key.downloadFilename() == null) {
+			return storage.signUrl(blobInfo, signedUrlExpiryMinutes, TimeUnit.MINUTES,
+				Storage.SignUrlOption.withV4Signature()).toString();
+		}
+		String disposition = "attachment; filename*=UTF-8''"
+			+ UriUtils.encode(key.downloadFilename(), StandardCharsets.UTF_8);
+		return storage.signUrl(blobInfo, signedUrlExpiryMinutes, TimeUnit.MINUTES,
+			Storage.SignUrlOption.withV4Signature(),
+			Storage.SignUrlOption.withQueryParams(Map.of("response-content-disposition", disposition))).toString();
+	}
+
+	// 저장 경로 -> 버킷 안의 객체 경로 (이 버킷의 객체가 아니면 null)
+	private String objectName(String storeFilePath) {
+		if (storeFilePath == null) {
+			return null;
+		}
+		if (storeFilePath.startsWith(PATH_PREFIX)) {
+			return storeFilePath.substring(PATH_PREFIX.length());
+		}
+		return extractPathFromUrl(storeFilePath);
+	}
+
+	// URL에서 파일 경로 추출 (예전 첨부에 저장된 서명된 URL)
 	private String extractPathFromUrl(String fileUrl) {
 		if (fileUrl == null || !fileUrl.contains(storageBucket)) {
 			return null;
@@ -201,6 +340,14 @@ public class FirebaseStorageService {
 				// URL 디코딩
 				return java.net.URLDecoder.decode(encodedPath, "UTF-8");
 			}
+
+			// 서명된 URL 형식 (uploadFile 반환값): https://storage.googleapis.com/BUCKET/PATH?X-Goog-...
+			int bucketStart = fileUrl.indexOf("/" + storageBucket + "/");
+			if (bucketStart >= 0) {
+				int signedPathStart = bucketStart + storageBucket.length() + 2;
+				int signedPathEnd = pathEnd > signedPathStart ? pathEnd : fileUrl.length();
+				return java.net.URLDecoder.decode(fileUrl.substring(signedPathStart, signedPathEnd), "UTF-8");
+			}
 			return null;
 		} catch (Exception e) {
 			log.error("URL에서 파일 경로 추출 실패", e);
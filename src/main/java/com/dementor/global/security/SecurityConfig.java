@@ -59,6 +59,7 @@ public class SecurityConfig {
 
                         .requestMatchers("/api/members/info").hasAnyRole("MENTOR", "MENTEE")
                         .requestMatchers("/api/members/logout").authenticated()
+                        .requestMatchers("/api/members/sessions", "/api/members/sessions/**").authenticated()
 
                         //내 정보, 로그아웃 제외 허용
                         .requestMatchers("/api/members/**").permitAll()
@@ -1,9 +1,13 @@
 package com.dementor.global.security.cookie;
 
+import java.util.Arrays;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseCookie;
 import org.springframework.stereotype.Component;
 
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.Getter;
 
 @Component
@@ -75,4 +79,16 @@ public class CookieUtil {
 			.sameSite("Lax")
 			.build();
 	}
+
+	// 요청 쿠키의 리프레시 토큰, 없으면 null
+	public String getRefreshToken(HttpServletRequest request) {
+		if (request.getCookies() == null) {
+			return null;
+		}
+		return Arrays.stream(request.getCookies())
+			.filter(cookie -> refreshCookieName.equals(cookie.getName()))
+			.map(Cookie::getValue)
+			.findFirst()
+			.orElse(null);
+	}
 }
@@ -14,6 +14,8 @@ import com.dementor.global.security.cookie.CookieUtil;
 import com.dementor.global.security.jwt.dto.TokenDto;
 import com.dementor.global.security.jwt.service.TokenService;
 
+import io.jsonwebtoken.Claims;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -42,8 +44,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 		if (request.getRequestURI().equals("/api/admin/refresh") || request.getRequestURI()
 			.equals("/api/member/refresh")) {
 			String refreshToken = resolveRefreshToken(request);
-			if (StringUtils.hasText(refreshToken) && jwtTokenProvider.validateRefreshToken(refreshToken)) {
-				Authentication auth = jwtTokenProvider.getRefreshAuthentication(refreshToken);
+			Optional<Claims> refreshClaims = StringUtils.hasText(refreshToken) ?
+				jwtTokenProvider.parseRefreshToken(refreshToken) : Optional.empty();
+			if (refreshClaims.isPresent() && jwtTokenProvider.validateRefreshToken(refreshClaims.get(), refreshToken)) {
+				Authentication auth = jwtTokenProvider.getRefreshAuthentication(refreshClaims.get(), refreshToken);
 				SecurityContextHolder.getContext().setAuthentication(auth);
 			}
 			filterChain.doFilter(request, response);
@@ -52,21 +56,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 		String accessToken = resolveAccessToken(request);
 
-		// 일반 엔드포인트는 액세스 토큰 검증
+		// 일반 엔드포인트는 액세스 토큰 검증 (같은 토큰은 만료까지 캐시된 인증 정보 사용)
 		if (StringUtils.hasText(accessToken)) {
-			if (jwtTokenProvider.validateAccessToken(accessToken)) {
-				Authentication auth = jwtTokenProvider.getAuthentication(accessToken);
-				System.out.println("Authorities: " + auth.getAuthorities());
-				SecurityContextHolder.getContext().setAuthentication(auth);
+			Optional<Authentication> accessAuth = jwtTokenProvider.authenticateAccessToken(accessToken);
+			if (accessAuth.isPresent()) {
+				SecurityContextHolder.getContext().setAuthentication(accessAuth.get());
 			} else {
 				// 액세스 토큰이 만료된 경우 리프레시 토큰으로 갱신 시도
 				String refreshToken = resolveRefreshToken(request);
 				if (StringUtils.hasText(refreshToken)) {
+					// 서명이 맞는 리프레시 토큰이면 만료됐어도 Claims 를 받음 (로그아웃할 사용자 식별)
+					Claims refreshClaims = jwtTokenProvider.parseRefreshToken(refreshToken).orElse(null);
 					try {
-						if (!jwtTokenProvider.validateRefreshToken(refreshToken)) {
+						// 저장된 토큰과의 비교는 갱신 단계에서 (Redis 조회 한 번)
+						if (refreshClaims == null || jwtTokenProvider.isExpired(refreshClaims)) {
 							// 리프레시 토큰이 만료된 경우 로그아웃 처리
-							String userIdentifier = jwtTokenProvider.getUserIdentifierFromRefreshToken(refreshToken);
-							tokenService.logout(userIdentifier); // Redis에서 토큰 삭제
+							logout(refreshClaims, refreshToken); // Redis에서 토큰 삭제
 
 							response.addHeader(HttpHeaders.SET_COOKIE, cookieUtil.deleteAccessTokenCookie().toString());
 							response.addHeader(HttpHeaders.SET_COOKIE,
@@ -77,21 +82,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 									"{\"error\":\"REFRESH_TOKEN_EXPIRED\",\"message\":\"리프레시 토큰이 만료되었습니다. 다시 로그인해주세요.\"}");
 							return;
 						} else {
-							TokenDto newTokens = tokenService.refreshAccessToken(refreshToken);
-							Authentication auth = jwtTokenProvider.getAuthentication(newTokens.getAccessToken());
+							// 동시에 들어온 같은 토큰의 갱신은 한 번만 실행되고 같은 새 액세스 토큰을 받음
+							TokenDto newTokens = tokenService.refreshAccessToken(refreshToken, refreshClaims);
+							Authentication auth = jwtTokenProvider.authenticateAccessToken(newTokens.getAccessToken())
+								.orElseThrow(() -> new IllegalStateException("재발급한 액세스 토큰 검증 실패"));
 							SecurityContextHolder.getContext().setAuthentication(auth);
 
 							response.addHeader(
 								HttpHeaders.SET_COOKIE,
 								cookieUtil.createAccessTokenCookie(newTokens.getAccessToken()).toString());
-							response.addHeader(HttpHeaders.SET_COOKIE,
-								cookieUtil.createRefreshTokenCookie(newTokens.getRefreshToken()).toString());
+							// 교체된 리프레시 토큰 (null 이면 방금 다른 요청이 교체해서 쿠키로 내려보냄)
+							if (newTokens.getRefreshToken() != null) {
+								response.addHeader(HttpHeaders.SET_COOKIE,
+									cookieUtil.createRefreshTokenCookie(newTokens.getRefreshToken()).toString());
+							}
 						}
 
 					} catch (Exception e) {
 						// 토큰 재발급 실패 시 로그아웃 처리
-						String userIdentifier = jwtTokenProvider.getUserIdentifierFromRefreshToken(refreshToken);
-						tokenService.logout(userIdentifier); // Redis에서 토큰 삭제
+						logout(refreshClaims, refreshToken); // Redis에서 토큰 삭제
 
 						response.addHeader(HttpHeaders.SET_COOKIE, cookieUtil.deleteAccessTokenCookie().toString());
 						response.addHeader(HttpHeaders.SET_COOKIE, cookieUtil.deleteRefreshTokenCookie().toString());
@@ -114,6 +123,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 		filterChain.doFilter(request, response);
 	}
 
+	// 서명이 맞지 않는 토큰은 누구의 것인지 알 수 없으므로 Redis 는 건드리지 않음
+	// 세션의 현재 토큰일 때만 삭제 - 예전 쿠키가 교체된 세션을 지우지 않도록
+	private void logout(Claims refreshClaims, String refreshToken) {
+		if (refreshClaims != null) {
+			tokenService.logout(refreshClaims, refreshToken);
+		}
+	}
+
 	private String resolveAccessToken(HttpServletRequest request) {
 		String bearerToken = request.getHeader("Authorization");
 		if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -132,15 +149,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 	}
 
 	private String resolveRefreshToken(HttpServletRequest request) {
-		if (request.getCookies() == null) {
-			return null;
-		}
-
-		Optional<Cookie> tokenCookie = Arrays.stream(request.getCookies())
-			.filter(cookie -> cookieUtil.getRefreshCookieName().equals(cookie.getName()))
-			.findFirst();
-
-		return tokenCookie.map(Cookie::getValue).orElse(null);
+		return cookieUtil.getRefreshToken(request);
 	}
 
 }
@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.InitializingBean;
@@ -24,7 +25,7 @@ import com.dementor.global.security.jwt.repository.RefreshTokenRepository;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -32,11 +33,26 @@ import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import lombok.Getter;
-
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JWT 생성/검증
+ * - 서명 검증용 파서는 afterPropertiesSet 에서 한 번만 만들어 재사용 (JwtParser 는 불변이라 여러 스레드에서 공유 가능)
+ * - 요청마다 토큰은 parseAccessToken / parseRefreshToken 으로 한 번만 검증하고, 이후 단계에는 Claims 를 넘김
+ * - 액세스 토큰은 VerifiedTokenCache 로 토큰당 한 번만 검증 (authenticateAccessToken)
+ */
+@Slf4j
 @Component
 public class JwtTokenProvider implements InitializingBean {
 
 	private static final String AUTHORITIES_KEY = "auth";
+	// 리프레시 토큰의 사용자 유형 (RefreshToken_Role)
+	private static final String ROLE_KEY = "role";
+	// 리프레시 토큰의 세션(기기) id - 토큰 id 는 jti
+	private static final String SESSION_ID_KEY = "sid";
+	// 토큰 종류 - 리프레시 토큰에만 "refresh" 로 넣음 (같은 키로 서명하므로 액세스 토큰 자리에 쓰지 못하게 구분)
+	private static final String TOKEN_TYPE_KEY = "typ";
+	private static final String REFRESH_TOKEN_TYPE = "refresh";
 
 	@Value("${jwt.secret}")
 	private final String secret;
@@ -51,38 +67,80 @@ public class JwtTokenProvider implements InitializingBean {
 	@Getter
 	private Key key;
 
+	private JwtParser jwtParser;
+
 	private final RefreshTokenRepository refreshTokenRepository;
 
+	private final VerifiedTokenCache verifiedTokenCache;
+
 	public JwtTokenProvider(
 		@Value("${jwt.secret}") String secret,
 		@Value("${jwt.access.expiration}") long accessTokenValidityInMilliseconds,
 		@Value("${jwt.refresh.expiration}") long refreshTokenValidityInMilliseconds,
-		RefreshTokenRepository refreshTokenRepository
+		RefreshTokenRepository refreshTokenRepository,
+		VerifiedTokenCache verifiedTokenCache
 	) {
 		this.secret = secret;
 		this.accessTokenValidityInMilliseconds = accessTokenValidityInMilliseconds;
 		this.refreshTokenValidityInMilliseconds = refreshTokenValidityInMilliseconds;
 		this.refreshTokenRepository = refreshTokenRepository;
+		this.verifiedTokenCache = verifiedTokenCache;
 	}
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
 		byte[] ketBytes = Decoders.BASE64.decode(secret);
 		this.key = Keys.hmacShaKeyFor(ketBytes);
+		this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
 	}
 
-	// 리프레시 토큰 생성
-	public String createRefreshToken(String userIdentifier, RefreshToken_Role role) {
+	/**
+	 * 리프레시 토큰 생성
+	 * - 액세스 토큰 재발급에 필요한 정보(권한, id, 닉네임)를 같이 담아 갱신 시 DB 조회를 생략
+	 * - 세션 id(sid) 와 토큰 id(jti) 는 Redis 세션과 대조 (갱신할 때마다 jti 만 바뀜)
+	 */
+	public String createMemberRefreshToken(Authentication authentication, Long memberId, String nickname,
+		String sessionId, String tokenId) {
+		Map<String, Object> claims = new HashMap<>();
+		claims.put(ROLE_KEY, RefreshToken_Role.ROLE_MEMBER.name());
+		claims.put(AUTHORITIES_KEY, joinAuthorities(authentication));
+		claims.put("memberId", memberId);
+		claims.put("nickname", nickname);
+		return createRefreshToken(authentication.getName(), claims, sessionId, tokenId);
+	}
 
+	public String createAdminRefreshToken(String username, Long adminId, String sessionId, String tokenId) {
 		Map<String, Object> claims = new HashMap<>();
-		claims.put("sub", role.name());
+		claims.put(ROLE_KEY, RefreshToken_Role.ROLE_ADMIN.name());
+		claims.put(AUTHORITIES_KEY, "ROLE_ADMIN");
+		claims.put("adminId", adminId);
+		return createRefreshToken(username, claims, sessionId, tokenId);
+	}
+
+	// 교체용 리프레시 토큰 - 같은 세션, 같은 사용자 정보, 새 토큰 id 와 만료 시간
+	public String rotateRefreshToken(Claims claims, String tokenId) {
+		Map<String, Object> copied = new HashMap<>(claims);
+		copied.remove(Claims.ISSUED_AT);
+		copied.remove(Claims.EXPIRATION);
+		return createRefreshToken(claims.getSubject(), copied, getSessionId(claims), tokenId);
+	}
+
+	// 세션 도입 전에 발급된 토큰이면 null
+	public String getSessionId(Claims claims) {
+		return claims.get(SESSION_ID_KEY, String.class);
+	}
 
+	private String createRefreshToken(String userIdentifier, Map<String, Object> claims, String sessionId,
+		String tokenId) {
 		long now = (new Date()).getTime();
 		Date vaildity = new Date(now + refreshTokenValidityInMilliseconds);
 
+		claims.put(SESSION_ID_KEY, sessionId);
+		claims.put(TOKEN_TYPE_KEY, REFRESH_TOKEN_TYPE);
 		return Jwts.builder()
 			.setClaims(claims)
 			.setSubject(userIdentifier)
+			.setId(tokenId)
 			.setIssuedAt(new Date(now))
 			.setExpiration(vaildity)
 			.signWith(key, SignatureAlgorithm.HS512)
@@ -91,25 +149,20 @@ public class JwtTokenProvider implements InitializingBean {
 
 	// 리프레시 토큰에서 사용자 이메일 추출
 	public String getUserIdentifierFromRefreshToken(String token) {
-		return Jwts.parserBuilder()
-			.setSigningKey(key)
-			.build()
-			.parseClaimsJws(token)
-			.getBody()
-			.getSubject();
+		return jwtParser.parseClaimsJws(token).getBody().getSubject();
 	}
 
 	// Authentication에 권한 정보를 이요한 토큰 생성
 	public String createMemberToken(Authentication authentication, Long memberId, String nickname) {
-		String authorities = authentication.getAuthorities().stream()
-			.map(GrantedAuthority::getAuthority)
-			.collect(Collectors.joining(","));
+		return createMemberToken(authentication.getName(), joinAuthorities(authentication), memberId, nickname);
+	}
 
+	public String createMemberToken(String email, String authorities, Long memberId, String nickname) {
 		Map<String, Object> claims = new HashMap<>();
 		claims.put(AUTHORITIES_KEY, authorities);
 		claims.put("memberId", memberId);      // DB ID 추가
 		claims.put("nickname", nickname);  // 닉네임 추가
-		claims.put("sub", authentication.getName());
+		claims.put("sub", email);
 
 		long now = (new Date()).getTime();
 		Date vaildity = new Date(now + accessTokenValidityInMilliseconds);
@@ -142,18 +195,113 @@ public class JwtTokenProvider implements InitializingBean {
 			.compact();
 	}
 
-	//Token에 담겨있는 정보를 이용해 Authentication 객체 리턴
-	public Authentication getAuthentication(String token) {
+	/**
+	 * 리프레시 토큰에 담긴 정보로 액세스 토큰 재발급 (DB 조회 없음)
+	 * - 사용자 정보를 담지 않은 예전 리프레시 토큰이면 empty -> 호출자가 DB 에서 조회
+	 */
+	public Optional<String> createAccessTokenFromRefreshClaims(Claims claims) {
+		String role = claims.get(ROLE_KEY, String.class);
+		if (role == null) {
+			return Optional.empty();
+		}
+		if (RefreshToken_Role.fromRole(role) == RefreshToken_Role.ROLE_ADMIN) {
+			return Optional.of(createAdminToken(claims.get("adminId", Long.class)));
+		}
+		return Optional.of(createMemberToken(claims.getSubject(), claims.get(AUTHORITIES_KEY, String.class),
+			claims.get("memberId", Long.class), claims.get("nickname", String.class)));
+	}
+
+	public boolean isExpired(Claims claims) {
+		return claims.getExpiration().before(new Date());
+	}
 
-		Claims claims = Jwts
-			.parserBuilder()
-			.setSigningKey(key)
-			.build()
-			.parseClaimsJws(token)
-			.getBody();
+	private static String joinAuthorities(Authentication authentication) {
+		return authentication.getAuthorities().stream()
+			.map(GrantedAuthority::getAuthority)
+			.collect(Collectors.joining(","));
+	}
 
-		String userIdentifier = claims.getSubject();
+	/**
+	 * 액세스 토큰 서명/만료 검증 (요청당 한 번)
+	 * - 유효하지 않거나 리프레시 토큰이면 empty
+	 */
+	public Optional<Claims> parseAccessToken(String token) {
+		try {
+			Claims claims = jwtParser.parseClaimsJws(token).getBody();
+			if (!isAccessToken(claims)) {
+				log.debug("액세스 토큰이 아닌 JWT 토큰");
+				return Optional.empty();
+			}
+			return Optional.of(claims);
+		} catch (io.jsonwebtoken.security.SignatureException | MalformedJwtException e) {
+			log.debug("잘못된 JWT 서명");
+		} catch (ExpiredJwtException e) {
+			log.debug("만료된 JWT 토큰");
+		} catch (UnsupportedJwtException e) {
+			log.debug("지원되지 않는 JWT 토큰");
+		} catch (IllegalArgumentException e) {
+			log.debug("잘못된 JWT 토큰");
+		}
+		return Optional.empty();
+	}
 
+	/**
+	 * 리프레시 토큰 서명 검증 (요청당 한 번)
+	 * - 서명이 맞으면 만료된 토큰도 Claims 를 돌려줌 (만료 시 로그아웃 처리에 사용자 식별자가 필요)
+	 * - 만료/저장 토큰 일치 여부는 validateRefreshToken(claims, token) 으로 확인
+	 * - 리프레시 토큰이 아니면 (액세스 토큰 등) empty
+	 */
+	public Optional<Claims> parseRefreshToken(String token) {
+		Claims claims;
+		try {
+			claims = jwtParser.parseClaimsJws(token).getBody();
+		} catch (ExpiredJwtException e) {
+			claims = e.getClaims();
+		} catch (Exception e) {
+			return Optional.empty();
+		}
+		return isRefreshToken(claims) ? Optional.of(claims) : Optional.empty();
+	}
+
+	// 액세스 토큰은 항상 권한(auth) 을 담고 typ 이 없음
+	private static boolean isAccessToken(Claims claims) {
+		return claims.get(TOKEN_TYPE_KEY) == null && claims.get(AUTHORITIES_KEY) != null;
+	}
+
+	/**
+	 * typ=refresh 인 토큰
+	 * - typ 도입 전 리프레시 토큰은 typ 이 없지만 권한(auth) 도 없음 -> 세션 전환을 위해 리프레시 토큰으로 인정
+	 */
+	private static boolean isRefreshToken(Claims claims) {
+		Object type = claims.get(TOKEN_TYPE_KEY);
+		if (type != null) {
+			return REFRESH_TOKEN_TYPE.equals(type);
+		}
+		return claims.get(AUTHORITIES_KEY) == null;
+	}
+
+	/**
+	 * 요청의 액세스 토큰 인증 (검증된 토큰 캐시 사용)
+	 * - 처음 보는 토큰만 서명 검증 + 인증 객체 생성, 이후 같은 토큰은 exp 까지 캐시된 Authentication 재사용
+	 * - 유효하지 않으면 empty
+	 */
+	public Optional<Authentication> authenticateAccessToken(String token) {
+		return verifiedTokenCache.authenticate(token, () -> parseAccessToken(token)
+			.map(claims -> new VerifiedTokenCache.Verified(getAuthentication(claims, token), claims.getSubject(),
+				claims.getExpiration().getTime())));
+	}
+
+	//Token에 담겨있는 정보를 이용해 Authentication 객체 리턴
+	public Authentication getAuthentication(String token) {
+		Claims claims = jwtParser.parseClaimsJws(token).getBody();
+		if (!isAccessToken(claims)) {
+			throw new UnsupportedJwtException("액세스 토큰이 아닌 JWT 토큰");
+		}
+		return getAuthentication(claims, token);
+	}
+
+	// 이미 검증한 Claims 로 Authentication 생성 (다시 파싱하지 않음)
+	public Authentication getAuthentication(Claims claims, String token) {
 		Collection<? extends GrantedAuthority> authorities = Collections.singletonList(
 			new SimpleGrantedAuthority(claims.get(AUTHORITIES_KEY, String.class))
 		);
@@ -186,18 +334,19 @@ public class JwtTokenProvider implements InitializingBean {
 	}
 
 	public Authentication getRefreshAuthentication(String token) {
-		Claims claims = Jwts
-			.parserBuilder()
-			.setSigningKey(key)
-			.build()
-			.parseClaimsJws(token)
-			.getBody();
-
-		String userIdentifier = claims.getSubject();
+		Claims claims = jwtParser.parseClaimsJws(token).getBody();
+		if (!isRefreshToken(claims)) {
+			throw new UnsupportedJwtException("리프레시 토큰이 아닌 JWT 토큰");
+		}
+		return getRefreshAuthentication(claims, token);
+	}
+
+	public Authentication getRefreshAuthentication(Claims claims, String token) {
 		String role = claims.get(AUTHORITIES_KEY, String.class);
 		CustomUserDetails principal;
 
-		if (role.startsWith("ROLE_ADMIN")) {
+		// 예전 리프레시 토큰에는 권한 정보가 없음 -> 회원으로 처리
+		if (role != null && role.startsWith("ROLE_ADMIN")) {
 			principal = CustomUserDetails.ofAdmin(
 				Admin.builder()
 					.id(claims.get("adminId", Long.class))
@@ -220,40 +369,27 @@ public class JwtTokenProvider implements InitializingBean {
 
 	//토큰 유효성 검증
 	public boolean validateAccessToken(String token) {
-		try {
-			Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-			return true;
-		} catch (io.jsonwebtoken.security.SignatureException | MalformedJwtException e) {
-			System.out.println("잘못된 JWT 서명"); //log 로 변경
-		} catch (ExpiredJwtException e) {
-			System.out.println("만료된 JWT 토큰"); //log 로 변경
-		} catch (UnsupportedJwtException e) {
-			System.out.println("지원되지 않는 JWT 토큰"); //log 로 변경
-		} catch (IllegalArgumentException e) {
-			System.out.println("잘못된 JWT 토큰"); //log 로 변경
-		}
-		return false;
+		return parseAccessToken(token).isPresent();
 	}
 
 	public boolean validateRefreshToken(String token) {
+		return parseRefreshToken(token)
+			.map(claims -> validateRefreshToken(claims, token))
+			.orElse(false);
+	}
+
+	// 검증된 리프레시 토큰 Claims 로 만료 여부와 세션의 현재 토큰인지 확인
+	public boolean validateRefreshToken(Claims claims, String token) {
 		try {
-			// 1. JWT 서명 검증
-			Jws<Claims> claims = Jwts.parserBuilder()
-				.setSigningKey(key)
-				.build()
-				.parseClaimsJws(token);
-
-			// 2. 만료 시간 검증
-			if (claims.getBody().getExpiration().before(new Date())) {
+			// 1. 만료 시간 검증
+			if (isExpired(claims)) {
 				return false;
 			}
 
-			// 3. Redis에 저장된 토큰과 비교
-			String userIdentifier = claims.getBody().getSubject();
-			String storedToken = refreshTokenRepository.findByUserIdentifier(userIdentifier)
-				.orElse(null);
-
-			return token.equals(storedToken);
+			// 2. Redis 세션의 현재 토큰 id 와 비교
+			String sessionId = getSessionId(claims);
+			return sessionId != null
+				&& refreshTokenRepository.isCurrent(claims.getSubject(), sessionId, claims.getId());
 		} catch (Exception e) {
 			return false;
 		}
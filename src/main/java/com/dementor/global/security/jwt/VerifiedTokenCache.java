@@ -0,0 +1,138 @@
+package com.dementor.global.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 검증된 액세스 토큰 캐시 (토큰 SHA-256 -> 만들어 둔 Authentication)
+ * - 같은 토큰이 만료(30분)까지 모든 API 요청에 실려 오므로, 서명 검증 + 인증 객체 생성은 토큰당 한 번만
+ * - 항목은 토큰의 exp 까지만 유효, 최대 개수를 넘으면 가장 오래 안 쓴 토큰부터 제거(LRU)
+ * - 토큰 원문 대신 해시를 키로 보관, 로그아웃 시 해당 사용자의 항목 제거 (TokenService.logout)
+ * - 메트릭: jwt.auth.cache{result=hit|miss}, jwt.auth.cache.hit.ratio, jwt.auth.time (요청당 인증 시간)
+ */
+@Component
+public class VerifiedTokenCache {
+
+	// 검증 결과 - subject 는 로그아웃 시 항목을 찾는 데 사용
+	public record Verified(Authentication authentication, String subject, long expiresAt) {
+	}
+
+	private final Map<String, Verified> cache;
+	private final LongSupplier clock;
+	private final Counter hits;
+	private final Counter misses;
+	private final Timer authTime;
+
+	@Autowired
+	public VerifiedTokenCache(
+		MeterRegistry meterRegistry,
+		@Value("${jwt.token-cache.max-entries}") int maxEntries
+	) {
+		this(meterRegistry, maxEntries, System::currentTimeMillis);
+	}
+
+	public VerifiedTokenCache(MeterRegistry meterRegistry, int maxEntries, LongSupplier clock) {
+		this.clock = clock;
+		this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Verified> eldest) {
+				return size() > maxEntries;
+			}
+		};
+		this.hits = Counter.builder("jwt.auth.cache")
+			.tag("result", "hit")
+			.description("검증된 토큰 캐시 조회 결과")
+			.register(meterRegistry);
+		this.misses = Counter.builder("jwt.auth.cache")
+			.tag("result", "miss")
+			.description("검증된 토큰 캐시 조회 결과")
+			.register(meterRegistry);
+		Gauge.builder("jwt.auth.cache.hit.ratio", this, VerifiedTokenCache::hitRatio)
+			.description("검증된 토큰 캐시 적중률")
+			.register(meterRegistry);
+		Gauge.builder("jwt.auth.cache.size", this, VerifiedTokenCache::size)
+			.description("캐시된 토큰 수")
+			.register(meterRegistry);
+		this.authTime = Timer.builder("jwt.auth.time")
+			.description("요청당 액세스 토큰 인증 시간")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * 캐시에 있으면 그대로, 없으면 verifier 로 검증해서 저장
+	 * - 검증에 실패한 토큰은 캐시하지 않음
+	 */
+	public Optional<Authentication> authenticate(String token, Supplier<Optional<Verified>> verifier) {
+		long start = System.nanoTime();
+		try {
+			String key = digest(token);
+			long now = clock.getAsLong();
+			synchronized (cache) {
+				Verified cached = cache.get(key);
+				if (cached != null && now < cached.expiresAt()) {
+					hits.increment();
+					return Optional.of(cached.authentication());
+				}
+				if (cached != null) {
+					cache.remove(key);
+				}
+			}
+
+			misses.increment();
+			Optional<Verified> verified = verifier.get();
+			verified.filter(v -> now < v.expiresAt()).ifPresent(v -> {
+				synchronized (cache) {
+					cache.put(key, v);
+				}
+			});
+			return verified.map(Verified::authentication);
+		} finally {
+			authTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	// 로그아웃 - 이 노드에 캐시된 해당 사용자의 토큰 제거
+	public void evictSubject(String subject) {
+		synchronized (cache) {
+			cache.values().removeIf(verified -> verified.subject().equals(subject));
+		}
+	}
+
+	public int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+	private double hitRatio() {
+		double total = hits.count() + misses.count();
+		return total == 0 ? 0 : hits.count() / total;
+	}
+
+	private static String digest(String token) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -1,85 +1,385 @@
 package com.dementor.global.security.jwt.repository;
 
-import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
 import lombok.RequiredArgsConstructor;
 
+/**
+ * 리프레시 토큰 세션 저장소 (Redis)
+ * - refresh-session:{user}:{sessionId} 해시 (jti, prev, rotatedAt, device, createdAt, lastUsedAt, stale)
+ *   refresh-sessions:{user} 집합 (사용자의 세션 id 목록)
+ *   {user} 부분은 해시 태그 -> 클러스터에서도 한 사용자의 키는 같은 슬롯
+ * - 세션 조회/교체/삭제는 키를 바로 찾음 (O(1)), 연산마다 Redis 왕복 한 번 (Lua 스크립트)
+ * - 스크립트가 접근하는 키는 모두 KEYS 로 넘김 (클러스터 규칙)
+ *   사용자의 세션 전체를 다루는 스크립트는 세션 목록을 먼저 읽어 세션 키를 넘기고,
+ *   그 사이 목록이 바뀌었으면 스크립트가 아무것도 하지 않고 MEMBERS_CHANGED 반환 -> 다시 읽어서 재시도
+ * - 세션 도입 전 토큰(refresh:{user} 태그 없음)은 다른 슬롯일 수 있으므로 세션 키와 같은 스크립트에서 다루지 않음
+ * - 여러 사용자 로그아웃은 파이프라인으로 묶어 한 번에 전송
+ */
 @Repository
 @RequiredArgsConstructor
 public class RedisRefreshTokenRepository implements RefreshTokenRepository {
 
-	private final RedisTemplate<String, String> redisTemplate;
-	private static final String KEY_PREFIX = "refresh:";
+	private static final String LEGACY_KEY_PREFIX = "refresh:";
+
+	private static final long MEMBERS_CHANGED = -2;
+	private static final int MAX_SNAPSHOT_ATTEMPTS = 5;
+
+	// 세션 전체를 다루는 스크립트 공통 앞부분
+	// KEYS[1] = 세션 목록, KEYS[2..n+1] = 세션 키, ARGV[1] = n, ARGV[2..n+1] = 세션 id (읽어 둔 목록)
+	// 스크립트별 키/인자는 그 뒤 (KEYS[n+2].., ARGV[n+2]..)
+	private static String sessionsSnapshot(String changed) {
+		return "local n = tonumber(ARGV[1]) "
+			+ "if redis.call('SCARD', KEYS[1]) ~= n then return " + changed + " end "
+			+ "for i = 1, n do "
+			+ "  if redis.call('SISMEMBER', KEYS[1], ARGV[i + 1]) == 0 then return " + changed + " end "
+			+ "end "
+			+ "local a = n + 1 ";
+	}
+
+	// 세션 저장 + 목록 추가, 만료된 세션 정리 후 최대 개수를 넘으면 가장 오래 안 쓴 세션 삭제
+	// KEYS[n+2] = 새 세션 키, ARGV[a+1..] = 세션 id, jti, 기기, 현재 시각, 만료, 최대 개수
+	private static final RedisScript<Long> CREATE_SCRIPT = new DefaultRedisScript<>(
+		sessionsSnapshot(String.valueOf(MEMBERS_CHANGED))
+			+ "local sid = ARGV[a + 1] "
+			+ "redis.call('HSET', KEYS[n + 2], 'jti', ARGV[a + 2], 'device', ARGV[a + 3], "
+			+ "  'createdAt', ARGV[a + 4], 'lastUsedAt', ARGV[a + 4]) "
+			+ "redis.call('PEXPIRE', KEYS[n + 2], ARGV[a + 5]) "
+			+ "local live, oldest, oldestKey, oldestUsed = 1, nil, nil, nil "
+			+ "for i = 1, n do "
+			+ "  local other = ARGV[i + 1] "
+			+ "  if other ~= sid then "
+			+ "    local used = redis.call('HGET', KEYS[i + 1], 'lastUsedAt') "
+			+ "    if not used then "
+			+ "      redis.call('SREM', KEYS[1], other) "
+			+ "    else "
+			+ "      live = live + 1 "
+			+ "      if oldestUsed == nil or tonumber(used) < oldestUsed then "
+			+ "        oldest, oldestKey, oldestUsed = other, KEYS[i + 1], tonumber(used) "
+			+ "      end "
+			+ "    end "
+			+ "  end "
+			+ "end "
+			+ "redis.call('SADD', KEYS[1], sid) "
+			+ "redis.call('PEXPIRE', KEYS[1], ARGV[a + 5]) "
+			+ "if live > tonumber(ARGV[a + 6]) and oldest then "
+			+ "  redis.call('DEL', oldestKey) "
+			+ "  redis.call('SREM', KEYS[1], oldest) "
+			+ "end "
+			+ "return live", Long.class);
+
+	// 1 교체, 2 사용자 정보 변경됨, 3 방금 교체된 이전 토큰, -1 재사용(세션 삭제), 0 세션 없음
+	private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>(
+		"local current = redis.call('HGET', KEYS[1], 'jti') "
+			+ "if not current then return 0 end "
+			+ "if current == ARGV[1] then "
+			+ "  if ARGV[6] == '0' and redis.call('HGET', KEYS[1], 'stale') == '1' then return 2 end "
+			+ "  redis.call('HSET', KEYS[1], 'jti', ARGV[2], 'prev', ARGV[1], 'rotatedAt', ARGV[4], "
+			+ "    'lastUsedAt', ARGV[4], 'stale', '0') "
+			+ "  redis.call('PEXPIRE', KEYS[1], ARGV[3]) "
+			+ "  redis.call('PEXPIRE', KEYS[2], ARGV[3]) "
+			+ "  return 1 "
+			+ "end "
+			+ "local prev = redis.call('HMGET', KEYS[1], 'prev', 'rotatedAt') "
+			+ "if prev[1] == ARGV[1] and tonumber(ARGV[4]) - tonumber(prev[2]) <= tonumber(ARGV[5]) then return 3 end "
+			+ "redis.call('DEL', KEYS[1]) "
+			+ "redis.call('SREM', KEYS[2], ARGV[7]) "
+			+ "return -1", Long.class);
+
+	private static final RedisScript<Long> DELETE_SESSION_SCRIPT = new DefaultRedisScript<>(
+		"redis.call('SREM', KEYS[2], ARGV[1]) "
+			+ "return redis.call('DEL', KEYS[1])", Long.class);
+
+	private static final RedisScript<Long> DELETE_SESSION_IF_MATCHES_SCRIPT = new DefaultRedisScript<>(
+		"if redis.call('HGET', KEYS[1], 'jti') == ARGV[2] then "
+			+ "  redis.call('SREM', KEYS[2], ARGV[1]) "
+			+ "  return redis.call('DEL', KEYS[1]) "
+			+ "end "
+			+ "return 0", Long.class);
+
+	// 세션 id, 기기, 생성 시각, 마지막 사용 시각을 이어 붙인 목록 (만료된 세션은 목록에서 정리)
+	// 목록이 바뀌었으면 nil
+	@SuppressWarnings("rawtypes")
+	private static final RedisScript<List> FIND_SESSIONS_SCRIPT = new DefaultRedisScript<>(
+		sessionsSnapshot("false")
+			+ "local result = {} "
+			+ "for i = 1, n do "
+			+ "  local session = redis.call('HMGET', KEYS[i + 1], 'device', 'createdAt', 'lastUsedAt') "
+			+ "  if session[2] then "
+			+ "    table.insert(result, ARGV[i + 1]) "
+			+ "    table.insert(result, session[1] or '') "
+			+ "    table.insert(result, session[2]) "
+			+ "    table.insert(result, session[3]) "
+			+ "  else "
+			+ "    redis.call('SREM', KEYS[1], ARGV[i + 1]) "
+			+ "  end "
+			+ "end "
+			+ "return result", List.class);
+
+	private static final RedisScript<Long> MARK_STALE_SCRIPT = new DefaultRedisScript<>(
+		sessionsSnapshot(String.valueOf(MEMBERS_CHANGED))
+			+ "local marked = 0 "
+			+ "for i = 1, n do "
+			+ "  if redis.call('EXISTS', KEYS[i + 1]) == 1 then "
+			+ "    redis.call('HSET', KEYS[i + 1], 'stale', '1') "
+			+ "    marked = marked + 1 "
+			+ "  end "
+			+ "end "
+			+ "return marked", Long.class);
+
+	// 사용자의 모든 세션 삭제 (세션 도입 전 토큰은 따로 DEL)
+	private static final String DELETE_ALL_SCRIPT =
+		sessionsSnapshot(String.valueOf(MEMBERS_CHANGED))
+			+ "for i = 1, n do "
+			+ "  redis.call('DEL', KEYS[i + 1]) "
+			+ "end "
+			+ "return redis.call('DEL', KEYS[1])";
 
-	@Value("${jwt.secret}")
-	private String secret;
+	private static final RedisScript<Long> DELETE_ALL = new DefaultRedisScript<>(DELETE_ALL_SCRIPT, Long.class);
+
+	private static final RedisScript<Long> LEGACY_COMPARE_AND_DELETE_SCRIPT = new DefaultRedisScript<>(
+		"if redis.call('GET', KEYS[1]) == ARGV[1] then "
+			+ "  return redis.call('DEL', KEYS[1]) "
+			+ "end "
+			+ "return 0", Long.class);
+
+	private final RedisTemplate<String, String> redisTemplate;
 
 	@Override
-	public void save(String userIdentifier, String refreshToken, long expiration) {
-		String key = KEY_PREFIX + userIdentifier;
+	public void createSession(String userIdentifier, String sessionId, String tokenId, String device,
+		long expiration, int maxSessions) {
 		try {
-			redisTemplate.opsForValue().set(key, refreshToken);
-			redisTemplate.expire(key, expiration, TimeUnit.MILLISECONDS);
+			executeOnSessions(userIdentifier, CREATE_SCRIPT, RedisRefreshTokenRepository::isMembersChanged,
+				List.of(sessionKey(userIdentifier, sessionId)),
+				sessionId, tokenId, device != null ? device : "", String.valueOf(System.currentTimeMillis()),
+				String.valueOf(expiration), String.valueOf(maxSessions));
 		} catch (Exception e) {
 			throw new RuntimeException("Failed to save refresh token", e);
 		}
 	}
 
 	@Override
-	public Optional<String> findByUserIdentifier(String userIdentifier) {
+	public RotationResult rotate(String userIdentifier, String sessionId, String currentTokenId, String newTokenId,
+		long expiration, long reuseGraceMs, boolean refreshClaims) {
+		Long result;
 		try {
-			String key = KEY_PREFIX + userIdentifier;
-			String value = redisTemplate.opsForValue().get(key);
-			return Optional.ofNullable(value);
+			result = redisTemplate.execute(ROTATE_SCRIPT,
+				List.of(sessionKey(userIdentifier, sessionId), sessionsKey(userIdentifier)),
+				currentTokenId, newTokenId, String.valueOf(expiration), String.valueOf(System.currentTimeMillis()),
+				String.valueOf(reuseGraceMs), refreshClaims ? "1" : "0", sessionId);
 		} catch (Exception e) {
-			return Optional.empty();
+			throw new RuntimeException("Failed to rotate refresh token", e);
+		}
+		if (result == null || result == 0) {
+			return RotationResult.NOT_FOUND;
+		}
+		if (result == 1) {
+			return RotationResult.ROTATED;
 		}
+		if (result == 2) {
+			return RotationResult.CLAIMS_STALE;
+		}
+		if (result == 3) {
+			return RotationResult.RECENTLY_ROTATED;
+		}
+		return RotationResult.REUSED;
 	}
 
 	@Override
-	public boolean validateRefreshToken(String refreshToken) {
+	public boolean isCurrent(String userIdentifier, String sessionId, String tokenId) {
+		try {
+			Object current = redisTemplate.opsForHash().get(sessionKey(userIdentifier, sessionId), "jti");
+			return tokenId.equals(current);
+		} catch (Exception e) {
+			return false;
+		}
+	}
 
-		// 1️⃣ JWT 검증 (서명 확인)
-		Claims claims = Jwts.parserBuilder()
-			.setSigningKey(secret)
-			.build()
-			.parseClaimsJws(refreshToken)
-			.getBody();
+	@Override
+	public List<RefreshSession> findSessions(String userIdentifier) {
+		List<?> values;
+		try {
+			values = executeOnSessions(userIdentifier, FIND_SESSIONS_SCRIPT, result -> result == null, List.of());
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to find refresh token sessions", e);
+		}
+		List<RefreshSession> sessions = new ArrayList<>();
+		if (values == null) {
+			return sessions;
+		}
+		for (int i = 0; i + 3 < values.size(); i += 4) {
+			sessions.add(new RefreshSession(String.valueOf(values.get(i)), String.valueOf(values.get(i + 1)),
+				Long.parseLong(String.valueOf(values.get(i + 2))), Long.parseLong(String.valueOf(values.get(i + 3)))));
+		}
+		return sessions;
+	}
 
-		String userIdentifier = claims.getSubject();
-		String key = KEY_PREFIX + userIdentifier;
+	@Override
+	public boolean deleteSession(String userIdentifier, String sessionId) {
+		try {
+			Long deleted = redisTemplate.execute(DELETE_SESSION_SCRIPT,
+				List.of(sessionKey(userIdentifier, sessionId), sessionsKey(userIdentifier)), sessionId);
+			return deleted != null && deleted > 0;
+		} catch (Exception e) {
+			return false;
+		}
+	}
 
+	@Override
+	public boolean deleteSessionIfMatches(String userIdentifier, String sessionId, String tokenId) {
 		try {
-			String storedToken = redisTemplate.opsForValue().get(key);
-			return refreshToken.equals(storedToken); // 저장된 값과 비교
+			Long deleted = redisTemplate.execute(DELETE_SESSION_IF_MATCHES_SCRIPT,
+				List.of(sessionKey(userIdentifier, sessionId), sessionsKey(userIdentifier)), sessionId, tokenId);
+			return deleted != null && deleted > 0;
 		} catch (Exception e) {
 			return false;
 		}
 	}
 
+	@Override
+	public void markClaimsStale(String userIdentifier) {
+		try {
+			executeOnSessions(userIdentifier, MARK_STALE_SCRIPT, RedisRefreshTokenRepository::isMembersChanged, List.of());
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to mark refresh token claims stale", e);
+		}
+	}
+
 	@Override
 	public void deleteByUserIdentifier(String userIdentifier) {
 		try {
-			String key = KEY_PREFIX + userIdentifier;
-			// 토큰 값 가져오기
-			String refreshToken = redisTemplate.opsForValue().get(key);
+			executeOnSessions(userIdentifier, DELETE_ALL, RedisRefreshTokenRepository::isMembersChanged, List.of());
+			redisTemplate.delete(LEGACY_KEY_PREFIX + userIdentifier);
+		} catch (Exception e) {
+			return;
+		}
+	}
 
-			if (refreshToken != null) {
-				redisTemplate.delete(refreshToken);
-			}
+	@Override
+	public void deleteAllByUserIdentifiers(Collection<String> userIdentifiers) {
+		if (userIdentifiers.isEmpty()) {
+			return;
+		}
+		List<String> users = new ArrayList<>(userIdentifiers);
+		byte[] script = DELETE_ALL_SCRIPT.getBytes(StandardCharsets.UTF_8);
+		List<Object> results;
+		try {
+			// 1. 사용자별 세션 목록을 파이프라인으로 한 번에 읽음
+			List<Object> members = redisTemplate.executePipelined((RedisCallback<Object>)connection -> {
+				for (String userIdentifier : users) {
+					connection.setCommands().sMembers(bytes(sessionsKey(userIdentifier)));
+				}
+				return null;
+			});
 
-			redisTemplate.delete(key);
+			// 2. 사용자별 삭제 스크립트 + 세션 도입 전 토큰 삭제를 파이프라인으로 한 번에 전송
+			results = redisTemplate.executePipelined((RedisCallback<Object>)connection -> {
+				for (int i = 0; i < users.size(); i++) {
+					String userIdentifier = users.get(i);
+					List<String> sessionIds = toSessionIds(members.get(i));
+					byte[][] keysAndArgs = sessionKeysAndArgs(userIdentifier, sessionIds, List.of()).stream()
+						.map(RedisRefreshTokenRepository::bytes)
+						.toArray(byte[][]::new);
+					connection.scriptingCommands().eval(script, ReturnType.INTEGER, sessionIds.size() + 1, keysAndArgs);
+					connection.keyCommands().del(bytes(LEGACY_KEY_PREFIX + userIdentifier));
+				}
+				return null;
+			});
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to delete refresh tokens", e);
+		}
+
+		// 그 사이 세션이 생긴 사용자는 하나씩 다시 삭제
+		for (int i = 0; i < users.size(); i++) {
+			if (isMembersChanged(results.get(i * 2))) {
+				deleteByUserIdentifier(users.get(i));
+			}
+		}
+	}
 
+	@Override
+	public boolean deleteLegacyIfMatches(String userIdentifier, String refreshToken) {
+		try {
+			Long deleted = redisTemplate.execute(LEGACY_COMPARE_AND_DELETE_SCRIPT,
+				List.of(LEGACY_KEY_PREFIX + userIdentifier), refreshToken);
+			return deleted != null && deleted > 0;
 		} catch (Exception e) {
-			return;
+			return false;
 		}
 	}
 
+	/**
+	 * 세션 목록을 읽고 세션 키를 KEYS 로 넘겨 스크립트 실행
+	 * - 스크립트가 목록이 바뀌었다고 알리면(changed) 다시 읽어서 재시도
+	 */
+	private <T> T executeOnSessions(String userIdentifier, RedisScript<T> script, Predicate<T> changed,
+		List<String> extraKeys, String... extraArgs) {
+		for (int attempt = 1; ; attempt++) {
+			List<String> sessionIds = toSessionIds(redisTemplate.opsForSet().members(sessionsKey(userIdentifier)));
+			List<String> keysAndArgs = sessionKeysAndArgs(userIdentifier, sessionIds, extraKeys);
+			int keyCount = sessionIds.size() + 1 + extraKeys.size();
+			List<Object> args = new ArrayList<>(keysAndArgs.subList(keyCount, keysAndArgs.size()));
+			args.addAll(List.of(extraArgs));
+
+			T result = redisTemplate.execute(script, keysAndArgs.subList(0, keyCount), args.toArray());
+			if (!changed.test(result)) {
+				return result;
+			}
+			if (attempt >= MAX_SNAPSHOT_ATTEMPTS) {
+				throw new IllegalStateException("Refresh token sessions kept changing: " + userIdentifier);
+			}
+		}
+	}
+
+	// KEYS (세션 목록, 세션 키들, extraKeys) + ARGV (세션 수, 세션 id 들) - 스크립트 공통 앞부분 형식
+	private static List<String> sessionKeysAndArgs(String userIdentifier, List<String> sessionIds,
+		List<String> extraKeys) {
+		List<String> keysAndArgs = new ArrayList<>(sessionIds.size() * 2 + extraKeys.size() + 2);
+		keysAndArgs.add(sessionsKey(userIdentifier));
+		sessionIds.forEach(sessionId -> keysAndArgs.add(sessionKey(userIdentifier, sessionId)));
+		keysAndArgs.addAll(extraKeys);
+		keysAndArgs.add(String.valueOf(sessionIds.size()));
+		keysAndArgs.addAll(sessionIds);
+		return keysAndArgs;
+	}
+
+	private static List<String> toSessionIds(Object members) {
+		List<String> sessionIds = new ArrayList<>();
+		if (members instanceof Collection<?> values) {
+			values.forEach(value -> sessionIds.add(String.valueOf(value)));
+		}
+		return sessionIds;
+	}
+
+	private static boolean isMembersChanged(Object result) {
+		return result instanceof Long value && value == MEMBERS_CHANGED;
+	}
+
+	private static String sessionsKey(String userIdentifier) {
+		return "refresh-sessions:{" + userIdentifier + "}";
+	}
+
+	private static String sessionKeyPrefix(String userIdentifier) {
+		return "refresh-session:{" + userIdentifier + "}:";
+	}
+
+	private static String sessionKey(String userIdentifier, String sessionId) {
+		return sessionKeyPrefix(userIdentifier) + sessionId;
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
 }
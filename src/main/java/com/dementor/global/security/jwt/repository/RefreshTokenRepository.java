@@ -1,13 +1,64 @@
 package com.dementor.global.security.jwt.repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
+/**
+ * 리프레시 토큰 세션 저장소 (사용자 + 기기별)
+ * - 로그인할 때마다 세션(sessionId) 하나가 생기고, 세션에는 지금 유효한 리프레시 토큰 id(jti) 만 보관
+ * - 갱신할 때마다 토큰을 새로 발급해 교체, 이미 교체된 토큰이 다시 오면 재사용(탈취)으로 보고 세션 삭제
+ */
 public interface RefreshTokenRepository {
-	void save(String userIdentifier, String refreshToken, long expiration);
 
-	Optional<String> findByUserIdentifier(String userIdentifier);
+	// 세션 목록 조회용
+	record RefreshSession(String sessionId, String device, long createdAt, long lastUsedAt) {
+	}
 
-	boolean validateRefreshToken(String refreshToken);
+	enum RotationResult {
+		// 교체 완료
+		ROTATED,
+		// 사용자 정보(권한/닉네임)가 바뀜 - 최신 정보로 만든 토큰으로 다시 교체해야 함 (교체하지 않음)
+		CLAIMS_STALE,
+		// 방금 교체된 이전 토큰 (교체 직후 같이 출발한 요청) - 액세스 토큰만 재발급
+		RECENTLY_ROTATED,
+		// 이미 교체된 토큰 재사용 - 세션 삭제됨
+		REUSED,
+		// 로그아웃/만료된 세션
+		NOT_FOUND
+	}
 
+	// 세션 생성, 사용자 세션이 maxSessions 를 넘으면 가장 오래 안 쓴 세션 삭제
+	void createSession(String userIdentifier, String sessionId, String tokenId, String device, long expiration,
+		int maxSessions);
+
+	/**
+	 * 저장된 토큰 id 가 currentTokenId 이면 newTokenId 로 교체 (Redis 왕복 한 번)
+	 * - refreshClaims 가 false 인데 사용자 정보가 바뀐 세션이면 교체하지 않고 CLAIMS_STALE
+	 * - 직전 토큰이 reuseGraceMs 안에 다시 오면 RECENTLY_ROTATED, 그 밖의 불일치는 REUSED
+	 */
+	RotationResult rotate(String userIdentifier, String sessionId, String currentTokenId, String newTokenId,
+		long expiration, long reuseGraceMs, boolean refreshClaims);
+
+	// 세션의 현재 토큰인지 확인
+	boolean isCurrent(String userIdentifier, String sessionId, String tokenId);
+
+	List<RefreshSession> findSessions(String userIdentifier);
+
+	// 세션 삭제, 삭제했으면 true
+	boolean deleteSession(String userIdentifier, String sessionId);
+
+	// 세션의 현재 토큰이 tokenId 일 때만 삭제 (예전 쿠키가 교체된 세션을 지우지 않도록)
+	boolean deleteSessionIfMatches(String userIdentifier, String sessionId, String tokenId);
+
+	// 권한/닉네임이 바뀜 - 모든 세션의 다음 갱신은 DB 에서 최신 정보를 읽어 토큰 발급
+	void markClaimsStale(String userIdentifier);
+
+	// 사용자의 모든 세션 삭제
 	void deleteByUserIdentifier(String userIdentifier);
+
+	// 여러 사용자 일괄 삭제 (관리자 강제 로그아웃)
+	void deleteAllByUserIdentifiers(Collection<String> userIdentifiers);
+
+	// 세션 도입 전 리프레시 토큰 (사용자당 하나) - 저장된 토큰과 같을 때만 삭제, 전환 기간에만 사용
+	boolean deleteLegacyIfMatches(String userIdentifier, String refreshToken);
 }
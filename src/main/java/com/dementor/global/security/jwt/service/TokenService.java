@@ -1,120 +1,348 @@
 package com.dementor.global.security.jwt.service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
 
 import com.dementor.global.security.CustomUserDetails;
 import com.dementor.global.security.CustomUserDetailsService;
 import com.dementor.global.security.jwt.JwtTokenProvider;
 import com.dementor.global.security.jwt.RefreshToken_Role;
+import com.dementor.global.security.jwt.VerifiedTokenCache;
 import com.dementor.global.security.jwt.dto.TokenDto;
 import com.dementor.global.security.jwt.repository.RefreshTokenRepository;
+import com.dementor.global.security.jwt.repository.RefreshTokenRepository.RefreshSession;
+import com.dementor.global.security.jwt.repository.RefreshTokenRepository.RotationResult;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * 토큰 발급/갱신/로그아웃
+ * - 로그인마다 기기별 세션 생성 (다른 기기에서 로그인해도 기존 세션 유지), 세션 목록 조회/삭제 가능
+ * - 갱신할 때마다 리프레시 토큰 교체 (Redis 왕복 한 번), 이미 교체된 토큰이 다시 오면 해당 세션 삭제
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class TokenService {
+	private static final int MAX_DEVICE_LENGTH = 200;
+
 	private final JwtTokenProvider tokenProvider;
 	private final RefreshTokenRepository refreshTokenRepository;
 	private final CustomUserDetailsService customUserDetailsService;
+	private final VerifiedTokenCache verifiedTokenCache;
+	private final int maxSessionsPerUser;
+	private final long reuseGraceMs;
+
+	// 진행 중인 갱신 (리프레시 토큰 -> 결과)
+	private final Map<String, CompletableFuture<TokenDto>> inFlightRefreshes = new ConcurrentHashMap<>();
+
+	public TokenService(
+		JwtTokenProvider tokenProvider,
+		RefreshTokenRepository refreshTokenRepository,
+		CustomUserDetailsService customUserDetailsService,
+		VerifiedTokenCache verifiedTokenCache,
+		@Value("${jwt.session.max-per-user}") int maxSessionsPerUser,
+		@Value("${jwt.session.reuse-grace-ms}") long reuseGraceMs
+	) {
+		this.tokenProvider = tokenProvider;
+		this.refreshTokenRepository = refreshTokenRepository;
+		this.customUserDetailsService = customUserDetailsService;
+		this.verifiedTokenCache = verifiedTokenCache;
+		this.maxSessionsPerUser = maxSessionsPerUser;
+		this.reuseGraceMs = reuseGraceMs;
+	}
 
-	// Member 토큰 생성
-	public TokenDto createMemberTokens(Authentication authentication, Long memberId, String nickname) {
+	/**
+	 * Member 토큰 생성 (새 세션)
+	 * - previousRefreshToken: 같은 브라우저에 남아 있던 리프레시 토큰, 있으면 그 세션은 정리
+	 */
+	public TokenDto createMemberTokens(Authentication authentication, Long memberId, String nickname, String device,
+		String previousRefreshToken) {
 		String userEmail = authentication.getName();
+		endPreviousSession(previousRefreshToken);
 
 		// 액세스 토큰 생성
 		String accessToken = tokenProvider.createMemberToken(authentication, memberId, nickname);
 
 		// 리프레시 토큰 생성
-		String refreshToken = tokenProvider.createRefreshToken(userEmail, RefreshToken_Role.ROLE_MEMBER);
+		String sessionId = newId();
+		String tokenId = newId();
+		String refreshToken = tokenProvider.createMemberRefreshToken(authentication, memberId, nickname, sessionId,
+			tokenId);
 
-		// Redis에 리프레시 토큰 저장
-		refreshTokenRepository.save(
-			userEmail,
-			refreshToken,
-			tokenProvider.getRefreshTokenValidityInMilliseconds()
-		);
+		// Redis에 세션 저장
+		createSession(userEmail, sessionId, tokenId, device);
 
 		return new TokenDto(accessToken, refreshToken);
 	}
 
-	// Admin 토큰 생성
-	public TokenDto createAdminTokens(Long adminId, String username) {
+	// Admin 토큰 생성 (새 세션)
+	public TokenDto createAdminTokens(Long adminId, String username, String device, String previousRefreshToken) {
+		endPreviousSession(previousRefreshToken);
 
 		// 액세스 토큰 생성
 		String accessToken = tokenProvider.createAdminToken(adminId);
 
 		// 리프레시 토큰 생성
-		String refreshToken = tokenProvider.createRefreshToken(username, RefreshToken_Role.ROLE_ADMIN);
+		String sessionId = newId();
+		String tokenId = newId();
+		String refreshToken = tokenProvider.createAdminRefreshToken(username, adminId, sessionId, tokenId);
 
-		// Redis에 리프레시 토큰 저장
-		refreshTokenRepository.save(
-			username,
-			refreshToken,
-			tokenProvider.getRefreshTokenValidityInMilliseconds()
-		);
+		// Redis에 세션 저장
+		createSession(username, sessionId, tokenId, device);
 
 		return new TokenDto(accessToken, refreshToken);
 	}
 
 	// 리프레시 토큰으로 액세스 토큰 갱신 - 공통 로직
 	public TokenDto refreshAccessToken(String refreshToken) {
+		Claims claims = tokenProvider.parseRefreshToken(refreshToken)
+			.orElseThrow(() -> new RuntimeException("유효하지 않은 리프레시 토큰입니다"));
+		return refreshAccessToken(refreshToken, claims);
+	}
 
-		// 토큰 유효성 검사
-		if (!refreshTokenRepository.validateRefreshToken(refreshToken)) {
+	/**
+	 * 이미 서명을 검증한 리프레시 토큰으로 갱신 (필터에서 파싱한 Claims 를 그대로 사용)
+	 * - 같은 리프레시 토큰으로 동시에 들어온 갱신은 먼저 시작한 한 건의 결과를 같이 받음 (single-flight)
+	 *   액세스 토큰 만료 직후 SPA 가 여러 API 를 한꺼번에 호출해도 Redis 조회/토큰 발급은 한 번
+	 * - 돌려주는 리프레시 토큰이 null 이면 쿠키의 리프레시 토큰을 그대로 사용 (다른 요청이 방금 교체함)
+	 */
+	public TokenDto refreshAccessToken(String refreshToken, Claims claims) {
+		CompletableFuture<TokenDto> mine = new CompletableFuture<>();
+		CompletableFuture<TokenDto> inFlight = inFlightRefreshes.putIfAbsent(refreshToken, mine);
+		if (inFlight != null) {
+			try {
+				return inFlight.join();
+			} catch (CompletionException e) {
+				throw e.getCause() instanceof RuntimeException cause ? cause : e;
+			}
+		}
+
+		try {
+			TokenDto tokens = issueAccessToken(refreshToken, claims);
+			mine.complete(tokens);
+			return tokens;
+		} catch (RuntimeException e) {
+			mine.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlightRefreshes.remove(refreshToken, mine);
+		}
+	}
+
+	/**
+	 * 실제 갱신
+	 * - 새 리프레시 토큰을 만들어 세션의 현재 토큰과 비교 후 교체 (Lua 스크립트, Redis 왕복 한 번)
+	 * - 새 액세스 토큰은 리프레시 토큰에 담긴 사용자 정보로 발급, 정보가 바뀐 세션이면 DB 조회 후 다시 교체
+	 */
+	private TokenDto issueAccessToken(String refreshToken, Claims claims) {
+
+		// 만료된 토큰은 갱신 불가
+		if (tokenProvider.isExpired(claims)) {
 			throw new RuntimeException("유효하지 않은 리프레시 토큰입니다");
 		}
 
 		// 토큰에서 사용자 식별자 추출
-		String userIdentifier = tokenProvider.getUserIdentifierFromRefreshToken(refreshToken);
+		String userIdentifier = claims.getSubject();
+		String sessionId = tokenProvider.getSessionId(claims);
+		if (sessionId == null) {
+			return migrateLegacyToken(userIdentifier, refreshToken);
+		}
 
-		// Redis에서 사용자의 리프레시 토큰 조회
-		String savedToken = refreshTokenRepository.findByUserIdentifier(userIdentifier)
-			.orElseThrow(() -> {
-				return new RuntimeException("저장된 리프레시 토큰이 없습니다");
-			});
+		String newTokenId = newId();
+		String newRefreshToken = tokenProvider.rotateRefreshToken(claims, newTokenId);
+		RotationResult result = refreshTokenRepository.rotate(userIdentifier, sessionId, claims.getId(), newTokenId,
+			tokenProvider.getRefreshTokenValidityInMilliseconds(), reuseGraceMs, false);
 
-		// 저장된 토큰과 받은 토큰이 일치하는지 확인
-		if (!savedToken.equals(refreshToken)) {
-			throw new RuntimeException("토큰이 일치하지 않습니다");
+		switch (result) {
+			case ROTATED:
+				return new TokenDto(createAccessTokenFromClaims(claims), newRefreshToken);
+			case CLAIMS_STALE:
+				return rotateWithLatestClaims(userIdentifier, sessionId, claims.getId());
+			case RECENTLY_ROTATED:
+				// 리프레시 토큰은 먼저 교체한 요청의 응답 쿠키로 이미 전달됨
+				return new TokenDto(createAccessTokenFromClaims(claims), null);
+			case REUSED:
+				log.warn("이미 교체된 리프레시 토큰 재사용 - 세션 삭제 (user={}, session={})", userIdentifier, sessionId);
+				// 로그아웃과 같이 이 노드에 캐시된 검증 결과도 제거
+				verifiedTokenCache.evictSubject(userIdentifier);
+				throw new RuntimeException("이미 사용된 리프레시 토큰입니다");
+			default:
+				throw new RuntimeException("저장된 리프레시 토큰이 없습니다");
 		}
+	}
 
-		Claims claims = Jwts
-			.parserBuilder()
-			.setSigningKey(tokenProvider.getKey())
-			.build()
-			.parseClaimsJws(refreshToken)
-			.getBody();
+	// 권한/닉네임이 바뀐 세션 - DB 에서 읽은 정보로 두 토큰을 새로 만들어 교체
+	private TokenDto rotateWithLatestClaims(String userIdentifier, String sessionId, String currentTokenId) {
+		CustomUserDetails userDetails = (CustomUserDetails)customUserDetailsService.loadUserByUsername(userIdentifier);
+		String newTokenId = newId();
+		String accessToken;
+		String newRefreshToken;
+		if (isAdmin(userDetails)) {
+			accessToken = tokenProvider.createAdminToken(userDetails.getId());
+			newRefreshToken = tokenProvider.createAdminRefreshToken(userIdentifier, userDetails.getId(), sessionId,
+				newTokenId);
+		} else {
+			Authentication authentication = toAuthentication(userDetails);
+			accessToken = tokenProvider.createMemberToken(authentication, userDetails.getId(),
+				userDetails.getNickname());
+			newRefreshToken = tokenProvider.createMemberRefreshToken(authentication, userDetails.getId(),
+				userDetails.getNickname(), sessionId, newTokenId);
+		}
+
+		RotationResult result = refreshTokenRepository.rotate(userIdentifier, sessionId, currentTokenId, newTokenId,
+			tokenProvider.getRefreshTokenValidityInMilliseconds(), reuseGraceMs, true);
+		if (result == RotationResult.ROTATED) {
+			return new TokenDto(accessToken, newRefreshToken);
+		}
+		if (result == RotationResult.RECENTLY_ROTATED) {
+			return new TokenDto(accessToken, null);
+		}
+		throw new RuntimeException("리프레시 토큰 교체에 실패했습니다");
+	}
 
-		RefreshToken_Role role = RefreshToken_Role.fromRole((String)claims.get("sub"));
+	// 세션 도입 전 리프레시 토큰 - 저장된 토큰과 같으면 한 번만 새 세션으로 바꿔 줌
+	private TokenDto migrateLegacyToken(String userIdentifier, String refreshToken) {
+		if (!refreshTokenRepository.deleteLegacyIfMatches(userIdentifier, refreshToken)) {
+			throw new RuntimeException("저장된 리프레시 토큰이 없습니다");
+		}
 		CustomUserDetails userDetails = (CustomUserDetails)customUserDetailsService.loadUserByUsername(userIdentifier);
+		if (isAdmin(userDetails)) {
+			return createAdminTokens(userDetails.getId(), userIdentifier, null, null);
+		}
+		return createMemberTokens(toAuthentication(userDetails), userDetails.getId(), userDetails.getNickname(),
+			null, null);
+	}
+
+	private String createAccessTokenFromClaims(Claims claims) {
+		return tokenProvider.createAccessTokenFromRefreshClaims(claims)
+			.orElseThrow(() -> new RuntimeException("유효하지 않은 리프레시 토큰입니다"));
+	}
 
-		String newAccessToken;
+	private boolean isAdmin(CustomUserDetails userDetails) {
+		return userDetails.getAuthorities().stream()
+			.anyMatch(authority -> authority.getAuthority().equals(RefreshToken_Role.ROLE_ADMIN.name()));
+	}
+
+	private Authentication toAuthentication(CustomUserDetails userDetails) {
+		return new UsernamePasswordAuthenticationToken(
+			userDetails,  // principal
+			null,         // credentials (토큰 갱신 시에는 필요 없음)
+			userDetails.getAuthorities()  // authorities
+		);
+	}
 
-		if (role.equals(RefreshToken_Role.ROLE_ADMIN)) {
-			Long adminId = userDetails.getId();
-			newAccessToken = tokenProvider.createAdminToken(adminId);
+	private void createSession(String userIdentifier, String sessionId, String tokenId, String device) {
+		String label = device != null && device.length() > MAX_DEVICE_LENGTH
+			? device.substring(0, MAX_DEVICE_LENGTH) : device;
+		refreshTokenRepository.createSession(userIdentifier, sessionId, tokenId, label,
+			tokenProvider.getRefreshTokenValidityInMilliseconds(), maxSessionsPerUser);
+	}
+
+	// 같은 브라우저에서 다시 로그인 - 서명이 맞는 이전 토큰의 세션은 삭제 (세션이 쌓이지 않도록)
+	private void endPreviousSession(String previousRefreshToken) {
+		if (!StringUtils.hasText(previousRefreshToken)) {
+			return;
+		}
+		tokenProvider.parseRefreshToken(previousRefreshToken).ifPresent(claims -> {
+			String sessionId = tokenProvider.getSessionId(claims);
+			if (sessionId != null) {
+				refreshTokenRepository.deleteSession(claims.getSubject(), sessionId);
+			}
+		});
+	}
+
+	private static String newId() {
+		return UUID.randomUUID().toString();
+	}
+
+	/**
+	 * 권한/닉네임 변경 후 호출 - 이후 갱신은 DB 에서 최신 정보를 읽어 발급
+	 * - 트랜잭션 안이면 커밋 후에 표시 (커밋 전에 표시하면 그 사이 갱신이 예전 정보를 다시 읽고 표시를 지움)
+	 * - Redis 실패는 로그만 남김 (변경 자체를 롤백하지 않음, 다음 로그인부터 새 정보)
+	 */
+	public void markClaimsStale(String userIdentifier) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					markClaimsStaleNow(userIdentifier);
+				}
+			});
 		} else {
-			Long memberId = userDetails.getId();
-			String nickname = userDetails.getNickname();
-			Authentication newAuth = new UsernamePasswordAuthenticationToken(
-				userDetails,  // principal
-				null,         // credentials (토큰 갱신 시에는 필요 없음)
-				userDetails.getAuthorities()  // authorities
-			);
-			newAccessToken = tokenProvider.createMemberToken(newAuth, memberId, nickname);
+			markClaimsStaleNow(userIdentifier);
 		}
+	}
 
-		// 리프레시 토큰은 재사용
-		return new TokenDto(newAccessToken, refreshToken);
+	private void markClaimsStaleNow(String userIdentifier) {
+		try {
+			refreshTokenRepository.markClaimsStale(userIdentifier);
+		} catch (RuntimeException e) {
+			log.error("리프레시 토큰 사용자 정보 변경 표시 실패 (user={})", userIdentifier, e);
+		}
 	}
 
+	public List<RefreshSession> getSessions(String userIdentifier) {
+		return refreshTokenRepository.findSessions(userIdentifier);
+	}
+
+	// 요청에 실린 리프레시 토큰의 세션 id (현재 기기 표시용)
+	public Optional<String> getSessionId(String refreshToken) {
+		if (!StringUtils.hasText(refreshToken)) {
+			return Optional.empty();
+		}
+		return tokenProvider.parseRefreshToken(refreshToken).map(tokenProvider::getSessionId);
+	}
+
+	// 세션(기기) 하나 로그아웃 - 그 기기의 액세스 토큰은 만료(최대 30분)까지 유효
+	public boolean revokeSession(String userIdentifier, String sessionId) {
+		return refreshTokenRepository.deleteSession(userIdentifier, sessionId);
+	}
+
+	// 모든 기기 로그아웃
 	public void logout(String userEmail) {
 		refreshTokenRepository.deleteByUserIdentifier(userEmail);
+		verifiedTokenCache.evictSubject(userEmail);
+	}
+
+	// 요청에 실린 리프레시 토큰의 세션만 로그아웃
+	public void logoutDevice(String refreshToken) {
+		if (!StringUtils.hasText(refreshToken)) {
+			return;
+		}
+		tokenProvider.parseRefreshToken(refreshToken).ifPresent(claims -> logout(claims, refreshToken));
+	}
+
+	// 리프레시 토큰이 세션의 현재 토큰일 때만 로그아웃 (이미 교체된 예전 쿠키가 세션을 지우지 않도록)
+	public void logout(Claims refreshClaims, String refreshToken) {
+		String userIdentifier = refreshClaims.getSubject();
+		String sessionId = tokenProvider.getSessionId(refreshClaims);
+		boolean deleted = sessionId != null
+			? refreshTokenRepository.deleteSessionIfMatches(userIdentifier, sessionId, refreshClaims.getId())
+			: refreshTokenRepository.deleteLegacyIfMatches(userIdentifier, refreshToken);
+		if (deleted) {
+			verifiedTokenCache.evictSubject(userIdentifier);
+		}
+	}
+
+	// 관리자 일괄 로그아웃 - Redis 삭제는 파이프라인 한 번
+	public void logoutAll(Collection<String> userIdentifiers) {
+		refreshTokenRepository.deleteAllByUserIdentifiers(userIdentifiers);
+		userIdentifiers.forEach(verifiedTokenCache::evictSubject);
 	}
 
 }
@@ -0,0 +1,62 @@
+package com.dementor.global.storage;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 첨부 파일 저장소 (file.storage.type 으로 구현 선택)
+ * - firebase: Firebase Storage (기본값), storeFilePath = firebase:{directory}/{filename} (예전 첨부는 서명된 URL)
+ * - local: 로컬 디스크, storeFilePath = local:{directory}/{filename}
+ * - 반환한 storeFilePath 를 그대로 DB 에 저장하고, 조회/삭제 시 다시 넘겨받음
+ */
+public interface BlobStore {
+
+	String uploadFile(MultipartFile file, String directory);
+
+	String uploadFile(byte[] fileData, String originalFilename, String contentType, String directory);
+
+	// 이 저장소가 관리하지 않는 경로는 무시
+	void deleteFile(String storeFilePath);
+
+	/**
+	 * 파일 읽기 (본문은 BlobStream.transferTo 로 흘려보냄)
+	 * - range 는 HTTP Range 헤더 값 그대로 (없으면 null), 결과 status 는 200 / 206 / 404 / 416
+	 */
+	BlobStream openFile(String storeFilePath, String range);
+
+	/**
+	 * 클라이언트가 저장소에서 직접 내려받을 수 있는 짧은 유효기간의 URL (리다이렉트용)
+	 * - downloadFilename 이 있으면 그 이름으로 내려받도록 함
+	 * - 지원하지 않는 저장소/경로면 empty -> 호출자가 openFile 로 직접 스트리밍
+	 */
+	default Optional<String> downloadUrl(String storeFilePath, String downloadFilename) {
+		return Optional.empty();
+	}
+
+	// 저장 파일명 생성 (UUID + 원본 확장자, 확장자가 없으면 컨텐츠 타입으로 결정)
+	static String generateFilename(String originalFilename, String contentType) {
+		String filename = UUID.randomUUID().toString();
+		if (originalFilename != null && !originalFilename.isEmpty()) {
+			int lastDotIndex = originalFilename.lastIndexOf(".");
+			if (lastDotIndex > 0) {
+				filename += originalFilename.substring(lastDotIndex);
+			}
+		} else if (contentType != null) {
+			if (contentType.equals("image/png"))
+				filename += ".png";
+			else if (contentType.equals("image/jpeg"))
+				filename += ".jpg";
+			else if (contentType.equals("image/gif"))
+				filename += ".gif";
+			else if (contentType.equals("application/pdf"))
+				filename += ".pdf";
+			else if (contentType.equals("text/plain"))
+				filename += ".txt";
+			else
+				filename += ".bin";
+		}
+		return filename;
+	}
+}
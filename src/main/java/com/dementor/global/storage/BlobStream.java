@@ -0,0 +1,54 @@
+package com.dementor.global.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 저장소에서 연 파일 (본문은 아직 읽지 않은 상태)
+ * - transferTo 로 한 번만 복사할 수 있고, 복사가 끝나거나 실패하면 저장소 자원(연결/파일 채널)을 닫음
+ * - status 가 200 / 206 이 아니면 본문이 없음
+ */
+@Getter
+@Builder
+public class BlobStream implements Closeable {
+
+	private final int status;
+	private final String contentType; // 모르면 null
+	private final long contentLength; // 모르면 -1
+	private final String contentRange;
+
+	@Getter(AccessLevel.NONE)
+	private final BodyWriter body;
+	@Getter(AccessLevel.NONE)
+	private final Closeable resource;
+
+	public boolean isReadable() {
+		return body != null && (status == 200 || status == 206);
+	}
+
+	public void transferTo(OutputStream out) throws IOException {
+		try {
+			body.writeTo(out);
+			out.flush();
+		} finally {
+			close();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (resource != null) {
+			resource.close();
+		}
+	}
+
+	@FunctionalInterface
+	public interface BodyWriter {
+		void writeTo(OutputStream out) throws IOException;
+	}
+}
@@ -0,0 +1,209 @@
+package com.dementor.global.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 로컬 디스크 저장소 (file.storage.type=local 일 때만 등록)
+ * - 클라우드 계정 없이 업로드/다운로드 부하 테스트, 사내(on-prem) 노드 운영용
+ * - 업로드는 임시 파일에 쓴 뒤 원자적 이동 (읽는 쪽에서 쓰다 만 파일을 보지 않도록)
+ * - 다운로드는 FileChannel.transferTo 로 파일 -> 응답 채널 복사 (힙 버퍼를 거치지 않음)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "local")
+public class LocalBlobStore implements BlobStore {
+
+	static final String PATH_PREFIX = "local:";
+
+	private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+	private final Path baseDir;
+
+	public LocalBlobStore(@Value("${file.storage.local.base-dir}") String baseDir) {
+		this.baseDir = Paths.get(baseDir).toAbsolutePath().normalize();
+		try {
+			Files.createDirectories(this.baseDir);
+		} catch (IOException e) {
+			throw new UncheckedIOException("로컬 저장소 디렉토리를 만들 수 없습니다: " + this.baseDir, e);
+		}
+		log.info("로컬 파일 저장소 사용: {}", this.baseDir);
+	}
+
+	@Override
+	public String uploadFile(MultipartFile file, String directory) {
+		String relativePath = directory + "/" + BlobStore.generateFilename(file.getOriginalFilename(),
+			file.getContentType());
+		try {
+			// 멀티파트 임시 파일이 있으면 복사 대신 이동
+			store(relativePath, tempFile -> file.transferTo(tempFile));
+			return PATH_PREFIX + relativePath;
+		} catch (IOException e) {
+			log.error("로컬 저장소 파일 업로드 실패", e);
+			throw new RuntimeException("파일 업로드 실패: " + e.getMessage());
+		}
+	}
+
+	@Override
+	public String uploadFile(byte[] fileData, String originalFilename, String contentType, String directory) {
+		String relativePath = directory + "/" + BlobStore.generateFilename(originalFilename, contentType);
+		try {
+			store(relativePath, tempFile -> Files.write(tempFile, fileData));
+			return PATH_PREFIX + relativePath;
+		} catch (IOException e) {
+			log.error("로컬 저장소 파일 업로드 실패", e);
+			throw new RuntimeException("파일 업로드 실패: " + e.getMessage());
+		}
+	}
+
+	@Override
+	public void deleteFile(String storeFilePath) {
+		Path path = resolve(storeFilePath);
+		if (path == null) {
+			log.warn("삭제할 파일 경로를 찾을 수 없음: {}", storeFilePath);
+			return;
+		}
+		try {
+			if (Files.deleteIfExists(path)) {
+				log.info("로컬 저장소에서 파일 삭제 완료: {}", path);
+			} else {
+				log.warn("로컬 저장소에서 파일을 찾을 수 없음: {}", path);
+			}
+		} catch (IOException e) {
+			log.error("로컬 저장소 파일 삭제 실패", e);
+			throw new RuntimeException("파일 삭제 실패: " + e.getMessage());
+		}
+	}
+
+	@Override
+	public BlobStream openFile(String storeFilePath, String range) {
+		Path path = resolve(storeFilePath);
+		if (path == null) {
+			return BlobStream.builder().status(404).contentLength(-1).build();
+		}
+
+		FileChannel channel;
+		long size;
+		try {
+			channel = FileChannel.open(path, StandardOpenOption.READ);
+			size = channel.size();
+		} catch (NoSuchFileException e) {
+			return BlobStream.builder().status(404).contentLength(-1).build();
+		} catch (IOException e) {
+			throw new UncheckedIOException("파일을 열 수 없습니다: " + storeFilePath, e);
+		}
+
+		long start = 0;
+		long end = size - 1;
+		int status = 200;
+		String contentRange = null;
+		Matcher matcher = range == null ? null : RANGE.matcher(range.trim());
+		if (matcher != null && matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+			if (matcher.group(1).isEmpty()) {
+				// bytes=-N : 마지막 N 바이트
+				start = Math.max(0, size - Long.parseLong(matcher.group(2)));
+			} else {
+				start = Long.parseLong(matcher.group(1));
+				if (!matcher.group(2).isEmpty()) {
+					end = Math.min(Long.parseLong(matcher.group(2)), size - 1);
+				}
+			}
+			if (start >= size || start > end) {
+				closeQuietly(channel);
+				return BlobStream.builder()
+					.status(416)
+					.contentLength(-1)
+					.contentRange("bytes */" + size)
+					.build();
+			}
+			status = 206;
+			contentRange = "bytes " + start + "-" + end + "/" + size;
+		}
+
+		long position = start;
+		long count = end - start + 1;
+		return BlobStream.builder()
+			.status(status)
+			.contentType(probeContentType(path))
+			.contentLength(count)
+			.contentRange(contentRange)
+			.body(out -> transfer(channel, position, count, Channels.newChannel(out)))
+			.resource(channel)
+			.build();
+	}
+
+	// 한 번의 transferTo 가 요청한 만큼 다 보내지 않을 수 있으므로 남은 만큼 반복
+	private void transfer(FileChannel channel, long position, long count, WritableByteChannel target)
+		throws IOException {
+		long remaining = count;
+		while (remaining > 0) {
+			long sent = channel.transferTo(position, remaining, target);
+			if (sent <= 0) {
+				break;
+			}
+			position += sent;
+			remaining -= sent;
+		}
+	}
+
+	private void store(String relativePath, TempFileWriter writer) throws IOException {
+		Path target = baseDir.resolve(relativePath).normalize();
+		Files.createDirectories(target.getParent());
+		Path tempFile = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+		try {
+			writer.write(tempFile);
+			Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+			log.info("로컬 저장소에 파일 업로드 완료: {}", relativePath);
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	// local: 경로가 아니거나 저장소 밖을 가리키면 null
+	private Path resolve(String storeFilePath) {
+		if (storeFilePath == null || !storeFilePath.startsWith(PATH_PREFIX)) {
+			return null;
+		}
+		Path path = baseDir.resolve(storeFilePath.substring(PATH_PREFIX.length())).normalize();
+		return path.startsWith(baseDir) ? path : null;
+	}
+
+	private String probeContentType(Path path) {
+		try {
+			return Files.probeContentType(path);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private void closeQuietly(FileChannel channel) {
+		try {
+			channel.close();
+		} catch (IOException ignored) {
+			// 읽기 전용 채널 - 닫기 실패는 무시
+		}
+	}
+
+	@FunctionalInterface
+	private interface TempFileWriter {
+		void write(Path tempFile) throws IOException;
+	}
+}
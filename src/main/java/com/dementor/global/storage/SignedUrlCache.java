@@ -0,0 +1,156 @@
+package com.dementor.global.storage;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 서명된 URL 캐시 (객체 경로 + 다운로드 파일명 -> URL)
+ * - URL 은 서명 후 urlExpiryMs 동안 유효, 캐시에는 ttlMs(< urlExpiryMs) 동안만 보관
+ *   -> 캐시에서 꺼내 준 URL 은 최소 urlExpiryMs - ttlMs 동안 유효 (리다이렉트 받은 클라이언트가 쓸 시간)
+ * - 캐시에 없거나 보관 시간이 지나면 그 자리에서 서명
+ * - refreshIntervalMs 마다 지난 주기에 쓰인 항목 중 다음 주기 안에 보관 시간이 끝나는 것들을 한꺼번에 다시 서명
+ *   (자주 쓰는 URL 은 조회 경로에서 서명하지 않음), 한 주기 동안 안 쓰인 항목은 삭제
+ */
+@Slf4j
+public class SignedUrlCache {
+
+	public record Key(String objectName, String downloadFilename) {
+	}
+
+	private static final class Entry {
+		private final String url;
+		private final long cachedUntil;
+		private boolean used;
+
+		private Entry(String url, long cachedUntil) {
+			this.url = url;
+			this.cachedUntil = cachedUntil;
+		}
+	}
+
+	private final Function<Key, String> signer;
+	private final long ttlMs;
+	private final long refreshIntervalMs;
+	private final int maxEntries;
+	private final LongSupplier clock;
+
+	// access-order LRU, 최대 maxEntries 개
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private ScheduledExecutorService scheduler;
+
+	public SignedUrlCache(Function<Key, String> signer, long urlExpiryMs, long ttlMs, long refreshIntervalMs,
+		int maxEntries, LongSupplier clock) {
+		if (ttlMs >= urlExpiryMs) {
+			throw new IllegalArgumentException("서명된 URL 캐시 보관 시간은 URL 만료 시간보다 짧아야 합니다.");
+		}
+		this.signer = signer;
+		this.ttlMs = ttlMs;
+		this.refreshIntervalMs = refreshIntervalMs;
+		this.maxEntries = maxEntries;
+		this.clock = clock;
+	}
+
+	public String get(Key key) {
+		long now = clock.getAsLong();
+		synchronized (this) {
+			Entry entry = entries.get(key);
+			if (entry != null && now < entry.cachedUntil) {
+				entry.used = true;
+				return entry.url;
+			}
+		}
+
+		// 서명은 잠금 밖에서 (동시에 같은 키를 서명해도 결과는 둘 다 유효)
+		Entry signed = new Entry(signer.apply(key), now + ttlMs);
+		signed.used = true;
+		put(key, signed);
+		return signed.url;
+	}
+
+	/**
+	 * 주기 갱신 1회
+	 * - 안 쓰인 항목 삭제, 쓰인 항목 중 곧 보관 시간이 끝나는 것들을 모아 다시 서명
+	 */
+	public void refresh() {
+		long now = clock.getAsLong();
+		List<Key> expiring = new ArrayList<>();
+		synchronized (this) {
+			Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<Key, Entry> next = iterator.next();
+				Entry entry = next.getValue();
+				if (!entry.used) {
+					iterator.remove();
+				} else if (entry.cachedUntil - now <= refreshIntervalMs) {
+					expiring.add(next.getKey());
+				} else {
+					entry.used = false;
+				}
+			}
+		}
+
+		for (Key key : expiring) {
+			try {
+				put(key, new Entry(signer.apply(key), now + ttlMs));
+			} catch (RuntimeException e) {
+				// 다시 서명하지 못한 항목은 다음 조회 때 그 자리에서 서명
+				log.warn("서명된 URL 갱신 실패 ({}): {}", key.objectName(), e.getMessage());
+				synchronized (this) {
+					entries.remove(key);
+				}
+			}
+		}
+		if (!expiring.isEmpty()) {
+			log.debug("서명된 URL {}개 갱신", expiring.size());
+		}
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized void start() {
+		if (scheduler != null) {
+			return;
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "signed-url-refresh");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(() -> {
+			try {
+				refresh();
+			} catch (RuntimeException e) {
+				log.warn("서명된 URL 캐시 갱신 실패: {}", e.getMessage());
+			}
+		}, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+	}
+
+	public synchronized void stop() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+
+	private synchronized void put(Key key, Entry entry) {
+		entries.put(key, entry);
+		if (entries.size() > maxEntries) {
+			Iterator<Key> eldest = entries.keySet().iterator();
+			eldest.next();
+			eldest.remove();
+		}
+	}
+}
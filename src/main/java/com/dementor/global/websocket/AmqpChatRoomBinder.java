@@ -0,0 +1,33 @@
+package com.dementor.global.websocket;
+
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Binding;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 노드 전용 큐를 amq.topic 의 채팅방 라우팅 키에 바인딩
+ * - ChatMessageService 가 amq.topic / chat.room.{id} 로 발행하므로 발행 쪽은 그대로
+ */
+@RequiredArgsConstructor
+public class AmqpChatRoomBinder implements ChatRoomBinder {
+
+	static final String EXCHANGE = "amq.topic";
+
+	private final AmqpAdmin amqpAdmin;
+	private final String queueName;
+
+	@Override
+	public void bind(String routingKey) {
+		amqpAdmin.declareBinding(binding(routingKey));
+	}
+
+	@Override
+	public void unbind(String routingKey) {
+		amqpAdmin.removeBinding(binding(routingKey));
+	}
+
+	private Binding binding(String routingKey) {
+		return new Binding(queueName, Binding.DestinationType.QUEUE, EXCHANGE, routingKey, null);
+	}
+}
@@ -0,0 +1,110 @@
+package com.dementor.global.websocket;
+
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionListener;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 다중 노드용 채팅 브로드캐스트 (chat.broker.mode=node-routing 일 때만 등록)
+ * - 노드마다 전용 큐(exclusive, auto-delete)를 만들고, 이 노드에 구독자가 있는 방의 라우팅 키만 바인딩
+ * - 브로커가 구독자가 있는 노드에만 메시지를 보내고, 노드는 받은 메시지를 로컬 simple broker 로 세션에 전달
+ * - 노드가 죽으면 큐와 바인딩이 함께 사라짐, 브로커 재연결 시 현재 구독 중인 방을 다시 바인딩
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "node-routing")
+public class ChatNodeRoutingConfig {
+
+	@Bean
+	public AnonymousQueue chatNodeQueue() {
+		return new AnonymousQueue(new Base64UrlNamingStrategy("chat.node."));
+	}
+
+	@Bean
+	public ChatRoomSubscriptionRegistry chatRoomSubscriptionRegistry(AmqpAdmin amqpAdmin,
+		AnonymousQueue chatNodeQueue, ConnectionFactory connectionFactory) {
+		ChatRoomSubscriptionRegistry registry = new ChatRoomSubscriptionRegistry(
+			new AmqpChatRoomBinder(amqpAdmin, chatNodeQueue.getName()));
+
+		// RabbitAdmin 이 큐를 다시 선언한 뒤(먼저 등록된 리스너) 동적 바인딩 복구
+		connectionFactory.addConnectionListener(new ConnectionListener() {
+			@Override
+			public void onCreate(Connection connection) {
+				try {
+					registry.rebindAll();
+				} catch (RuntimeException e) {
+					log.error("채팅방 바인딩 복구 실패", e);
+				}
+			}
+		});
+		return registry;
+	}
+
+	@Bean
+	public SimpleMessageListenerContainer chatNodeListenerContainer(ConnectionFactory connectionFactory,
+		AnonymousQueue chatNodeQueue, SimpMessagingTemplate brokerMessagingTemplate) {
+		SimpleMessageListenerContainer container = new SimpleMessageListenerContainer(connectionFactory);
+		container.setQueues(chatNodeQueue);
+		// 발행 시 이미 JSON 으로 직렬화된 본문을 그대로 로컬 구독자에게 전달
+		container.setMessageListener((MessageListener)message -> {
+			String routingKey = message.getMessageProperties().getReceivedRoutingKey();
+			SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+			accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+			accessor.setLeaveMutable(true);
+			brokerMessagingTemplate.send(ChatRoomSubscriptionRegistry.DESTINATION_PREFIX + routingKey,
+				MessageBuilder.createMessage(message.getBody(), accessor.getMessageHeaders()));
+		});
+		return container;
+	}
+
+	@Bean
+	public ChatRoomSubscriptionEvents chatRoomSubscriptionEvents(ChatRoomSubscriptionRegistry registry) {
+		return new ChatRoomSubscriptionEvents(registry);
+	}
+
+	// STOMP 구독/해제/연결 종료 이벤트 -> 구독 현황 갱신
+	public static class ChatRoomSubscriptionEvents {
+
+		private final ChatRoomSubscriptionRegistry registry;
+
+		public ChatRoomSubscriptionEvents(ChatRoomSubscriptionRegistry registry) {
+			this.registry = registry;
+		}
+
+		@EventListener
+		public void onSubscribe(SessionSubscribeEvent event) {
+			StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+			registry.subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), accessor.getDestination());
+		}
+
+		@EventListener
+		public void onUnsubscribe(SessionUnsubscribeEvent event) {
+			StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+			registry.unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+		}
+
+		@EventListener
+		public void onDisconnect(SessionDisconnectEvent event) {
+			registry.disconnect(event.getSessionId());
+		}
+	}
+}
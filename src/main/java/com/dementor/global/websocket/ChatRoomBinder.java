@@ -0,0 +1,11 @@
+package com.dementor.global.websocket;
+
+/**
+ * 노드 큐와 채팅방 라우팅 키(chat.room.{id}) 사이의 브로커 바인딩
+ */
+public interface ChatRoomBinder {
+
+	void bind(String routingKey);
+
+	void unbind(String routingKey);
+}
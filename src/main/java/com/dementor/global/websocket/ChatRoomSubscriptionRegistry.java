@@ -0,0 +1,101 @@
+package com.dementor.global.websocket;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이 노드에 연결된 STOMP 세션들의 채팅방 구독 현황
+ * - 방(routing key)별 구독 수를 세어 첫 구독 시 bind, 마지막 구독 해제/연결 종료 시 unbind
+ * - bind/unbind 는 락 안에서 호출 (구독/해제가 동시에 들어와도 브로커 바인딩 순서가 뒤바뀌지 않도록)
+ *   바인딩은 방마다 처음/마지막 한 번씩만 일어나므로 락 경합은 크지 않음
+ */
+@Slf4j
+public class ChatRoomSubscriptionRegistry {
+
+	static final String DESTINATION_PREFIX = "/topic/";
+	static final String ROUTING_KEY_PREFIX = "chat.room.";
+
+	private final ChatRoomBinder binder;
+
+	// sessionId -> (subscriptionId -> routing key)
+	private final Map<String, Map<String, String>> subscriptionsBySession = new HashMap<>();
+	// routing key -> 이 노드의 구독 수
+	private final Map<String, Integer> subscriberCounts = new HashMap<>();
+
+	public ChatRoomSubscriptionRegistry(ChatRoomBinder binder) {
+		this.binder = binder;
+	}
+
+	public synchronized void subscribe(String sessionId, String subscriptionId, String destination) {
+		String routingKey = toRoutingKey(destination);
+		if (routingKey == null || sessionId == null || subscriptionId == null) {
+			return; // 채팅방 구독이 아님
+		}
+
+		Map<String, String> subscriptions = subscriptionsBySession.computeIfAbsent(sessionId, id -> new HashMap<>());
+		if (subscriptions.containsKey(subscriptionId)) {
+			return; // 같은 구독 중복 이벤트
+		}
+
+		if (!subscriberCounts.containsKey(routingKey)) {
+			binder.bind(routingKey); // 실패하면 예외 -> 구독 기록하지 않음
+		}
+		subscriptions.put(subscriptionId, routingKey);
+		subscriberCounts.merge(routingKey, 1, Integer::sum);
+	}
+
+	public synchronized void unsubscribe(String sessionId, String subscriptionId) {
+		Map<String, String> subscriptions = subscriptionsBySession.get(sessionId);
+		if (subscriptions == null) {
+			return;
+		}
+		String routingKey = subscriptions.remove(subscriptionId);
+		if (subscriptions.isEmpty()) {
+			subscriptionsBySession.remove(sessionId);
+		}
+		if (routingKey != null) {
+			release(routingKey);
+		}
+	}
+
+	// 연결 종료 시 UNSUBSCRIBE 없이 끊기는 경우가 많으므로 세션의 구독을 모두 정리
+	public synchronized void disconnect(String sessionId) {
+		Map<String, String> subscriptions = subscriptionsBySession.remove(sessionId);
+		if (subscriptions == null) {
+			return;
+		}
+		subscriptions.values().forEach(this::release);
+	}
+
+	// 브로커 재연결 시 현재 구독 중인 방을 다시 바인딩
+	public synchronized void rebindAll() {
+		subscriberCounts.keySet().forEach(binder::bind);
+	}
+
+	private void release(String routingKey) {
+		Integer remaining = subscriberCounts.computeIfPresent(routingKey, (key, count) -> count > 1 ? count - 1 : null);
+		if (remaining == null) {
+			try {
+				binder.unbind(routingKey);
+			} catch (RuntimeException e) {
+				// 바인딩이 남아도 메시지가 이 노드로 올 뿐 전달할 세션이 없어 버려짐
+				log.warn("채팅방 바인딩 해제 실패 ({}): {}", routingKey, e.getMessage());
+			}
+		}
+	}
+
+	// /topic/chat.room.{id} -> chat.room.{id}
+	static String toRoutingKey(String destination) {
+		if (destination == null || !destination.startsWith(DESTINATION_PREFIX + ROUTING_KEY_PREFIX)) {
+			return null;
+		}
+		String routingKey = destination.substring(DESTINATION_PREFIX.length());
+		String roomId = routingKey.substring(ROUTING_KEY_PREFIX.length());
+		if (roomId.isEmpty() || !roomId.chars().allMatch(Character::isDigit)) {
+			return null;
+		}
+		return routingKey;
+	}
+}
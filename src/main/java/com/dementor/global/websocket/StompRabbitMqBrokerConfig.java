@@ -23,6 +23,10 @@ public class StompRabbitMqBrokerConfig implements WebSocketMessageBrokerConfigur
 	@Value("${spring.rabbitmq.password}")
 	private String rabbitmqPassword;
 
+	// relay: 모든 노드가 RabbitMQ STOMP 로 중계 / node-routing: 노드별 큐 + 로컬 브로커 (ChatNodeRoutingConfig)
+	@Value("${chat.broker.mode}")
+	private String brokerMode;
+
 	@Override
 	public void registerStompEndpoints(StompEndpointRegistry registry) {
 		registry
@@ -41,8 +45,15 @@ public class StompRabbitMqBrokerConfig implements WebSocketMessageBrokerConfigur
 
 	@Override
 	public void configureMessageBroker(MessageBrokerRegistry registry) {
+		registry.setApplicationDestinationPrefixes("/app");// 클-> 서버
+
+		if ("node-routing".equals(brokerMode)) {
+			// 구독자가 있는 방의 메시지만 이 노드 큐로 받아 로컬 세션에 전달
+			registry.enableSimpleBroker("/topic");
+			return;
+		}
+
 		registry
-			.setApplicationDestinationPrefixes("/app")// 클-> 서버
 			.enableStompBrokerRelay("/topic") //서버->클 브로드캐스트 경로
 			.setRelayHost(rabbitmqHost)
 			.setRelayPort(61613)
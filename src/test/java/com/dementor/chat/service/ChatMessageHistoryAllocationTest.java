@@ -0,0 +1,138 @@
+package com.dementor.chat.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dementor.domain.chat.dto.ChatMessageResponseDto;
+import com.dementor.domain.chat.entity.ChatMessage;
+import com.dementor.domain.chat.entity.ChatRoom;
+import com.dementor.domain.chat.entity.RoomType;
+import com.dementor.domain.chat.entity.SenderType;
+import com.dementor.domain.chat.repository.ChatMessageRepository;
+import com.dementor.domain.chat.repository.ChatRoomRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 메시지 목록 조회 - 엔티티 조회 후 DTO 변환 vs DTO 프로젝션 비교
+ * - 한 페이지(100개) 조회 시 스레드 힙 할당량과 영속성 컨텍스트에 남는 엔티티 수 측정
+ */
+@Slf4j
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+public class ChatMessageHistoryAllocationTest {
+
+	private static final int PAGE_SIZE = 100;
+	private static final int WARMUP = 50;
+	private static final int ITERATIONS = 200;
+
+	@Autowired
+	private ChatRoomRepository chatRoomRepository;
+
+	@Autowired
+	private ChatMessageRepository chatMessageRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private Long chatRoomId;
+
+	@BeforeEach
+	void setUp() {
+		ChatRoom room = chatRoomRepository.save(ChatRoom.builder()
+			.roomType(RoomType.MENTORING_CHAT)
+			.mentorId(1L)
+			.menteeId(2L)
+			.lastMessageAt(ZonedDateTime.now())
+			.build());
+		chatRoomId = room.getChatRoomId();
+
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			chatMessageRepository.save(ChatMessage.builder()
+				.chatRoom(room)
+				.senderId(1L)
+				.senderType(SenderType.MEMBER)
+				.content("message-" + i)
+				.sentAt(ZonedDateTime.now())
+				.build());
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	@DisplayName("DTO 프로젝션은 영속성 컨텍스트에 엔티티를 남기지 않음")
+	void projectionDoesNotHydrateEntities() {
+		List<ChatMessageResponseDto> page = chatMessageRepository.findLatestPage(chatRoomId,
+			PageRequest.ofSize(PAGE_SIZE));
+
+		assertEquals(PAGE_SIZE, page.size());
+		assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+	}
+
+	@Test
+	@DisplayName("페이지당 힙 할당량 - DTO 프로젝션이 엔티티 조회보다 적음")
+	void projectionAllocatesLessThanEntityPath() {
+		long entityBytes = allocatedBytesPerPage(this::loadPageWithEntities);
+		long projectionBytes = allocatedBytesPerPage(this::loadPageWithProjection);
+
+		log.info("메시지 {}개 페이지당 할당량 - 엔티티: {} bytes, 프로젝션: {} bytes",
+			PAGE_SIZE, entityBytes, projectionBytes);
+		assertTrue(projectionBytes < entityBytes);
+	}
+
+	// 기존 방식: ChatMessage 엔티티 조회 (스냅샷 + 지연 로딩 프록시) 후 DTO 로 복사
+	private List<ChatMessageResponseDto> loadPageWithEntities() {
+		return entityManager.createQuery("""
+				SELECT m FROM ChatMessage m
+				WHERE m.chatRoom.chatRoomId = :chatRoomId
+				ORDER BY m.chatMessageId DESC
+				""", ChatMessage.class)
+			.setParameter("chatRoomId", chatRoomId)
+			.setMaxResults(PAGE_SIZE)
+			.getResultList()
+			.stream()
+			.map(m -> new ChatMessageResponseDto(m.getChatMessageId(), m.getChatRoom().getChatRoomId(),
+				m.getSenderId(), m.getSenderType(), m.getContent(), m.getSentAt()))
+			.toList();
+	}
+
+	private List<ChatMessageResponseDto> loadPageWithProjection() {
+		return chatMessageRepository.findLatestPage(chatRoomId, PageRequest.ofSize(PAGE_SIZE));
+	}
+
+	private long allocatedBytesPerPage(Runnable loadPage) {
+		com.sun.management.ThreadMXBean threadMXBean =
+			(com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+
+		for (int i = 0; i < WARMUP; i++) {
+			loadPage.run();
+			entityManager.clear();
+		}
+
+		long total = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			long before = threadMXBean.getThreadAllocatedBytes(threadId);
+			loadPage.run();
+			total += threadMXBean.getThreadAllocatedBytes(threadId) - before;
+			entityManager.clear(); // 매 페이지를 새 요청처럼 (이전 엔티티 재사용 방지)
+		}
+		return total / ITERATIONS;
+	}
+}
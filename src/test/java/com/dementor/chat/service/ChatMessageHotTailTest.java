@@ -0,0 +1,130 @@
+package com.dementor.chat.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.dementor.domain.chat.dto.ChatMessageResponseDto;
+import com.dementor.domain.chat.entity.SenderType;
+import com.dementor.domain.chat.service.ChatMessageHotTail;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * 최근 메시지 캐시 - DB 조회와 채우기 사이에 추가된 메시지가 빠지지 않는지 (컨테이너 Redis)
+ * - Docker 가 없으면 건너뜀
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class ChatMessageHotTailTest {
+
+	private static final Long ROOM_ID = 1L;
+	private static final long RETRY_AFTER_FAILURE_MS = 200;
+
+	@Container
+	private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+		.withExposedPorts(6379);
+
+	private static LettuceConnectionFactory connectionFactory;
+	private static RedisTemplate<String, String> redisTemplate;
+
+	private ChatMessageHotTail hotTail;
+
+	@BeforeAll
+	static void connect() {
+		connectionFactory = new LettuceConnectionFactory(
+			new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+		connectionFactory.afterPropertiesSet();
+		connectionFactory.start();
+
+		redisTemplate = new RedisTemplate<>();
+		redisTemplate.setConnectionFactory(connectionFactory);
+		redisTemplate.setKeySerializer(new StringRedisSerializer());
+		redisTemplate.setValueSerializer(new StringRedisSerializer());
+		redisTemplate.afterPropertiesSet();
+	}
+
+	@AfterAll
+	static void disconnect() {
+		connectionFactory.destroy();
+	}
+
+	@BeforeEach
+	void setUp() {
+		redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+		hotTail = new ChatMessageHotTail(redisTemplate, new ObjectMapper().registerModule(new JavaTimeModule()),
+			50, 3600, 1000);
+	}
+
+	@Test
+	@DisplayName("버전이 그대로면 DB 결과로 채우고, 이후 메시지는 목록 끝에 추가")
+	void fillsWhenVersionUnchanged() {
+		long version = hotTail.version(ROOM_ID);
+		hotTail.fill(ROOM_ID, version, List.of(message(1L), message(2L)));
+		hotTail.append(message(3L));
+
+		assertEquals(List.of(1L, 2L, 3L), ids(hotTail.latest(ROOM_ID, 10).orElseThrow()));
+	}
+
+	@Test
+	@DisplayName("DB 조회 후 채우기 전에 메시지가 추가되면 채우지 않음 - 빠진 메시지가 있는 목록을 만들지 않음")
+	void skipsFillWhenMessageAppendedAfterDbRead() {
+		long version = hotTail.version(ROOM_ID);
+		List<ChatMessageResponseDto> fromDb = List.of(message(1L), message(2L));
+
+		// 목록이 없을 때 추가된 메시지 - 목록에는 들어가지 않지만 버전은 올라감
+		hotTail.append(message(3L));
+		hotTail.fill(ROOM_ID, version, fromDb);
+
+		assertTrue(hotTail.latest(ROOM_ID, 10).isEmpty());
+
+		// 다음 입장은 새 버전으로 채움
+		hotTail.fill(ROOM_ID, hotTail.version(ROOM_ID), List.of(message(1L), message(2L), message(3L)));
+		assertEquals(List.of(1L, 2L, 3L), ids(hotTail.latest(ROOM_ID, 10).orElseThrow()));
+	}
+
+	@Test
+	@DisplayName("Redis 실패 후 건너뛰는 동안 보낸 메시지 - 다시 쓸 수 있게 되면 목록을 무효화해서 빈 구간이 남지 않음")
+	void invalidatesRoomsAppendedWhileSkipping() throws InterruptedException {
+		RedisTemplate<String, String> failingOnce = spy(redisTemplate);
+		ChatMessageHotTail hotTail = new ChatMessageHotTail(failingOnce,
+			new ObjectMapper().registerModule(new JavaTimeModule()), 50, 3600, RETRY_AFTER_FAILURE_MS);
+		hotTail.fill(ROOM_ID, hotTail.version(ROOM_ID), List.of(message(1L), message(2L)));
+
+		// 다른 방 조회 중 Redis 오류 -> 잠시 Redis 를 건너뜀
+		doThrow(new RedisConnectionFailureException("read timeout")).doCallRealMethod().when(failingOnce).opsForList();
+		assertTrue(hotTail.latest(2L, 10).isEmpty());
+
+		// 건너뛰는 동안 보낸 메시지는 목록에 들어가지 못함
+		hotTail.append(message(3L));
+		Thread.sleep(RETRY_AFTER_FAILURE_MS + 50);
+		hotTail.append(message(4L));
+
+		// 3 이 빠진 [1, 2, 4] 가 아니라 캐시 미스 -> DB 에서 다시 채움
+		assertTrue(hotTail.latest(ROOM_ID, 10).isEmpty());
+	}
+
+	private ChatMessageResponseDto message(Long id) {
+		return new ChatMessageResponseDto(id, ROOM_ID, 10L, SenderType.MEMBER, "message-" + id, ZonedDateTime.now());
+	}
+
+	private List<Long> ids(List<ChatMessageResponseDto> messages) {
+		return messages.stream().map(ChatMessageResponseDto::getChatMessageId).toList();
+	}
+}
@@ -0,0 +1,104 @@
+package com.dementor.chat.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dementor.domain.chat.dto.ChatMessageResponseDto;
+import com.dementor.domain.chat.entity.ChatMessage;
+import com.dementor.domain.chat.entity.ChatRoom;
+import com.dementor.domain.chat.entity.RoomType;
+import com.dementor.domain.chat.entity.SenderType;
+import com.dementor.domain.chat.repository.ChatMessageRepository;
+import com.dementor.domain.chat.repository.ChatRoomRepository;
+import com.dementor.domain.chat.service.ChatMessageService;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+public class ChatMessageServiceTest {
+
+	@Autowired
+	private ChatMessageService chatMessageService;
+
+	@Autowired
+	private ChatRoomRepository chatRoomRepository;
+
+	@Autowired
+	private ChatMessageRepository chatMessageRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private ChatRoom room;
+	private List<Long> messageIds;
+
+	@BeforeEach
+	void setUp() {
+		room = chatRoomRepository.save(ChatRoom.builder()
+			.roomType(RoomType.MENTORING_CHAT)
+			.mentorId(1L)
+			.menteeId(2L)
+			.lastMessageAt(ZonedDateTime.now())
+			.build());
+
+		messageIds = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			ChatMessage message = chatMessageRepository.save(ChatMessage.builder()
+				.chatRoom(room)
+				.senderId(i % 2 == 0 ? 1L : 2L)
+				.senderType(SenderType.MEMBER)
+				.content("message-" + i)
+				.sentAt(ZonedDateTime.now())
+				.build());
+			messageIds.add(message.getChatMessageId());
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	@DisplayName("이전 메시지 조회 - 커서 직전 size 개를 오래된 순으로")
+	void getMessagesBefore() {
+		List<ChatMessageResponseDto> page = chatMessageService.getMessages(room.getChatRoomId(),
+			messageIds.get(20), null, 5);
+
+		assertEquals(List.of("message-15", "message-16", "message-17", "message-18", "message-19"),
+			page.stream().map(ChatMessageResponseDto::getContent).toList());
+		assertEquals(messageIds.get(15), page.get(0).getChatMessageId());
+		assertEquals(room.getChatRoomId(), page.get(0).getChatRoomId());
+	}
+
+	@Test
+	@DisplayName("이후 메시지 조회 - 커서 다음 size 개를 오래된 순으로")
+	void getMessagesAfter() {
+		List<ChatMessageResponseDto> page = chatMessageService.getMessages(room.getChatRoomId(),
+			null, messageIds.get(25), 10);
+
+		assertEquals(List.of("message-26", "message-27", "message-28", "message-29"),
+			page.stream().map(ChatMessageResponseDto::getContent).toList());
+	}
+
+	@Test
+	@DisplayName("커서를 둘 다 주거나 size 가 범위를 벗어나면 예외")
+	void getMessagesRejectsInvalidRequest() {
+		assertThrows(IllegalArgumentException.class, () -> chatMessageService.getMessages(room.getChatRoomId(),
+			messageIds.get(10), messageIds.get(5), 20));
+		assertThrows(IllegalArgumentException.class, () -> chatMessageService.getMessages(room.getChatRoomId(),
+			null, null, 0));
+		assertThrows(IllegalArgumentException.class, () -> chatMessageService.getMessages(room.getChatRoomId(),
+			null, null, 10_000));
+	}
+}
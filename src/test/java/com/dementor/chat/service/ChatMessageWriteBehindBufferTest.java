@@ -0,0 +1,72 @@
+package com.dementor.chat.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.dementor.domain.chat.dto.ChatMessageResponseDto;
+import com.dementor.domain.chat.entity.ChatParticipant;
+import com.dementor.domain.chat.entity.SenderType;
+import com.dementor.domain.chat.repository.ChatRoomRepository;
+import com.dementor.domain.chat.service.ChatMessageHotTail;
+import com.dementor.domain.chat.service.ChatMessageWriteBehindBuffer;
+import com.dementor.domain.chat.service.ChatMessageWriteBehindBuffer.PendingChatMessage;
+
+public class ChatMessageWriteBehindBufferTest {
+
+	private static final long TIMEOUT_MS = 5_000;
+
+	private JdbcTemplate jdbcTemplate;
+	private ChatMessageHotTail hotTail;
+	private ChatMessageWriteBehindBuffer buffer;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		hotTail = mock(ChatMessageHotTail.class);
+		buffer = new ChatMessageWriteBehindBuffer(jdbcTemplate, mock(ChatRoomRepository.class), hotTail,
+			mock(PlatformTransactionManager.class), 100, 10, 10, 100, 1_000, 10, 40);
+		buffer.start();
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		buffer.drain();
+	}
+
+	@Test
+	@DisplayName("저장이 여러 번 실패해도 배치를 버리지 않고 성공할 때까지 재시도")
+	@SuppressWarnings("unchecked")
+	void retriesUntilSaved() {
+		when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+			.thenThrow(new CannotGetJdbcConnectionException("db down"))
+			.thenThrow(new CannotGetJdbcConnectionException("db down"))
+			.thenThrow(new CannotGetJdbcConnectionException("db down"))
+			.thenReturn(List.of(1L));
+
+		buffer.enqueue(message("hello"));
+
+		verify(jdbcTemplate, timeout(TIMEOUT_MS).times(4)).execute(any(ConnectionCallback.class));
+		ArgumentCaptor<ChatMessageResponseDto> appended = ArgumentCaptor.forClass(ChatMessageResponseDto.class);
+		verify(hotTail, timeout(TIMEOUT_MS)).append(appended.capture());
+		assertEquals(1L, appended.getValue().getChatMessageId());
+		assertEquals("hello", appended.getValue().getContent());
+	}
+
+	private PendingChatMessage message(String content) {
+		return new PendingChatMessage(1L, 10L, SenderType.MEMBER, content, ZonedDateTime.now(), ChatParticipant.MENTEE);
+	}
+}
@@ -0,0 +1,165 @@
+package com.dementor.chat.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.dementor.domain.chat.entity.ChatMessage;
+import com.dementor.domain.chat.entity.ChatReadCursor;
+import com.dementor.domain.chat.entity.ChatRoom;
+import com.dementor.domain.chat.entity.RoomType;
+import com.dementor.domain.chat.entity.SenderType;
+import com.dementor.domain.chat.entity.ViewerType;
+import com.dementor.domain.chat.repository.ChatMessageRepository;
+import com.dementor.domain.chat.repository.ChatReadCursorRepository;
+import com.dementor.domain.chat.repository.ChatRoomRepository;
+import com.dementor.domain.chat.service.ChatReadCursorBackfill;
+import com.dementor.domain.chat.service.ChatRoomService;
+import com.dementor.domain.chat.service.ChatRoomSummaryBackfill;
+
+/**
+ * 읽음 위치 - 동시에 처음 입장하는 경우, 예전 읽음 플래그 전환, 기존 방 미리보기 채우기
+ * - 여러 스레드가 커밋된 데이터를 봐야 하므로 테스트 트랜잭션 없이 실행 (끝나면 직접 정리)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class ChatReadCursorTest {
+
+	private static final long MENTOR_ID = 9_001L;
+	private static final long MENTEE_ID = 9_002L;
+	private static final int CONCURRENCY = 8;
+
+	@Autowired
+	private ChatRoomService chatRoomService;
+
+	@Autowired
+	private ChatReadCursorBackfill chatReadCursorBackfill;
+
+	@Autowired
+	private ChatRoomSummaryBackfill chatRoomSummaryBackfill;
+
+	@Autowired
+	private ChatRoomRepository chatRoomRepository;
+
+	@Autowired
+	private ChatMessageRepository chatMessageRepository;
+
+	@Autowired
+	private ChatReadCursorRepository chatReadCursorRepository;
+
+	private ChatRoom room;
+	private List<ChatMessage> messages;
+
+	@BeforeEach
+	void setUp() {
+		room = chatRoomRepository.save(ChatRoom.builder()
+			.roomType(RoomType.MENTORING_CHAT)
+			.mentorId(MENTOR_ID)
+			.menteeId(MENTEE_ID)
+			.lastMessageAt(ZonedDateTime.now())
+			.build());
+		messages = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			messages.add(chatMessageRepository.save(ChatMessage.builder()
+				.chatRoom(room)
+				.senderId(MENTEE_ID)
+				.senderType(SenderType.MEMBER)
+				.content("message-" + i)
+				.sentAt(ZonedDateTime.now())
+				.build()));
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		chatReadCursorRepository.deleteAll();
+		chatMessageRepository.deleteAll();
+		chatRoomRepository.deleteAll();
+	}
+
+	@Test
+	@DisplayName("같은 참여자가 동시에 처음 입장해도 읽음 위치는 하나만 생기고 모두 성공")
+	void concurrentFirstReadsCreateOneCursor() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> results = new ArrayList<>();
+			for (int i = 0; i < CONCURRENCY; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					chatRoomService.markMessagesAsRead(room, MENTOR_ID, ViewerType.MEMBER);
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> result : results) {
+				result.get(10, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(1, chatReadCursorRepository.count());
+		assertEquals(messages.get(2).getChatMessageId(), cursorOf(MENTOR_ID).getLastReadMessageId());
+	}
+
+	@Test
+	@DisplayName("예전 읽음 플래그 - 상대방이 보낸 메시지 중 읽은 마지막 메시지로 읽음 위치 생성, 플래그는 정리")
+	void backfillsCursorsFromLegacyReadFlags() {
+		for (ChatMessage message : messages.subList(0, 2)) {
+			message.setRead(true);
+		}
+		chatMessageRepository.saveAll(messages);
+
+		chatReadCursorBackfill.run();
+
+		assertEquals(messages.get(1).getChatMessageId(), cursorOf(MENTOR_ID).getLastReadMessageId());
+		// 멘티는 자기 메시지만 있으므로 읽음 위치 없음
+		assertTrue(chatReadCursorRepository.findByChatRoomIdAndParticipantTypeAndParticipantId(
+			room.getChatRoomId(), ViewerType.MEMBER, MENTEE_ID).isEmpty());
+		assertTrue(chatMessageRepository.findLegacyReadPositions().isEmpty());
+
+		// 다시 실행해도 바뀌지 않음
+		chatReadCursorBackfill.run();
+		assertEquals(1, chatReadCursorRepository.count());
+	}
+
+	@Test
+	@DisplayName("기존 방 미리보기 - 가장 최근 메시지와 예전 읽음 플래그 기준 안 읽은 수로 채우고, 다시 실행해도 그대로")
+	void backfillsSummaryOfExistingRooms() {
+		messages.get(0).setRead(true);
+		chatMessageRepository.saveAll(messages);
+
+		chatRoomSummaryBackfill.run();
+
+		ChatRoom filled = chatRoomRepository.findById(room.getChatRoomId()).orElseThrow();
+		assertEquals("message-2", filled.getLastMessage());
+		assertEquals(2, filled.getMentorUnreadCount());
+		assertEquals(0, filled.getMenteeUnreadCount());
+
+		// 읽음 플래그를 읽음 위치로 옮긴 뒤 다시 실행해도 바뀌지 않음
+		chatReadCursorBackfill.run();
+		chatRoomSummaryBackfill.run();
+		assertEquals(2, chatRoomRepository.findById(room.getChatRoomId()).orElseThrow().getMentorUnreadCount());
+	}
+
+	private ChatReadCursor cursorOf(Long participantId) {
+		return chatReadCursorRepository.findByChatRoomIdAndParticipantTypeAndParticipantId(
+			room.getChatRoomId(), ViewerType.MEMBER, participantId).orElseThrow();
+	}
+}
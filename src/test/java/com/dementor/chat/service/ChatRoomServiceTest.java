@@ -0,0 +1,203 @@
+package com.dementor.chat.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dementor.domain.chat.dto.ChatRoomResponseDto;
+import com.dementor.domain.chat.entity.ChatMessage;
+import com.dementor.domain.chat.entity.ChatReadCursor;
+import com.dementor.domain.chat.entity.ChatRoom;
+import com.dementor.domain.chat.entity.RoomType;
+import com.dementor.domain.chat.entity.SenderType;
+import com.dementor.domain.chat.entity.ViewerType;
+import com.dementor.domain.chat.repository.ChatMessageRepository;
+import com.dementor.domain.chat.repository.ChatReadCursorRepository;
+import com.dementor.domain.chat.repository.ChatRoomRepository;
+import com.dementor.domain.chat.service.ChatRoomService;
+import com.dementor.domain.member.entity.Member;
+import com.dementor.domain.member.entity.UserRole;
+import com.dementor.domain.member.repository.MemberRepository;
+import com.dementor.global.security.CustomUserDetails;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+@ActiveProfiles("test")
+public class ChatRoomServiceTest {
+
+	@Autowired
+	private ChatRoomService chatRoomService;
+
+	@Autowired
+	private ChatRoomRepository chatRoomRepository;
+
+	@Autowired
+	private ChatMessageRepository chatMessageRepository;
+
+	@Autowired
+	private ChatReadCursorRepository chatReadCursorRepository;
+
+	@Autowired
+	private MemberRepository memberRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Member mentor;
+	private int menteeSequence = 0;
+
+	@BeforeEach
+	void setUp() {
+		mentor = memberRepository.save(Member.builder()
+			.email("mentor@test.com")
+			.password("password")
+			.nickname("testMentor")
+			.name("테스트멘토")
+			.userRole(UserRole.MENTOR)
+			.build());
+	}
+
+	@Test
+	@DisplayName("채팅방 목록 조회 - 마지막 메시지, 안읽음 여부, 상대방 닉네임")
+	void getAllMyChatRooms() {
+		ChatRoom room = createRoomWithMessages(2);
+		entityManager.flush();
+		entityManager.clear();
+
+		List<ChatRoomResponseDto> rooms = chatRoomService.getAllMyChatRooms(mentor.getId());
+
+		assertEquals(1, rooms.size());
+		ChatRoomResponseDto dto = rooms.get(0);
+		assertEquals(room.getChatRoomId(), dto.getChatRoomId());
+		assertEquals("message-1", dto.getLastMessage());
+		assertEquals("mentee0", dto.getTargetNickname());
+		assertEquals(room.getMenteeId(), dto.getTargetId());
+		assertTrue(dto.isHasUnread());
+		assertEquals(2, dto.getUnreadCount());
+	}
+
+	@Test
+	@DisplayName("채팅방 입장 시 내 안 읽은 메시지 수 초기화")
+	void getChatRoomDetailResetsUnreadCount() {
+		ChatRoom room = createRoomWithMessages(3);
+		entityManager.flush();
+		entityManager.clear();
+
+		ChatRoomResponseDto detail = chatRoomService.getChatRoomDetail(room.getChatRoomId(),
+			CustomUserDetails.of(mentor));
+		entityManager.flush();
+		entityManager.clear();
+
+		assertFalse(detail.isHasUnread());
+		ChatRoomResponseDto listed = chatRoomService.getAllMyChatRooms(mentor.getId()).get(0);
+		assertFalse(listed.isHasUnread());
+		assertEquals(0, listed.getUnreadCount());
+	}
+
+	@Test
+	@DisplayName("채팅방 목록 조회 - 방 개수가 늘어나도 쿼리 수는 일정")
+	void getAllMyChatRoomsQueryCountStaysFlat() {
+		for (int i = 0; i < 5; i++) {
+			createRoomWithMessages(3);
+		}
+		long queriesForFewRooms = countInboxQueries();
+
+		for (int i = 0; i < 95; i++) {
+			createRoomWithMessages(3);
+		}
+		long queriesForManyRooms = countInboxQueries();
+
+		assertEquals(100, chatRoomService.getAllMyChatRooms(mentor.getId()).size());
+		assertEquals(queriesForFewRooms, queriesForManyRooms);
+	}
+
+	@Test
+	@DisplayName("채팅방 입장 - 안 읽은 메시지가 많아도 쿼리 수는 일정")
+	void getChatRoomDetailQueryCountStaysFlat() {
+		ChatRoom smallBacklogRoom = createRoomWithMessages(10);
+		ChatRoom largeBacklogRoom = createRoomWithMessages(1000);
+
+		long queriesForSmallBacklog = countRoomEntryQueries(smallBacklogRoom);
+		long queriesForLargeBacklog = countRoomEntryQueries(largeBacklogRoom);
+
+		assertEquals(queriesForSmallBacklog, queriesForLargeBacklog);
+
+		ChatReadCursor cursor = chatReadCursorRepository.findByChatRoomIdAndParticipantTypeAndParticipantId(
+			largeBacklogRoom.getChatRoomId(), ViewerType.MEMBER, mentor.getId()).orElseThrow();
+		assertFalse(chatMessageRepository.existsByChatRoom_ChatRoomIdAndSenderIdNotAndChatMessageIdGreaterThan(
+			largeBacklogRoom.getChatRoomId(), mentor.getId(), cursor.getLastReadMessageId()));
+	}
+
+	private long countRoomEntryQueries(ChatRoom room) {
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		chatRoomService.getChatRoomDetail(room.getChatRoomId(), CustomUserDetails.of(mentor));
+		entityManager.flush();
+
+		return statistics.getPrepareStatementCount();
+	}
+
+	private long countInboxQueries() {
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		chatRoomService.getAllMyChatRooms(mentor.getId());
+
+		return statistics.getPrepareStatementCount();
+	}
+
+	private ChatRoom createRoomWithMessages(int messageCount) {
+		int sequence = menteeSequence++;
+		Member mentee = memberRepository.save(Member.builder()
+			.email("mentee" + sequence + "@test.com")
+			.password("password")
+			.nickname("mentee" + sequence)
+			.name("테스트멘티")
+			.userRole(UserRole.MENTEE)
+			.build());
+
+		ChatRoom room = chatRoomRepository.save(ChatRoom.builder()
+			.roomType(RoomType.MENTORING_CHAT)
+			.mentorId(mentor.getId())
+			.menteeId(mentee.getId())
+			.lastMessageAt(ZonedDateTime.now())
+			.build());
+
+		for (int i = 0; i < messageCount; i++) {
+			ChatMessage message = chatMessageRepository.save(ChatMessage.builder()
+				.chatRoom(room)
+				.senderId(mentee.getId())
+				.senderType(SenderType.MEMBER)
+				.content("message-" + i)
+				.sentAt(ZonedDateTime.now())
+				.build());
+			chatRoomRepository.applyNewMessage(room.getChatRoomId(), message.getContent(), message.getSentAt(),
+				room.toParticipants().getReceiver(mentee.getId(), SenderType.MEMBER));
+		}
+		return room;
+	}
+}
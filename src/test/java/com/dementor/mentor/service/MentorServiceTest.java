@@ -23,10 +23,13 @@ import com.dementor.domain.mentoreditproposal.dto.MentorEditUpdateRenewalRespons
 import com.dementor.domain.mentoreditproposal.entity.MentorEditProposal;
 import com.dementor.domain.mentoreditproposal.entity.MentorEditProposalStatus;
 import com.dementor.domain.mentoreditproposal.repository.MentorEditProposalRepository;
+import com.dementor.global.storage.BlobStore;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -34,6 +37,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 @SpringBootTest
 @Transactional
@@ -63,6 +67,9 @@ public class MentorServiceTest {
 	@Autowired
 	private MentorApplyProposalRepository mentorApplyProposalRepository;
 
+	@MockitoBean
+	private BlobStore blobStore;
+
 	@BeforeEach
 	void setUp() {
 		// 기존 데이터 정리
@@ -497,4 +504,34 @@ public class MentorServiceTest {
 		assertTrue(response.modificationRequests().isEmpty(), "변경 요청 목록이 비어있어야 합니다.");
 		assertEquals(0, response.pagination().totalElements(), "전체 요소 수가 0이어야 합니다.");
 	}
-}
\ No newline at end of file
+
+	@Test
+	@Order(15)
+	@DisplayName("거절될 멘토 지원/정보 수정 요청은 첨부 파일을 스토리지에 올리지 않음")
+	void rejectsBeforeUploadingFiles() {
+		MentorApplyProposalRequest.MentorApplyProposalRequestDto applyDto =
+			new MentorApplyProposalRequest.MentorApplyProposalRequestDto(
+				testMentorMember.getId(),
+				testMentorMember.getName(),
+				testJob.getId(),
+				"01012345678",
+				"mentor@example.com",
+				5,
+				"테스트 회사",
+				"테스트 자기소개"
+			);
+		List<MultipartFile> files = List.of(
+			new MockMultipartFile("files", "career.pdf", "application/pdf", "pdf".getBytes()));
+
+		assertThrows(MentorException.class, () -> mentorService.applyMentor(applyDto, files));
+
+		testMentor.updateModificationStatus(ModificationStatus.PENDING);
+		mentorRepository.save(testMentor);
+		MentorEditProposalRequest editDto = new MentorEditProposalRequest(
+			testJob.getId(), 7, "새 회사", "수정된 자기소개");
+
+		assertThrows(MentorException.class, () -> mentorService.updateMentor(testMentor.getId(), editDto, files));
+
+		verifyNoInteractions(blobStore);
+	}
+}
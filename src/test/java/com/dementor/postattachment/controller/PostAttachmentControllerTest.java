@@ -0,0 +1,95 @@
+package com.dementor.postattachment.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dementor.domain.postattachment.entity.ImageVariantFile;
+import com.dementor.domain.postattachment.entity.PostAttachment;
+import com.dementor.domain.postattachment.repository.PostAttachmentRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+public class PostAttachmentControllerTest {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private PostAttachmentRepository postAttachmentRepository;
+
+	@BeforeEach
+	void setUp() {
+		// 접속할 수 없는 스토리지 주소 - 304 응답은 스토리지를 열지 않아야 함
+		PostAttachment attachment = PostAttachment.builder()
+			.filename("image.png")
+			.originalFilename("image.png")
+			.storeFilePath("http://127.0.0.1:1/image.png")
+			.fileSize(100L)
+			.uniqueIdentifier("md-test-image")
+			.build();
+		attachment.applyImageVariants(1280, 640, List.of(
+			new ImageVariantFile(320, 160, "http://127.0.0.1:1/image-320.png", 10L, null),
+			new ImageVariantFile(640, 320, "http://127.0.0.1:1/image-640.png", 30L, null)));
+		postAttachmentRepository.save(attachment);
+
+		// 크기별 파일 생성 전
+		postAttachmentRepository.save(PostAttachment.builder()
+			.filename("pending.png")
+			.originalFilename("pending.png")
+			.storeFilePath("http://127.0.0.1:1/pending.png")
+			.fileSize(100L)
+			.uniqueIdentifier("md-pending-image")
+			.build());
+	}
+
+	@Test
+	@DisplayName("마크다운 이미지 - 요청 크기는 가장 가까운 크기별 파일로 맞추고, ETag 가 일치하면 스토리지 조회 없이 304")
+	void markdownImageNotModified() throws Exception {
+		mvc.perform(get("/api/files/markdown-images/md-test-image")
+				.param("width", "300")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"md-md-test-image-320\""))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"md-md-test-image-320\""))
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+
+		// 높이만 주면 원본 비율로 너비 환산 (100 * 1280 / 640 = 200 -> 320)
+		mvc.perform(get("/api/files/markdown-images/md-test-image")
+				.param("height", "100")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"md-md-test-image-320\""))
+			.andExpect(status().isNotModified());
+	}
+
+	@Test
+	@DisplayName("마크다운 이미지 - 다른 크기별 파일의 ETag 로는 304 가 아님")
+	void markdownImageOtherVariantIsModified() throws Exception {
+		mvc.perform(get("/api/files/markdown-images/md-test-image")
+				.param("width", "500")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"md-md-test-image-320\""))
+			.andExpect(status().isInternalServerError()); // 스토리지 접속 시도 -> 실패
+	}
+
+	@Test
+	@DisplayName("마크다운 이미지 - 크기별 파일 생성 전에는 원본으로 응답하고 짧게 캐시")
+	void markdownImagePendingVariantIsNotImmutable() throws Exception {
+		mvc.perform(get("/api/files/markdown-images/md-pending-image")
+				.param("width", "300")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"md-md-pending-image-o\""))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"));
+	}
+}
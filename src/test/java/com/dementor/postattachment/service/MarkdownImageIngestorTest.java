@@ -0,0 +1,198 @@
+package com.dementor.postattachment.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dementor.domain.mentorapplyproposal.entity.MentorApplyProposal;
+import com.dementor.domain.mentorapplyproposal.repository.MentorApplyProposalRepository;
+import com.dementor.domain.mentoreditproposal.repository.MentorEditProposalRepository;
+import com.dementor.domain.postattachment.repository.PostAttachmentRepository;
+import com.dementor.domain.postattachment.service.MarkdownImageIngestor;
+import com.dementor.domain.postattachment.service.PostAttachmentUploader;
+import com.dementor.domain.postattachment.service.PostAttachmentUploader.UploadedFile;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 소개글 외부 이미지 수집
+ * - 로컬 HTTP 서버를 외부 이미지 호스트로 사용 (정상 / 응답 지연 / 크기 초과 / 이미지 아님)
+ * - 로컬 서버를 쓰는 테스트는 allow-private-hosts 를 켜고, 내부 주소 차단은 따로 확인
+ */
+public class MarkdownImageIngestorTest {
+
+	private static final long MAX_BYTES = 64 * 1024;
+
+	private HttpServer imageHost;
+	private String baseUrl;
+	private PostAttachmentUploader uploader;
+	private MentorApplyProposalRepository applyProposalRepository;
+	private MarkdownImageIngestor ingestor;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		byte[] png = pngImage();
+		imageHost = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		imageHost.createContext("/ok.png", exchange -> {
+			exchange.getResponseHeaders().add("Content-Type", "image/png");
+			exchange.sendResponseHeaders(200, png.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(png);
+			}
+		});
+		imageHost.createContext("/slow.png", exchange -> {
+			try {
+				Thread.sleep(2000);
+			} catch (InterruptedException ignored) {
+				Thread.currentThread().interrupt();
+			}
+			exchange.sendResponseHeaders(200, png.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(png);
+			}
+		});
+		imageHost.createContext("/huge.png", exchange -> {
+			exchange.sendResponseHeaders(200, 0); // chunked - 길이를 알리지 않음
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(png);
+				byte[] padding = new byte[8192];
+				for (int i = 0; i < 32; i++) {
+					out.write(padding);
+				}
+			} catch (Exception ignored) {
+				// 수집기가 크기 초과로 연결을 끊음
+			}
+		});
+		imageHost.createContext("/page.html", exchange -> {
+			byte[] html = "<html></html>".getBytes();
+			exchange.sendResponseHeaders(200, html.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(html);
+			}
+		});
+		imageHost.createContext("/redirect.png", exchange -> {
+			exchange.getResponseHeaders().add("Location", "file:///etc/passwd");
+			exchange.sendResponseHeaders(302, -1);
+			exchange.close();
+		});
+		imageHost.setExecutor(java.util.concurrent.Executors.newCachedThreadPool());
+		imageHost.start();
+		baseUrl = "http://127.0.0.1:" + imageHost.getAddress().getPort();
+
+		uploader = mock(PostAttachmentUploader.class);
+		when(uploader.upload(any(byte[].class), anyString(), anyString(), eq("markdown")))
+			.thenAnswer(invocation -> new UploadedFile(invocation.getArgument(1),
+				"local:markdown/" + invocation.getArgument(1), invocation.<byte[]>getArgument(0).length, "hash"));
+		applyProposalRepository = mock(MentorApplyProposalRepository.class);
+
+		ingestor = ingestor(true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		ingestor.shutdown();
+		imageHost.stop(0);
+	}
+
+	@Test
+	@DisplayName("내부 주소, 80/443 이 아닌 포트는 요청하지 않음")
+	void rejectsPrivateAddressesAndPorts() throws Exception {
+		MarkdownImageIngestor guarded = ingestor(false);
+		String introduction = "![local](" + baseUrl + "/ok.png) ![metadata](http://169.254.169.254/latest/a.png) "
+			+ "![private](http://10.0.0.1/a.png) ![v6](http://[::1]/a.png) ![port](http://93.184.216.34:8080/a.png)";
+		MentorApplyProposal proposal = MentorApplyProposal.builder().id(4L).introduction(introduction).build();
+		when(applyProposalRepository.findById(4L)).thenReturn(Optional.of(proposal));
+
+		try {
+			guarded.ingestApplyProposal(4L, introduction).get(10, TimeUnit.SECONDS);
+		} finally {
+			guarded.shutdown();
+		}
+
+		assertEquals(introduction, proposal.getIntroduction());
+		verifyNoInteractions(uploader);
+	}
+
+	@Test
+	@DisplayName("http/https 가 아닌 곳으로의 리다이렉트는 따라가지 않음")
+	void rejectsRedirectToOtherProtocols() throws Exception {
+		String introduction = "![redirect](" + baseUrl + "/redirect.png)";
+		MentorApplyProposal proposal = MentorApplyProposal.builder().id(5L).introduction(introduction).build();
+		when(applyProposalRepository.findById(5L)).thenReturn(Optional.of(proposal));
+
+		ingestor.ingestApplyProposal(5L, introduction).get(10, TimeUnit.SECONDS);
+
+		assertEquals(introduction, proposal.getIntroduction());
+		verifyNoInteractions(uploader);
+	}
+
+	@Test
+	@DisplayName("수집에 성공한 이미지만 내부 주소로 교체, 나머지는 외부 주소 유지")
+	void rewritesOnlyIngestedImages() throws Exception {
+		String introduction = "![ok](" + baseUrl + "/ok.png) ![slow](" + baseUrl + "/slow.png) "
+			+ "![huge](" + baseUrl + "/huge.png) ![html](" + baseUrl + "/page.html)";
+		MentorApplyProposal proposal = MentorApplyProposal.builder().id(1L).introduction(introduction).build();
+		when(applyProposalRepository.findById(1L)).thenReturn(Optional.of(proposal));
+
+		ingestor.ingestApplyProposal(1L, introduction).get(10, TimeUnit.SECONDS);
+
+		String rewritten = proposal.getIntroduction();
+		assertFalse(rewritten.contains(baseUrl + "/ok.png"));
+		assertTrue(rewritten.matches("!\\[ok\\]\\(/api/files/markdown-images/[0-9a-f-]{36}\\).*"));
+		assertTrue(rewritten.contains(baseUrl + "/slow.png")); // 읽기 시간 초과
+		assertTrue(rewritten.contains(baseUrl + "/huge.png")); // 크기 초과
+		assertTrue(rewritten.contains(baseUrl + "/page.html")); // 이미지 아님
+		verify(uploader, times(1)).upload(any(byte[].class), anyString(), anyString(), eq("markdown"));
+	}
+
+	@Test
+	@DisplayName("제안서가 사라졌으면 올린 파일 삭제")
+	void discardsUploadsWhenProposalIsGone() throws Exception {
+		String introduction = "![ok](" + baseUrl + "/ok.png)";
+		when(applyProposalRepository.findById(2L)).thenReturn(Optional.empty());
+
+		ingestor.ingestApplyProposal(2L, introduction).get(10, TimeUnit.SECONDS);
+
+		verify(uploader).discard(argThat(files -> files.size() == 1
+			&& files.get(0).storeFilePath().startsWith("local:markdown/")));
+	}
+
+	@Test
+	@DisplayName("외부 이미지가 없으면 대기열에 넣지 않음")
+	void skipsMarkdownWithoutExternalImages() {
+		assertTrue(ingestor.ingestApplyProposal(3L, "![a](/api/files/markdown-images/abc) 텍스트").isDone());
+		verifyNoInteractions(applyProposalRepository);
+	}
+
+	private MarkdownImageIngestor ingestor(boolean allowPrivateHosts) {
+		return new MarkdownImageIngestor(
+			uploader,
+			mock(PostAttachmentRepository.class),
+			applyProposalRepository,
+			mock(MentorEditProposalRepository.class),
+			new TransactionTemplate(mock(PlatformTransactionManager.class)),
+			2, 10, 2, 1000, 500, 3000, MAX_BYTES, allowPrivateHosts);
+	}
+
+	private byte[] pngImage() throws Exception {
+		BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", out);
+		return out.toByteArray();
+	}
+}
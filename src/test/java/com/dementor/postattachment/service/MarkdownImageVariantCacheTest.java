@@ -0,0 +1,87 @@
+package com.dementor.postattachment.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.dementor.domain.postattachment.service.MarkdownImageVariantCache;
+import com.dementor.domain.postattachment.service.MarkdownImageVariantCache.ImageVariant;
+import com.dementor.domain.postattachment.service.MarkdownImageVariantCache.VariantKey;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MarkdownImageVariantCacheTest {
+
+	@TempDir
+	Path diskDir;
+
+	private SimpleMeterRegistry meterRegistry;
+	private MarkdownImageVariantCache cache;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		// 메모리 4KB (항목 최대 1KB), 디스크 3KB
+		cache = new MarkdownImageVariantCache(meterRegistry, 4096, 3 * 1024 + 200, diskDir.toString());
+	}
+
+	@Test
+	@DisplayName("메모리 tier 는 전체 바이트 수로 제한되고 밀려난 항목은 디스크에서 응답")
+	void memoryEvictionFallsBackToDisk() {
+		for (int i = 0; i < 5; i++) {
+			cache.put(key(i), variant(1000));
+		}
+
+		assertTrue(cache.memoryBytes() <= 4096);
+		assertEquals(1, counter("markdown.image.variant.cache.evictions", "tier", "memory"));
+
+		// key(0) 은 메모리에서 밀려났지만 디스크 용량 초과로 디스크에서도 삭제됨
+		assertTrue(cache.get(key(0)).isEmpty());
+		// key(4) 는 메모리 hit
+		assertEquals("image/png", cache.get(key(4)).orElseThrow().contentType());
+
+		assertEquals(1, counter("markdown.image.variant.cache", "result", "memory_hit"));
+		assertEquals(1, counter("markdown.image.variant.cache", "result", "miss"));
+	}
+
+	@Test
+	@DisplayName("재시작 후에도 디스크 tier 에서 응답")
+	void diskTierSurvivesRestart() {
+		cache.put(key(1), variant(500));
+
+		MarkdownImageVariantCache restarted = new MarkdownImageVariantCache(new SimpleMeterRegistry(), 4096,
+			1024 * 1024, diskDir.toString());
+
+		ImageVariant fromDisk = restarted.get(key(1)).orElseThrow();
+		assertEquals(500, fromDisk.data().length);
+		assertEquals("image/png", fromDisk.contentType());
+		assertTrue(restarted.memoryBytes() > 0); // 디스크 hit 후 메모리로 올라옴
+	}
+
+	@Test
+	@DisplayName("크기/포맷이 다르면 다른 항목")
+	void keyIncludesVariantParameters() {
+		cache.put(new VariantKey("img", 100, 100, "png"), variant(10));
+
+		assertTrue(cache.get(new VariantKey("img", 200, 100, "png")).isEmpty());
+		assertTrue(cache.get(new VariantKey("img", 100, 100, "jpeg")).isEmpty());
+		assertTrue(cache.get(new VariantKey("img", 100, 100, "png")).isPresent());
+	}
+
+	private VariantKey key(int index) {
+		return new VariantKey("image-" + index, 100, 100, "png");
+	}
+
+	private ImageVariant variant(int size) {
+		return new ImageVariant(new byte[size], "image/png");
+	}
+
+	private double counter(String name, String tagKey, String tagValue) {
+		return meterRegistry.get(name).tag(tagKey, tagValue).counter().count();
+	}
+}
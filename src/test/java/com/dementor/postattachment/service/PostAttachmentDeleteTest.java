@@ -0,0 +1,154 @@
+package com.dementor.postattachment.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.dementor.domain.job.entity.Job;
+import com.dementor.domain.job.repository.JobRepository;
+import com.dementor.domain.member.entity.Member;
+import com.dementor.domain.member.entity.UserRole;
+import com.dementor.domain.member.repository.MemberRepository;
+import com.dementor.domain.mentorapplyproposal.entity.MentorApplyProposal;
+import com.dementor.domain.mentorapplyproposal.entity.MentorApplyProposalStatus;
+import com.dementor.domain.mentorapplyproposal.repository.MentorApplyProposalRepository;
+import com.dementor.domain.postattachment.entity.ImageVariantFile;
+import com.dementor.domain.postattachment.entity.PostAttachment;
+import com.dementor.domain.postattachment.entity.StoredBlob;
+import com.dementor.domain.postattachment.repository.PostAttachmentRepository;
+import com.dementor.domain.postattachment.repository.StoredBlobRepository;
+import com.dementor.domain.postattachment.service.PostAttachmentService;
+import com.dementor.global.storage.BlobStore;
+
+/**
+ * 첨부 파일 삭제 - 내용 해시로 관리되는 원본 + 크기별 파일
+ * - 커밋 후 참조 해제가 실행되는지 보려면 테스트 트랜잭션 없이 실제로 커밋해야 함 (끝나면 직접 정리)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class PostAttachmentDeleteTest {
+
+	@Autowired
+	private PostAttachmentService postAttachmentService;
+
+	@Autowired
+	private PostAttachmentRepository postAttachmentRepository;
+
+	@Autowired
+	private StoredBlobRepository storedBlobRepository;
+
+	@Autowired
+	private MentorApplyProposalRepository mentorApplyProposalRepository;
+
+	@Autowired
+	private MemberRepository memberRepository;
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@MockitoBean
+	private BlobStore blobStore;
+
+	private Member member;
+	private Job job;
+	private MentorApplyProposal proposal;
+	private Long attachmentId;
+
+	@BeforeEach
+	void setUp() {
+		member = memberRepository.save(Member.builder()
+			.nickname("deleteTester")
+			.password("password")
+			.name("삭제테스트")
+			.email("delete@example.com")
+			.userRole(UserRole.MENTEE)
+			.build());
+		job = jobRepository.save(Job.builder().name("백엔드 개발자").build());
+		proposal = mentorApplyProposalRepository.save(MentorApplyProposal.builder()
+			.member(member)
+			.job(job)
+			.status(MentorApplyProposalStatus.PENDING)
+			.name("삭제테스트")
+			.career(3)
+			.phone("01012345678")
+			.email("delete@example.com")
+			.introduction("소개")
+			.build());
+
+		storedBlobRepository.saveAll(List.of(blob("h-original", "local:markdown/original.png"),
+			blob("h-320", "local:markdown/original-320.png"), blob("h-640", "local:markdown/original-640.png")));
+
+		PostAttachment attachment = PostAttachment.builder()
+			.filename("original.png")
+			.originalFilename("original.png")
+			.storeFilePath("local:markdown/original.png")
+			.fileSize(1000L)
+			.contentHash("h-original")
+			.mentorApplyProposal(proposal)
+			.build();
+		attachment.applyImageVariants(1280, 960, List.of(
+			new ImageVariantFile(320, 240, "local:markdown/original-320.png", 100L, "h-320"),
+			new ImageVariantFile(640, 480, "local:markdown/original-640.png", 400L, "h-640")));
+		attachmentId = postAttachmentRepository.save(attachment).getId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		postAttachmentRepository.findById(attachmentId).ifPresent(postAttachmentRepository::delete);
+		storedBlobRepository.deleteAll();
+		mentorApplyProposalRepository.delete(proposal);
+		memberRepository.delete(member);
+		jobRepository.delete(job);
+	}
+
+	@Test
+	@DisplayName("원본과 크기별 파일 모두 참조 해제, 마지막 참조라 저장소에서도 삭제")
+	void releasesOriginalAndVariantsAfterCommit() {
+		postAttachmentService.deleteFile(attachmentId, member.getId());
+
+		assertTrue(postAttachmentRepository.findById(attachmentId).isEmpty());
+		assertEquals(0, storedBlobRepository.count());
+		verify(blobStore).deleteFile("local:markdown/original.png");
+		verify(blobStore).deleteFile("local:markdown/original-320.png");
+		verify(blobStore).deleteFile("local:markdown/original-640.png");
+	}
+
+	@Test
+	@DisplayName("다른 첨부가 같은 내용을 참조 중이면 저장소 파일은 남김")
+	void keepsSharedContent() {
+		StoredBlob shared = storedBlobRepository.findByContentHash("h-original").orElseThrow();
+		storedBlobRepository.delete(shared);
+		storedBlobRepository.save(StoredBlob.builder()
+			.contentHash("h-original")
+			.storeFilePath("local:markdown/original.png")
+			.fileSize(1000L)
+			.refCount(2)
+			.build());
+
+		postAttachmentService.deleteFile(attachmentId, member.getId());
+
+		assertEquals(1, storedBlobRepository.findByContentHash("h-original").orElseThrow().getRefCount());
+		verify(blobStore, never()).deleteFile("local:markdown/original.png");
+		verify(blobStore).deleteFile("local:markdown/original-320.png");
+		verify(blobStore).deleteFile("local:markdown/original-640.png");
+	}
+
+	private StoredBlob blob(String contentHash, String storeFilePath) {
+		return StoredBlob.builder()
+			.contentHash(contentHash)
+			.storeFilePath(storeFilePath)
+			.fileSize(100L)
+			.refCount(1)
+			.build();
+	}
+}
@@ -0,0 +1,171 @@
+package com.dementor.postattachment.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dementor.domain.postattachment.dto.response.FileStreamResponse;
+import com.dementor.domain.postattachment.entity.PostAttachment;
+import com.dementor.domain.postattachment.repository.PostAttachmentRepository;
+import com.dementor.domain.postattachment.service.PostAttachmentService;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 일반 첨부 파일 스트리밍 다운로드
+ * - 로컬 HTTP 서버를 스토리지 대신 사용 (5MB 파일, Range 지원)
+ * - 동시 다운로드 수가 늘어도 다운로드 1건당 힙 할당량이 파일 크기와 무관하게 일정한지 확인
+ */
+@Slf4j
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+public class PostAttachmentDownloadStreamingTest {
+
+	private static final int FILE_SIZE = 5 * 1024 * 1024;
+	private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+	@Autowired
+	private PostAttachmentService postAttachmentService;
+
+	@Autowired
+	private PostAttachmentRepository postAttachmentRepository;
+
+	private HttpServer storage;
+	private Long attachmentId;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		byte[] file = new byte[FILE_SIZE];
+		for (int i = 0; i < file.length; i++) {
+			file[i] = (byte)i;
+		}
+
+		storage = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		storage.createContext("/file.pdf", exchange -> {
+			String range = exchange.getRequestHeaders().getFirst("Range");
+			int start = 0;
+			int end = file.length - 1;
+			int status = 200;
+			Matcher matcher = range == null ? null : RANGE.matcher(range);
+			if (matcher != null && matcher.matches()) {
+				start = Integer.parseInt(matcher.group(1));
+				end = Math.min(Integer.parseInt(matcher.group(2)), file.length - 1);
+				status = 206;
+				exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + end + "/" + file.length);
+			}
+			exchange.getResponseHeaders().add("Content-Type", "application/pdf");
+			exchange.sendResponseHeaders(status, end - start + 1);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(file, start, end - start + 1);
+			}
+		});
+		storage.setExecutor(Executors.newFixedThreadPool(16));
+		storage.start();
+
+		attachmentId = postAttachmentRepository.save(PostAttachment.builder()
+			.filename("file.pdf")
+			.originalFilename("file.pdf")
+			.storeFilePath("http://127.0.0.1:" + storage.getAddress().getPort() + "/file.pdf")
+			.fileSize((long)FILE_SIZE)
+			.build()).getId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		storage.stop(0);
+	}
+
+	@Test
+	@DisplayName("Range 요청은 스토리지의 206 / Content-Range / Content-Length 를 그대로 전달")
+	void passesThroughRange() throws Exception {
+		FileStreamResponse file = postAttachmentService.openFileStream(attachmentId, "bytes=100-1123");
+
+		CountingOutputStream out = new CountingOutputStream();
+		file.transferTo(out);
+
+		assertEquals(206, file.getStatus());
+		assertEquals(1024, file.getContentLength());
+		assertEquals("bytes 100-1123/" + FILE_SIZE, file.getContentRange());
+		assertEquals(1024, out.count);
+	}
+
+	@Test
+	@DisplayName("동시 다운로드가 늘어도 다운로드당 힙 할당량은 파일 크기보다 훨씬 작고 일정")
+	void heapPerDownloadStaysFlat() throws Exception {
+		long single = maxAllocatedBytesPerDownload(1);
+		long concurrent = maxAllocatedBytesPerDownload(16);
+
+		log.info("{}MB 파일 다운로드당 최대 할당량 - 1건: {} bytes, 16건 동시: {} bytes",
+			FILE_SIZE / (1024 * 1024), single, concurrent);
+		assertTrue(single < FILE_SIZE / 10);
+		assertTrue(concurrent < FILE_SIZE / 10);
+	}
+
+	// 스토리지 응답은 호출 스레드에서 열고, 본문 복사는 워커 스레드에서 동시에 수행하며 스레드별 할당량 측정
+	private long maxAllocatedBytesPerDownload(int concurrency) throws Exception {
+		List<FileStreamResponse> files = new ArrayList<>();
+		for (int i = 0; i < concurrency; i++) {
+			files.add(postAttachmentService.openFileStream(attachmentId, null));
+		}
+
+		com.sun.management.ThreadMXBean threadMXBean =
+			(com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+		try {
+			List<Future<Long>> results = new ArrayList<>();
+			for (FileStreamResponse file : files) {
+				results.add(executor.submit(() -> {
+					long threadId = Thread.currentThread().getId();
+					long before = threadMXBean.getThreadAllocatedBytes(threadId);
+					CountingOutputStream out = new CountingOutputStream();
+					file.transferTo(out);
+					assertEquals(FILE_SIZE, out.count);
+					return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+				}));
+			}
+
+			long max = 0;
+			for (Future<Long> result : results) {
+				max = Math.max(max, result.get());
+			}
+			return max;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	// 응답 본문 대신 바이트 수만 세는 출력 스트림
+	private static class CountingOutputStream extends OutputStream {
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
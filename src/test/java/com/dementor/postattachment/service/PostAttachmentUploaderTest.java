@@ -0,0 +1,185 @@
+package com.dementor.postattachment.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.dementor.domain.postattachment.entity.StoredBlob;
+import com.dementor.domain.postattachment.exception.PostAttachmentException;
+import com.dementor.domain.postattachment.repository.StoredBlobRepository;
+import com.dementor.domain.postattachment.service.PostAttachmentUploader;
+import com.dementor.domain.postattachment.service.PostAttachmentUploader.UploadedFile;
+import com.dementor.global.storage.BlobStore;
+
+public class PostAttachmentUploaderTest {
+
+	private BlobStore storage;
+	private PlatformTransactionManager transactionManager;
+	private PostAttachmentUploader uploader;
+
+	// StoredBlobRepository 대신 쓰는 메모리 참조 수 (contentHash -> 저장 파일 / 참조 수)
+	private final Map<String, StoredBlob> blobs = new ConcurrentHashMap<>();
+	private final Map<String, Integer> refCounts = new ConcurrentHashMap<>();
+
+	@BeforeEach
+	void setUp() {
+		storage = mock(BlobStore.class);
+		transactionManager = mock(PlatformTransactionManager.class);
+		uploader = new PostAttachmentUploader(storage, fakeStoredBlobRepository(),
+			new TransactionTemplate(transactionManager), 2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		uploader.shutdown();
+	}
+
+	@Test
+	@DisplayName("동시 업로드 수는 설정값을 넘지 않음")
+	void uploadsInParallelWithinLimit() {
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		when(storage.uploadFile(any(MultipartFile.class), eq("apply"))).thenAnswer(invocation -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			Thread.sleep(50);
+			inFlight.decrementAndGet();
+			return "https://storage/" + ((MultipartFile)invocation.getArgument(0)).getOriginalFilename();
+		});
+
+		List<UploadedFile> uploaded = uploader.uploadAll(files(6), "apply");
+
+		assertEquals(6, uploaded.size());
+		assertEquals("https://storage/file-0.pdf", uploaded.get(0).storeFilePath()); // 요청 순서 유지
+		assertEquals(2, maxInFlight.get());
+	}
+
+	@Test
+	@DisplayName("하나라도 실패하면 성공한 파일을 삭제하고 예외")
+	void compensatesWhenAnyUploadFails() {
+		when(storage.uploadFile(any(MultipartFile.class), eq("apply"))).thenAnswer(invocation -> {
+			String name = ((MultipartFile)invocation.getArgument(0)).getOriginalFilename();
+			if (name.equals("file-1.pdf")) {
+				throw new RuntimeException("storage down");
+			}
+			return "https://storage/" + name;
+		});
+
+		assertThrows(PostAttachmentException.class, () -> uploader.uploadAll(files(3), "apply"));
+
+		verify(storage).deleteFile("https://storage/file-0.pdf");
+		verify(storage).deleteFile("https://storage/file-2.pdf");
+		verify(storage, never()).deleteFile("https://storage/file-1.pdf");
+		assertTrue(blobs.isEmpty());
+	}
+
+	@Test
+	@DisplayName("같은 내용은 한 번만 업로드하고 마지막 참조가 해제될 때 삭제")
+	void deduplicatesIdenticalContent() {
+		when(storage.uploadFile(any(MultipartFile.class), anyString())).thenReturn("https://storage/resume.pdf");
+		byte[] content = {10, 20, 30};
+
+		UploadedFile apply = uploader.uploadAll(List.of(file("resume.pdf", content)), "apply").get(0);
+		UploadedFile edit = uploader.uploadAll(List.of(file("resume-v2.pdf", content)), "edit").get(0);
+
+		verify(storage, times(1)).uploadFile(any(MultipartFile.class), anyString());
+		assertEquals(apply.storeFilePath(), edit.storeFilePath());
+		assertEquals(apply.contentHash(), edit.contentHash());
+		assertEquals("resume-v2.pdf", edit.originalFilename());
+		assertEquals(2, refCounts.get(apply.contentHash()));
+
+		uploader.release(apply.contentHash(), apply.storeFilePath());
+		verify(storage, never()).deleteFile(anyString());
+
+		uploader.release(edit.contentHash(), edit.storeFilePath());
+		verify(storage).deleteFile("https://storage/resume.pdf");
+		assertTrue(blobs.isEmpty());
+	}
+
+	@Test
+	@DisplayName("참조 수 변경은 호출자 트랜잭션과 별도로 커밋한 뒤 저장소에서 삭제")
+	void releasesInOwnTransactionBeforeDeletingFromStorage() {
+		when(storage.uploadFile(any(MultipartFile.class), anyString())).thenReturn("https://storage/resume.pdf");
+		UploadedFile uploaded = uploader.uploadAll(List.of(file("resume.pdf", new byte[] {1, 2})), "apply").get(0);
+		clearInvocations(transactionManager);
+
+		uploader.release(uploaded.contentHash(), uploaded.storeFilePath());
+
+		ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+		var order = inOrder(transactionManager, storage);
+		order.verify(transactionManager).getTransaction(definition.capture());
+		order.verify(transactionManager).commit(any());
+		order.verify(storage).deleteFile("https://storage/resume.pdf");
+		assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+	}
+
+	@Test
+	@DisplayName("참조 수 관리 대상이 아닌 예전 첨부는 바로 삭제")
+	void releasesLegacyAttachmentDirectly() {
+		uploader.release(null, "https://storage/legacy.pdf");
+
+		verify(storage).deleteFile("https://storage/legacy.pdf");
+	}
+
+	private StoredBlobRepository fakeStoredBlobRepository() {
+		StoredBlobRepository repository = mock(StoredBlobRepository.class);
+		when(repository.findByContentHash(anyString()))
+			.thenAnswer(invocation -> Optional.ofNullable(blobs.get(invocation.<String>getArgument(0))));
+		when(repository.saveAndFlush(any(StoredBlob.class))).thenAnswer(invocation -> {
+			StoredBlob blob = invocation.getArgument(0);
+			blobs.put(blob.getContentHash(), blob);
+			refCounts.put(blob.getContentHash(), blob.getRefCount());
+			return blob;
+		});
+		when(repository.acquire(anyString())).thenAnswer(invocation -> {
+			String hash = invocation.getArgument(0);
+			Integer count = refCounts.get(hash);
+			if (count == null || count == 0) {
+				return 0;
+			}
+			refCounts.put(hash, count + 1);
+			return 1;
+		});
+		when(repository.release(anyString())).thenAnswer(invocation -> {
+			String hash = invocation.getArgument(0);
+			return refCounts.computeIfPresent(hash, (key, count) -> count - 1) != null ? 1 : 0;
+		});
+		when(repository.deleteIfUnreferenced(anyString())).thenAnswer(invocation -> {
+			String hash = invocation.getArgument(0);
+			if (refCounts.getOrDefault(hash, -1) != 0) {
+				return 0;
+			}
+			refCounts.remove(hash);
+			blobs.remove(hash);
+			return 1;
+		});
+		return repository;
+	}
+
+	private List<MultipartFile> files(int count) {
+		return IntStream.range(0, count)
+			.mapToObj(i -> file("file-" + i + ".pdf", new byte[] {(byte)i, 2, 3}))
+			.toList();
+	}
+
+	private MultipartFile file(String name, byte[] content) {
+		return new MockMultipartFile("files", name, "application/pdf", content);
+	}
+}
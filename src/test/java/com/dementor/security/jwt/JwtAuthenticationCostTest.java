@@ -0,0 +1,136 @@
+package com.dementor.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.dementor.global.security.CustomUserDetails;
+import com.dementor.global.security.jwt.JwtTokenProvider;
+import com.dementor.global.security.jwt.VerifiedTokenCache;
+import com.dementor.global.security.jwt.repository.RefreshTokenRepository;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청당 인증 비용 - 기존 방식(검증용 파서 생성 + 검증, 인증 객체용 파서 생성 + 검증) vs 파서 재사용 + 한 번 검증
+ *   vs 검증된 토큰 캐시 적중
+ * - 같은 스레드에서 반복 실행하며 요청 1건당 힙 할당량과 평균 시간 측정
+ */
+@Slf4j
+public class JwtAuthenticationCostTest {
+
+	private static final int WARMUP = 2_000;
+	private static final int ITERATIONS = 10_000;
+
+	private JwtTokenProvider jwtTokenProvider;
+	private String accessToken;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		String secret = Base64.getEncoder()
+			.encodeToString(Keys.secretKeyFor(SignatureAlgorithm.HS512).getEncoded());
+		jwtTokenProvider = new JwtTokenProvider(secret, 3_600_000L, 1_209_600_000L,
+			mock(RefreshTokenRepository.class), new VerifiedTokenCache(new SimpleMeterRegistry(), 1_000));
+		jwtTokenProvider.afterPropertiesSet();
+
+		Authentication authentication = new UsernamePasswordAuthenticationToken("mentee@test.com", null,
+			List.of(new SimpleGrantedAuthority("ROLE_MENTEE")));
+		accessToken = jwtTokenProvider.createMemberToken(authentication, 1L, "멘티");
+	}
+
+	@Test
+	@DisplayName("한 번 검증한 Claims 로 인증 객체 생성")
+	void authenticatesWithSingleParse() {
+		Authentication auth = jwtTokenProvider.parseAccessToken(accessToken)
+			.map(claims -> jwtTokenProvider.getAuthentication(claims, accessToken))
+			.orElseThrow();
+
+		CustomUserDetails principal = (CustomUserDetails)auth.getPrincipal();
+		assertEquals(1L, principal.getId());
+		assertEquals("ROLE_MENTEE", auth.getAuthorities().iterator().next().getAuthority());
+	}
+
+	@Test
+	@DisplayName("서명이 다른 토큰은 거부")
+	void rejectsTamperedToken() {
+		String tampered = accessToken.substring(0, accessToken.length() - 2)
+			+ (accessToken.endsWith("AA") ? "BB" : "AA");
+
+		assertTrue(jwtTokenProvider.parseAccessToken(tampered).isEmpty());
+		assertTrue(jwtTokenProvider.parseAccessToken("not-a-jwt").isEmpty());
+	}
+
+	@Test
+	@DisplayName("요청당 할당량 - 파서 재사용 + 한 번 검증이 기존 방식보다 적음")
+	void singleParseCostsLessThanDoubleParse() {
+		Cost before = measure(this::authenticateWithDoubleParse);
+		Cost after = measure(this::authenticateWithSingleParse);
+
+		log.info("요청당 인증 비용 - 기존: {} bytes / {} ns, 변경: {} bytes / {} ns",
+			before.bytes(), before.nanos(), after.bytes(), after.nanos());
+		assertTrue(after.bytes() < before.bytes());
+	}
+
+	@Test
+	@DisplayName("요청당 할당량 - 검증된 토큰 캐시 적중이 매번 검증하는 것보다 적음")
+	void cachedTokenCostsLessThanParsing() {
+		Cost parsed = measure(this::authenticateWithSingleParse);
+		Cost cached = measure(() -> jwtTokenProvider.authenticateAccessToken(accessToken).orElseThrow());
+
+		log.info("요청당 인증 비용 - 매번 검증: {} bytes / {} ns, 캐시 적중: {} bytes / {} ns",
+			parsed.bytes(), parsed.nanos(), cached.bytes(), cached.nanos());
+		assertTrue(cached.bytes() < parsed.bytes());
+	}
+
+	// 기존 방식: validateAccessToken 과 getAuthentication 이 각각 파서를 만들고 서명을 검증
+	private Authentication authenticateWithDoubleParse() {
+		Jwts.parserBuilder().setSigningKey(jwtTokenProvider.getKey()).build().parseClaimsJws(accessToken);
+		return jwtTokenProvider.getAuthentication(
+			Jwts.parserBuilder().setSigningKey(jwtTokenProvider.getKey()).build().parseClaimsJws(accessToken).getBody(),
+			accessToken);
+	}
+
+	private Authentication authenticateWithSingleParse() {
+		return jwtTokenProvider.parseAccessToken(accessToken)
+			.map(claims -> jwtTokenProvider.getAuthentication(claims, accessToken))
+			.orElseThrow();
+	}
+
+	private Cost measure(Supplier<Authentication> authenticate) {
+		com.sun.management.ThreadMXBean threadMXBean =
+			(com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+
+		for (int i = 0; i < WARMUP; i++) {
+			authenticate.get();
+		}
+
+		long bytes = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			long allocated = threadMXBean.getThreadAllocatedBytes(threadId);
+			authenticate.get();
+			bytes += threadMXBean.getThreadAllocatedBytes(threadId) - allocated;
+		}
+		long nanos = System.nanoTime() - start;
+		return new Cost(bytes / ITERATIONS, nanos / ITERATIONS);
+	}
+
+	private record Cost(long bytes, long nanos) {
+	}
+}
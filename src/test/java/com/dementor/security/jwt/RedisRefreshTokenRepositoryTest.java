@@ -0,0 +1,254 @@
+package com.dementor.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.dementor.global.security.jwt.repository.RedisRefreshTokenRepository;
+import com.dementor.global.security.jwt.repository.RefreshTokenRepository.RefreshSession;
+import com.dementor.global.security.jwt.repository.RefreshTokenRepository.RotationResult;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 리프레시 토큰 세션 저장소 - 컨테이너 Redis 로 세션 교체/재사용 감지/삭제 확인 + 여러 번 왕복하는 방식과 시간 비교
+ * - 시간은 CI 장비 부하에 따라 흔들리므로 로그로만 남기고 검증하지 않음
+ * - Docker 가 없으면 건너뜀
+ */
+@Slf4j
+@Testcontainers(disabledWithoutDocker = true)
+public class RedisRefreshTokenRepositoryTest {
+
+	private static final String USER = "a@test.com";
+	private static final long EXPIRATION = 60_000;
+	private static final long GRACE = 10_000;
+	private static final int WARMUP = 500;
+	private static final int ITERATIONS = 2_000;
+
+	@Container
+	private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+		.withExposedPorts(6379);
+
+	private static LettuceConnectionFactory connectionFactory;
+	private static RedisTemplate<String, String> redisTemplate;
+
+	private RedisRefreshTokenRepository repository;
+
+	@BeforeAll
+	static void connect() {
+		connectionFactory = new LettuceConnectionFactory(
+			new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+		connectionFactory.afterPropertiesSet();
+		connectionFactory.start();
+
+		redisTemplate = new RedisTemplate<>();
+		redisTemplate.setConnectionFactory(connectionFactory);
+		redisTemplate.setKeySerializer(new StringRedisSerializer());
+		redisTemplate.setValueSerializer(new StringRedisSerializer());
+		redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+		redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+		redisTemplate.afterPropertiesSet();
+	}
+
+	@AfterAll
+	static void disconnect() {
+		connectionFactory.destroy();
+	}
+
+	@BeforeEach
+	void setUp() {
+		redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+		repository = new RedisRefreshTokenRepository(redisTemplate);
+	}
+
+	@Test
+	@DisplayName("세션 생성 - 만료 시간이 같이 설정되고 기기별로 목록에 나옴")
+	void createsSessionPerDevice() {
+		repository.createSession(USER, "s1", "t1", "Chrome", EXPIRATION, 10);
+		repository.createSession(USER, "s2", "t2", "Safari", EXPIRATION, 10);
+
+		Long ttl = redisTemplate.getExpire("refresh-session:{" + USER + "}:s1", TimeUnit.MILLISECONDS);
+		assertTrue(ttl != null && ttl > 0 && ttl <= EXPIRATION);
+		assertEquals(Set.of("s1", "s2"), repository.findSessions(USER).stream()
+			.map(RefreshSession::sessionId)
+			.collect(Collectors.toSet()));
+		assertTrue(repository.isCurrent(USER, "s1", "t1"));
+		assertTrue(repository.isCurrent(USER, "s2", "t2"));
+	}
+
+	@Test
+	@DisplayName("최대 개수를 넘으면 가장 오래 안 쓴 세션 삭제")
+	void evictsLeastRecentlyUsedSession() throws InterruptedException {
+		repository.createSession(USER, "s1", "t1", "a", EXPIRATION, 2);
+		Thread.sleep(5);
+		repository.createSession(USER, "s2", "t2", "b", EXPIRATION, 2);
+		Thread.sleep(5);
+		// s1 을 최근에 씀
+		assertEquals(RotationResult.ROTATED, repository.rotate(USER, "s1", "t1", "t1-2", EXPIRATION, GRACE, false));
+		Thread.sleep(5);
+		repository.createSession(USER, "s3", "t3", "c", EXPIRATION, 2);
+
+		assertEquals(Set.of("s1", "s3"), repository.findSessions(USER).stream()
+			.map(RefreshSession::sessionId)
+			.collect(Collectors.toSet()));
+	}
+
+	@Test
+	@DisplayName("교체 - 현재 토큰만 교체, 직전 토큰은 유예 시간 안에서만 허용, 그 밖의 재사용은 세션 삭제")
+	void rotatesAndDetectsReuse() {
+		repository.createSession(USER, "s1", "t1", "Chrome", EXPIRATION, 10);
+
+		assertEquals(RotationResult.ROTATED, repository.rotate(USER, "s1", "t1", "t2", EXPIRATION, GRACE, false));
+		assertTrue(repository.isCurrent(USER, "s1", "t2"));
+		assertEquals(RotationResult.RECENTLY_ROTATED,
+			repository.rotate(USER, "s1", "t1", "t3", EXPIRATION, GRACE, false));
+		assertTrue(repository.isCurrent(USER, "s1", "t2"));
+
+		// 유예 시간이 지난 직전 토큰 -> 재사용
+		assertEquals(RotationResult.REUSED, repository.rotate(USER, "s1", "t1", "t3", EXPIRATION, -1, false));
+		assertTrue(repository.findSessions(USER).isEmpty());
+		assertEquals(RotationResult.NOT_FOUND, repository.rotate(USER, "s1", "t2", "t3", EXPIRATION, GRACE, false));
+	}
+
+	@Test
+	@DisplayName("재사용은 해당 세션만 삭제, 다른 기기는 유지")
+	void reuseRevokesOnlyThatSession() {
+		repository.createSession(USER, "s1", "t1", "Chrome", EXPIRATION, 10);
+		repository.createSession(USER, "s2", "u1", "Safari", EXPIRATION, 10);
+
+		assertEquals(RotationResult.REUSED, repository.rotate(USER, "s1", "stolen", "t2", EXPIRATION, GRACE, false));
+
+		assertEquals(List.of("s2"), repository.findSessions(USER).stream().map(RefreshSession::sessionId).toList());
+	}
+
+	@Test
+	@DisplayName("사용자 정보 변경 - 최신 정보로 교체할 때까지 교체하지 않음")
+	void staleSessionsRequireLatestClaims() {
+		repository.createSession(USER, "s1", "t1", "Chrome", EXPIRATION, 10);
+		repository.markClaimsStale(USER);
+
+		assertEquals(RotationResult.CLAIMS_STALE, repository.rotate(USER, "s1", "t1", "t2", EXPIRATION, GRACE, false));
+		assertTrue(repository.isCurrent(USER, "s1", "t1"));
+		assertEquals(RotationResult.ROTATED, repository.rotate(USER, "s1", "t1", "t2", EXPIRATION, GRACE, true));
+		assertEquals(RotationResult.ROTATED, repository.rotate(USER, "s1", "t2", "t3", EXPIRATION, GRACE, false));
+	}
+
+	@Test
+	@DisplayName("세션 삭제 - 현재 토큰이 다르면 지우지 않음")
+	void deleteSessionIfMatchesKeepsRotatedSession() {
+		repository.createSession(USER, "s1", "t1", "Chrome", EXPIRATION, 10);
+		repository.rotate(USER, "s1", "t1", "t2", EXPIRATION, GRACE, false);
+
+		assertFalse(repository.deleteSessionIfMatches(USER, "s1", "t1"));
+		assertTrue(repository.deleteSessionIfMatches(USER, "s1", "t2"));
+		assertTrue(repository.findSessions(USER).isEmpty());
+		assertFalse(repository.deleteSession(USER, "s1"));
+	}
+
+	@Test
+	@DisplayName("세션 도입 전 토큰 - 저장된 토큰과 같을 때 한 번만 삭제")
+	void deletesLegacyTokenOnce() {
+		redisTemplate.opsForValue().set("refresh:" + USER, "legacy");
+
+		assertFalse(repository.deleteLegacyIfMatches(USER, "other"));
+		assertTrue(repository.deleteLegacyIfMatches(USER, "legacy"));
+		assertFalse(repository.deleteLegacyIfMatches(USER, "legacy"));
+	}
+
+	@Test
+	@DisplayName("일괄 삭제 - 파이프라인으로 여러 사용자의 모든 세션 삭제")
+	void deletesInBatch() {
+		List<String> users = IntStream.range(0, 1_200).mapToObj(i -> "user" + i + "@test.com").toList();
+		users.forEach(user -> {
+			repository.createSession(user, "s1", "t1", "a", EXPIRATION, 10);
+			repository.createSession(user, "s2", "t2", "b", EXPIRATION, 10);
+		});
+		repository.createSession("keep@test.com", "s1", "t1", "a", EXPIRATION, 10);
+		// 세션 도입 전 토큰은 해시 태그가 없어 다른 슬롯일 수 있음 - 세션 스크립트와 따로 삭제
+		redisTemplate.opsForValue().set("refresh:" + users.get(0), "legacy");
+
+		repository.deleteAllByUserIdentifiers(users);
+
+		assertTrue(users.stream().allMatch(user -> repository.findSessions(user).isEmpty()));
+		assertTrue(users.stream().noneMatch(user -> repository.isCurrent(user, "s1", "t1")));
+		assertTrue(repository.isCurrent("keep@test.com", "s1", "t1"));
+		assertFalse(redisTemplate.hasKey("refresh:" + users.get(0)));
+	}
+
+	@Test
+	@DisplayName("갱신 시간 - Lua 교체(왕복 한 번)와 조회 후 여러 번 쓰는 방식 비교 (로그로만 확인)")
+	void scriptedRotationIsFaster() {
+		repository.createSession(USER, "s1", "0", "Chrome", EXPIRATION, 10);
+		String sessionKey = "refresh-session:{" + USER + "}:s1";
+		String sessionsKey = "refresh-sessions:{" + USER + "}";
+
+		long before = measure(i -> {
+			// 비교: HMGET, HSET, PEXPIRE, PEXPIRE (원자적이지도 않음)
+			List<Object> current = redisTemplate.opsForHash().multiGet(sessionKey, List.<Object>of("jti", "stale"));
+			if (String.valueOf(i).equals(current.get(0))) {
+				redisTemplate.opsForHash().putAll(sessionKey, Map.of("jti", String.valueOf(i + 1),
+					"prev", String.valueOf(i), "lastUsedAt", String.valueOf(System.currentTimeMillis())));
+			}
+			redisTemplate.expire(sessionKey, EXPIRATION, TimeUnit.MILLISECONDS);
+			redisTemplate.expire(sessionsKey, EXPIRATION, TimeUnit.MILLISECONDS);
+		});
+		repository.createSession(USER, "s1", "0", "Chrome", EXPIRATION, 10);
+		long after = measure(i -> repository.rotate(USER, "s1", String.valueOf(i), String.valueOf(i + 1),
+			EXPIRATION, GRACE, false));
+
+		log.info("리프레시 토큰 교체 1회 - 여러 번 왕복: {} us, Lua: {} us", before / 1_000, after / 1_000);
+	}
+
+	@Test
+	@DisplayName("일괄 로그아웃 시간 - 파이프라인과 사용자별 삭제 비교 (로그로만 확인), 결과는 같음")
+	void pipelinedBatchIsFaster() {
+		List<String> users = IntStream.range(0, 1_000).mapToObj(i -> "user" + i).toList();
+
+		users.forEach(user -> repository.createSession(user, "s1", "t1", "a", EXPIRATION, 10));
+		long start = System.nanoTime();
+		users.forEach(repository::deleteByUserIdentifier);
+		long oneByOne = System.nanoTime() - start;
+
+		users.forEach(user -> repository.createSession(user, "s1", "t1", "a", EXPIRATION, 10));
+		start = System.nanoTime();
+		repository.deleteAllByUserIdentifiers(users);
+		long pipelined = System.nanoTime() - start;
+
+		log.info("{}명 로그아웃 - 사용자별: {} ms, 파이프라인: {} ms", users.size(),
+			oneByOne / 1_000_000, pipelined / 1_000_000);
+		assertTrue(users.stream().allMatch(user -> repository.findSessions(user).isEmpty()));
+	}
+
+	// 연산 i 는 토큰 id i -> i + 1 로 교체하므로 준비 구간과 측정 구간을 이어서 셈
+	private long measure(IntConsumer operation) {
+		int i = 0;
+		for (int n = 0; n < WARMUP; n++) {
+			operation.accept(i++);
+		}
+		long start = System.nanoTime();
+		for (int n = 0; n < ITERATIONS; n++) {
+			operation.accept(i++);
+		}
+		return (System.nanoTime() - start) / ITERATIONS;
+	}
+}
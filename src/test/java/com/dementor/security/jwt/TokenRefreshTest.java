@@ -0,0 +1,267 @@
+package com.dementor.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.http.ResponseCookie;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.dementor.global.security.CustomUserDetails;
+import com.dementor.global.security.CustomUserDetailsService;
+import com.dementor.global.security.cookie.CookieUtil;
+import com.dementor.global.security.jwt.JwtAuthenticationFilter;
+import com.dementor.global.security.jwt.JwtTokenProvider;
+import com.dementor.global.security.jwt.VerifiedTokenCache;
+import com.dementor.global.security.jwt.dto.TokenDto;
+import com.dementor.global.security.jwt.repository.RefreshTokenRepository;
+import com.dementor.global.security.jwt.repository.RefreshTokenRepository.RotationResult;
+import com.dementor.global.security.jwt.service.TokenService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 액세스 토큰 갱신 - 리프레시 토큰 교체, 재사용 감지, 동시 갱신 합치기, 리프레시 토큰에 담긴 정보로 발급
+ */
+public class TokenRefreshTest {
+
+	private static final String EMAIL = "mentee@test.com";
+	private static final String SESSION_ID = "session-1";
+	private static final String TOKEN_ID = "token-1";
+	private static final int CONCURRENCY = 8;
+
+	private RefreshTokenRepository refreshTokenRepository;
+	private CustomUserDetailsService customUserDetailsService;
+	private VerifiedTokenCache verifiedTokenCache;
+	private JwtTokenProvider jwtTokenProvider;
+	private TokenService tokenService;
+	private String refreshToken;
+	private ExecutorService executor;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		String secret = Base64.getEncoder()
+			.encodeToString(Keys.secretKeyFor(SignatureAlgorithm.HS512).getEncoded());
+		refreshTokenRepository = mock(RefreshTokenRepository.class);
+		customUserDetailsService = mock(CustomUserDetailsService.class);
+		verifiedTokenCache = new VerifiedTokenCache(new SimpleMeterRegistry(), 1_000);
+		jwtTokenProvider = new JwtTokenProvider(secret, 3_600_000L, 1_209_600_000L,
+			refreshTokenRepository, verifiedTokenCache);
+		jwtTokenProvider.afterPropertiesSet();
+		tokenService = new TokenService(jwtTokenProvider, refreshTokenRepository, customUserDetailsService,
+			verifiedTokenCache, 10, 10_000);
+
+		Authentication authentication = new UsernamePasswordAuthenticationToken(EMAIL, null,
+			List.of(new SimpleGrantedAuthority("ROLE_MENTEE")));
+		refreshToken = jwtTokenProvider.createMemberRefreshToken(authentication, 1L, "멘티", SESSION_ID, TOKEN_ID);
+		executor = Executors.newFixedThreadPool(CONCURRENCY);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	@DisplayName("리프레시 토큰은 액세스 토큰으로, 액세스 토큰은 리프레시 토큰으로 쓸 수 없음")
+	void refreshAndAccessTokensAreNotInterchangeable() {
+		String accessToken = jwtTokenProvider.createMemberToken(EMAIL, "ROLE_MENTEE", 1L, "멘티");
+
+		assertTrue(jwtTokenProvider.parseAccessToken(refreshToken).isEmpty());
+		assertTrue(jwtTokenProvider.authenticateAccessToken(refreshToken).isEmpty());
+		assertTrue(jwtTokenProvider.parseRefreshToken(accessToken).isEmpty());
+		assertTrue(jwtTokenProvider.authenticateAccessToken(accessToken).isPresent());
+	}
+
+	@Test
+	@DisplayName("일반 API 요청에 리프레시 토큰을 Bearer 로 보내면 인증되지 않고 401")
+	void rejectsRefreshTokenAsBearerOnApiRequest() throws Exception {
+		CookieUtil cookieUtil = mock(CookieUtil.class);
+		when(cookieUtil.deleteAccessTokenCookie()).thenReturn(ResponseCookie.from("accessToken", "").build());
+		JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtTokenProvider, tokenService, cookieUtil);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/members/info");
+		request.addHeader("Authorization", "Bearer " + refreshToken);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(request, response, chain);
+
+		assertEquals(401, response.getStatus());
+		assertTrue(response.getContentAsString().contains("NO_REFRESH_TOKEN"));
+		assertNull(chain.getRequest());
+		assertNull(SecurityContextHolder.getContext().getAuthentication());
+		verifyNoInteractions(refreshTokenRepository);
+	}
+
+	@Test
+	@DisplayName("갱신 - 같은 세션의 새 리프레시 토큰으로 교체, 액세스 토큰은 리프레시 토큰의 정보로 발급 (DB 조회 없음)")
+	void rotatesAndMintsFromRefreshTokenClaims() {
+		whenRotate(false).thenReturn(RotationResult.ROTATED);
+
+		TokenDto tokens = tokenService.refreshAccessToken(refreshToken);
+
+		Claims rotated = jwtTokenProvider.parseRefreshToken(tokens.getRefreshToken()).orElseThrow();
+		assertEquals(SESSION_ID, jwtTokenProvider.getSessionId(rotated));
+		assertNotEquals(TOKEN_ID, rotated.getId());
+		verify(refreshTokenRepository).rotate(eq(EMAIL), eq(SESSION_ID), eq(TOKEN_ID), eq(rotated.getId()),
+			anyLong(), anyLong(), eq(false));
+
+		Authentication auth = jwtTokenProvider.authenticateAccessToken(tokens.getAccessToken()).orElseThrow();
+		CustomUserDetails principal = (CustomUserDetails)auth.getPrincipal();
+		assertEquals(1L, principal.getId());
+		assertEquals("멘티", principal.getNickname());
+		assertEquals("ROLE_MENTEE", auth.getAuthorities().iterator().next().getAuthority());
+		verifyNoInteractions(customUserDetailsService);
+	}
+
+	@Test
+	@DisplayName("사용자 정보가 바뀐 세션은 DB 에서 다시 읽어 두 토큰 모두 새 정보로 발급")
+	void rotatesWithLatestClaimsWhenStale() {
+		whenRotate(false).thenReturn(RotationResult.CLAIMS_STALE);
+		whenRotate(true).thenReturn(RotationResult.ROTATED);
+		CustomUserDetails mentor = mock(CustomUserDetails.class);
+		when(mentor.getId()).thenReturn(1L);
+		when(mentor.getUsername()).thenReturn(EMAIL);
+		when(mentor.getNickname()).thenReturn("멘토");
+		doReturn(List.of(new SimpleGrantedAuthority("ROLE_MENTOR"))).when(mentor).getAuthorities();
+		when(customUserDetailsService.loadUserByUsername(EMAIL)).thenReturn(mentor);
+
+		TokenDto tokens = tokenService.refreshAccessToken(refreshToken);
+
+		Authentication auth = jwtTokenProvider.authenticateAccessToken(tokens.getAccessToken()).orElseThrow();
+		assertEquals("ROLE_MENTOR", auth.getAuthorities().iterator().next().getAuthority());
+		assertEquals("멘토", ((CustomUserDetails)auth.getPrincipal()).getNickname());
+		Claims rotated = jwtTokenProvider.parseRefreshToken(tokens.getRefreshToken()).orElseThrow();
+		assertEquals("멘토", rotated.get("nickname", String.class));
+		assertEquals(SESSION_ID, jwtTokenProvider.getSessionId(rotated));
+	}
+
+	@Test
+	@DisplayName("방금 교체된 이전 토큰 - 액세스 토큰만 재발급")
+	void recentlyRotatedIssuesAccessTokenOnly() {
+		whenRotate(false).thenReturn(RotationResult.RECENTLY_ROTATED);
+
+		TokenDto tokens = tokenService.refreshAccessToken(refreshToken);
+
+		assertNull(tokens.getRefreshToken());
+		assertTrue(jwtTokenProvider.authenticateAccessToken(tokens.getAccessToken()).isPresent());
+	}
+
+	@Test
+	@DisplayName("이미 교체된 토큰 재사용, 없는 세션이면 갱신 실패 - 재사용이면 캐시된 검증 결과도 제거")
+	void rejectsReusedOrRevokedToken() {
+		String accessToken = jwtTokenProvider.createMemberToken(EMAIL, "ROLE_MENTEE", 1L, "멘티");
+		assertTrue(jwtTokenProvider.authenticateAccessToken(accessToken).isPresent());
+		assertEquals(1, verifiedTokenCache.size());
+
+		whenRotate(false).thenReturn(RotationResult.REUSED);
+		assertThrows(RuntimeException.class, () -> tokenService.refreshAccessToken(refreshToken));
+		assertEquals(0, verifiedTokenCache.size());
+
+		whenRotate(false).thenReturn(RotationResult.NOT_FOUND);
+		assertThrows(RuntimeException.class, () -> tokenService.refreshAccessToken(refreshToken));
+	}
+
+	@Test
+	@DisplayName("사용자 정보 변경 표시는 커밋 후에, Redis 실패는 변경을 막지 않음")
+	void marksClaimsStaleAfterCommit() {
+		doThrow(new RuntimeException("redis down")).when(refreshTokenRepository).markClaimsStale(EMAIL);
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			tokenService.markClaimsStale(EMAIL);
+			verify(refreshTokenRepository, never()).markClaimsStale(EMAIL);
+
+			assertDoesNotThrow(() -> TransactionSynchronizationManager.getSynchronizations()
+				.forEach(TransactionSynchronization::afterCommit));
+			verify(refreshTokenRepository).markClaimsStale(EMAIL);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	@DisplayName("세션 도입 전 토큰 - 저장된 토큰과 같으면 새 세션으로 한 번만 전환")
+	void migratesLegacyTokenOnce() {
+		String legacyToken = Jwts.builder()
+			.setSubject(EMAIL)
+			.setIssuedAt(new Date())
+			.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+			.signWith(jwtTokenProvider.getKey(), SignatureAlgorithm.HS512)
+			.compact();
+		when(refreshTokenRepository.deleteLegacyIfMatches(EMAIL, legacyToken)).thenReturn(true, false);
+		CustomUserDetails mentee = mock(CustomUserDetails.class);
+		when(mentee.getId()).thenReturn(1L);
+		when(mentee.getUsername()).thenReturn(EMAIL);
+		when(mentee.getNickname()).thenReturn("멘티");
+		doReturn(List.of(new SimpleGrantedAuthority("ROLE_MENTEE"))).when(mentee).getAuthorities();
+		when(customUserDetailsService.loadUserByUsername(EMAIL)).thenReturn(mentee);
+
+		TokenDto tokens = tokenService.refreshAccessToken(legacyToken);
+
+		Claims migrated = jwtTokenProvider.parseRefreshToken(tokens.getRefreshToken()).orElseThrow();
+		verify(refreshTokenRepository).createSession(eq(EMAIL), eq(jwtTokenProvider.getSessionId(migrated)),
+			eq(migrated.getId()), any(), anyLong(), eq(10));
+		assertThrows(RuntimeException.class, () -> tokenService.refreshAccessToken(legacyToken));
+	}
+
+	@Test
+	@DisplayName("같은 리프레시 토큰으로 동시에 갱신하면 교체는 한 번, 모두 같은 토큰을 받음")
+	void coalescesConcurrentRefreshes() throws Exception {
+		CountDownLatch entered = new CountDownLatch(CONCURRENCY);
+		whenRotate(false).thenAnswer(invocation -> {
+			// 나머지 요청이 모두 들어올 때까지 첫 교체를 붙잡아 둠
+			entered.await(5, TimeUnit.SECONDS);
+			Thread.sleep(100);
+			return RotationResult.ROTATED;
+		});
+
+		List<Future<TokenDto>> results = new ArrayList<>();
+		for (int i = 0; i < CONCURRENCY; i++) {
+			results.add(executor.submit(() -> {
+				entered.countDown();
+				return tokenService.refreshAccessToken(refreshToken);
+			}));
+		}
+
+		TokenDto first = results.get(0).get(5, TimeUnit.SECONDS);
+		for (Future<TokenDto> result : results) {
+			assertEquals(first.getAccessToken(), result.get(5, TimeUnit.SECONDS).getAccessToken());
+			assertEquals(first.getRefreshToken(), result.get(5, TimeUnit.SECONDS).getRefreshToken());
+		}
+		verify(refreshTokenRepository, times(1)).rotate(any(), any(), any(), any(), anyLong(), anyLong(),
+			anyBoolean());
+	}
+
+	private OngoingStubbing<RotationResult> whenRotate(boolean refreshClaims) {
+		return when(refreshTokenRepository.rotate(eq(EMAIL), eq(SESSION_ID), eq(TOKEN_ID), anyString(), anyLong(),
+			anyLong(), eq(refreshClaims)));
+	}
+}
@@ -0,0 +1,91 @@
+package com.dementor.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.dementor.global.security.jwt.VerifiedTokenCache;
+import com.dementor.global.security.jwt.VerifiedTokenCache.Verified;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class VerifiedTokenCacheTest {
+
+	private final AtomicLong now = new AtomicLong(1_000_000);
+	private final AtomicInteger verifyCount = new AtomicInteger();
+	private SimpleMeterRegistry meterRegistry;
+	private VerifiedTokenCache cache;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		cache = new VerifiedTokenCache(meterRegistry, 2, now::get);
+	}
+
+	@Test
+	@DisplayName("같은 토큰은 만료 전까지 다시 검증하지 않음")
+	void reusesUntilExpiry() {
+		Authentication first = cache.authenticate("token-a", () -> verify("a@test.com", now.get() + 1_000))
+			.orElseThrow();
+		Authentication second = cache.authenticate("token-a", () -> verify("a@test.com", now.get() + 1_000))
+			.orElseThrow();
+
+		assertSame(first, second);
+		assertEquals(1, verifyCount.get());
+
+		now.addAndGet(1_000);
+		cache.authenticate("token-a", () -> verify("a@test.com", now.get() + 1_000));
+		assertEquals(2, verifyCount.get());
+	}
+
+	@Test
+	@DisplayName("검증에 실패한 토큰은 캐시하지 않음")
+	void doesNotCacheInvalidToken() {
+		assertTrue(cache.authenticate("bad", Optional::empty).isEmpty());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	@DisplayName("로그아웃하면 해당 사용자의 토큰만 제거")
+	void evictsSubjectOnLogout() {
+		cache.authenticate("token-a", () -> verify("a@test.com", now.get() + 1_000));
+		cache.authenticate("token-b", () -> verify("b@test.com", now.get() + 1_000));
+
+		cache.evictSubject("a@test.com");
+
+		assertEquals(1, cache.size());
+		cache.authenticate("token-b", () -> verify("b@test.com", now.get() + 1_000));
+		assertEquals(2, verifyCount.get());
+	}
+
+	@Test
+	@DisplayName("최대 개수를 넘으면 오래 안 쓴 토큰부터 제거, 적중률 메트릭 기록")
+	void evictsLeastRecentlyUsedAndRecordsHitRatio() {
+		cache.authenticate("token-a", () -> verify("a@test.com", now.get() + 1_000));
+		cache.authenticate("token-b", () -> verify("b@test.com", now.get() + 1_000));
+		cache.authenticate("token-a", () -> verify("a@test.com", now.get() + 1_000));
+		cache.authenticate("token-c", () -> verify("c@test.com", now.get() + 1_000));
+
+		assertEquals(2, cache.size());
+		assertEquals(3, verifyCount.get());
+		assertEquals(0.25, meterRegistry.get("jwt.auth.cache.hit.ratio").gauge().value(), 0.0001);
+		assertEquals(4, meterRegistry.get("jwt.auth.time").timer().count());
+	}
+
+	private Optional<Verified> verify(String subject, long expiresAt) {
+		verifyCount.incrementAndGet();
+		Authentication authentication = new UsernamePasswordAuthenticationToken(subject, null,
+			List.of(new SimpleGrantedAuthority("ROLE_MENTEE")));
+		return Optional.of(new Verified(authentication, subject, expiresAt));
+	}
+}
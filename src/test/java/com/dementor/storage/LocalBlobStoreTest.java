@@ -0,0 +1,98 @@
+package com.dementor.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.dementor.global.storage.BlobStream;
+import com.dementor.global.storage.LocalBlobStore;
+
+public class LocalBlobStoreTest {
+
+	@TempDir
+	Path baseDir;
+
+	private LocalBlobStore store;
+	private byte[] content;
+
+	@BeforeEach
+	void setUp() {
+		store = new LocalBlobStore(baseDir.toString());
+		content = new byte[100_000];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte)i;
+		}
+	}
+
+	@Test
+	@DisplayName("업로드한 파일을 그대로 읽음")
+	void uploadAndRead() throws Exception {
+		String path = store.uploadFile(new MockMultipartFile("files", "resume.pdf", "application/pdf", content),
+			"apply");
+
+		assertTrue(path.startsWith("local:apply/"));
+		assertTrue(path.endsWith(".pdf"));
+
+		BlobStream blob = store.openFile(path, null);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		blob.transferTo(out);
+
+		assertEquals(200, blob.getStatus());
+		assertEquals(content.length, blob.getContentLength());
+		assertArrayEquals(content, out.toByteArray());
+	}
+
+	@Test
+	@DisplayName("Range 요청 - 요청한 구간만 206 으로 응답")
+	void readRange() throws Exception {
+		String path = store.uploadFile(content, "image.png", "image/png", "markdown");
+
+		BlobStream blob = store.openFile(path, "bytes=1000-1999");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		blob.transferTo(out);
+
+		assertEquals(206, blob.getStatus());
+		assertEquals("bytes 1000-1999/" + content.length, blob.getContentRange());
+		assertArrayEquals(Arrays.copyOfRange(content, 1000, 2000), out.toByteArray());
+
+		BlobStream suffix = store.openFile(path, "bytes=-10");
+		ByteArrayOutputStream suffixOut = new ByteArrayOutputStream();
+		suffix.transferTo(suffixOut);
+		assertArrayEquals(Arrays.copyOfRange(content, content.length - 10, content.length), suffixOut.toByteArray());
+	}
+
+	@Test
+	@DisplayName("파일 크기를 벗어난 Range 는 416")
+	void unsatisfiableRange() throws Exception {
+		String path = store.uploadFile(content, "image.png", "image/png", "markdown");
+
+		BlobStream blob = store.openFile(path, "bytes=" + content.length + "-");
+
+		assertEquals(416, blob.getStatus());
+		assertFalse(blob.isReadable());
+	}
+
+	@Test
+	@DisplayName("삭제한 파일 / 저장소 밖 경로는 404")
+	void deleteAndMissing() throws Exception {
+		String path = store.uploadFile(content, "image.png", "image/png", "markdown");
+
+		store.deleteFile(path);
+
+		assertEquals(404, store.openFile(path, null).getStatus());
+		assertEquals(404, store.openFile("local:../outside.txt", null).getStatus());
+		assertEquals(404, store.openFile("https://storage.googleapis.com/bucket/a.png", null).getStatus());
+		try (var files = Files.list(baseDir.resolve("markdown"))) {
+			assertEquals(0, files.count()); // 임시 파일도 남지 않음
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.dementor.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.dementor.global.storage.SignedUrlCache;
+import com.dementor.global.storage.SignedUrlCache.Key;
+
+public class SignedUrlCacheTest {
+
+	private static final long EXPIRY = 60_000;
+	private static final long TTL = 45_000;
+	private static final long REFRESH_INTERVAL = 10_000;
+
+	private final AtomicLong now = new AtomicLong(1_000_000);
+	private final AtomicInteger signCount = new AtomicInteger();
+	private SignedUrlCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = new SignedUrlCache(key -> "https://storage/" + key.objectName() + "?sig=" + signCount.incrementAndGet(),
+			EXPIRY, TTL, REFRESH_INTERVAL, 2, now::get);
+	}
+
+	@Test
+	@DisplayName("보관 시간 동안은 같은 URL 을 재사용하고, 지나면 다시 서명")
+	void reusesUntilTtl() {
+		Key key = new Key("a.pdf", null);
+		String first = cache.get(key);
+
+		now.addAndGet(TTL - 1);
+		assertEquals(first, cache.get(key));
+
+		now.addAndGet(1);
+		assertNotEquals(first, cache.get(key));
+		assertEquals(2, signCount.get());
+	}
+
+	@Test
+	@DisplayName("다운로드 파일명이 다르면 다른 URL")
+	void downloadFilenameIsPartOfKey() {
+		assertNotEquals(cache.get(new Key("a.pdf", null)), cache.get(new Key("a.pdf", "보고서.pdf")));
+	}
+
+	@Test
+	@DisplayName("주기 갱신 - 쓰인 항목 중 곧 끝나는 것만 다시 서명, 안 쓰인 항목은 삭제")
+	void refreshResignsUsedAndDropsIdle() {
+		Key hot = new Key("hot.pdf", null);
+		Key idle = new Key("idle.pdf", null);
+		cache.get(hot);
+		cache.get(idle);
+
+		// 첫 갱신: 둘 다 쓰였고 아직 여유 있음 -> 사용 표시만 지움
+		cache.refresh();
+		assertEquals(2, signCount.get());
+
+		// hot 만 다시 쓰이고 보관 시간이 거의 끝남
+		now.addAndGet(TTL - REFRESH_INTERVAL);
+		String before = cache.get(hot);
+		cache.refresh();
+
+		assertEquals(1, cache.size());
+		assertEquals(3, signCount.get());
+
+		// 조회 경로에서는 서명하지 않음
+		now.addAndGet(REFRESH_INTERVAL);
+		assertNotEquals(before, cache.get(hot));
+		assertEquals(3, signCount.get());
+	}
+
+	@Test
+	@DisplayName("최대 개수를 넘으면 오래 안 쓴 항목부터 삭제")
+	void evictsLeastRecentlyUsed() {
+		Key a = new Key("a.pdf", null);
+		cache.get(a);
+		cache.get(new Key("b.pdf", null));
+		cache.get(a);
+		cache.get(new Key("c.pdf", null));
+
+		assertEquals(2, cache.size());
+		cache.get(a);
+		assertEquals(3, signCount.get());
+	}
+
+	@Test
+	@DisplayName("보관 시간이 URL 유효 시간보다 길면 생성 실패")
+	void rejectsTtlLongerThanExpiry() {
+		assertThrows(IllegalArgumentException.class,
+			() -> new SignedUrlCache(key -> "url", TTL, EXPIRY, REFRESH_INTERVAL, 10, now::get));
+	}
+}
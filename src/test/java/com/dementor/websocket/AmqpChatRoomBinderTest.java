@@ -0,0 +1,120 @@
+package com.dementor.websocket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.dementor.global.websocket.AmqpChatRoomBinder;
+import com.dementor.global.websocket.ChatRoomSubscriptionRegistry;
+
+/**
+ * 노드별 구독 라우팅 - 컨테이너 RabbitMQ 의 amq.topic 에 실제로 바인딩해서 노드 간 전달 확인
+ * - 노드 두 개 = 전용 큐 두 개, 발행은 ChatMessageService 와 같은 amq.topic / chat.room.{id}
+ * - Docker 가 없으면 건너뜀
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class AmqpChatRoomBinderTest {
+
+	private static final String EXCHANGE = "amq.topic";
+	private static final long RECEIVE_TIMEOUT_MS = 2_000;
+
+	@Container
+	private static final GenericContainer<?> RABBIT = new GenericContainer<>(DockerImageName.parse("rabbitmq:3-alpine"))
+		.withExposedPorts(5672)
+		.waitingFor(Wait.forLogMessage(".*Server startup complete.*", 1));
+
+	private static CachingConnectionFactory connectionFactory;
+	private static RabbitAdmin rabbitAdmin;
+	private static RabbitTemplate rabbitTemplate;
+
+	private AnonymousQueue queueA;
+	private AnonymousQueue queueB;
+	private ChatRoomSubscriptionRegistry nodeA;
+	private ChatRoomSubscriptionRegistry nodeB;
+
+	@BeforeAll
+	static void connect() {
+		connectionFactory = new CachingConnectionFactory(RABBIT.getHost(), RABBIT.getMappedPort(5672));
+		rabbitAdmin = new RabbitAdmin(connectionFactory);
+		rabbitTemplate = new RabbitTemplate(connectionFactory);
+	}
+
+	@AfterAll
+	static void disconnect() {
+		connectionFactory.destroy();
+	}
+
+	@BeforeEach
+	void setUp() {
+		queueA = new AnonymousQueue(new Base64UrlNamingStrategy("chat.node."));
+		queueB = new AnonymousQueue(new Base64UrlNamingStrategy("chat.node."));
+		rabbitAdmin.declareQueue(queueA);
+		rabbitAdmin.declareQueue(queueB);
+		nodeA = new ChatRoomSubscriptionRegistry(new AmqpChatRoomBinder(rabbitAdmin, queueA.getName()));
+		nodeB = new ChatRoomSubscriptionRegistry(new AmqpChatRoomBinder(rabbitAdmin, queueB.getName()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		rabbitAdmin.deleteQueue(queueA.getName());
+		rabbitAdmin.deleteQueue(queueB.getName());
+	}
+
+	@Test
+	@DisplayName("다른 노드에서 발행한 메시지가 구독자가 있는 노드 큐로만 전달됨")
+	void deliversOnlyToSubscribedNodes() {
+		nodeA.subscribe("s1", "sub-0", "/topic/chat.room.1");
+		nodeB.subscribe("s2", "sub-0", "/topic/chat.room.2");
+
+		publish("chat.room.1", "to-room-1");
+		publish("chat.room.2", "to-room-2");
+
+		assertEquals("to-room-1", receive(queueA));
+		assertEquals("to-room-2", receive(queueB));
+		assertNull(rabbitTemplate.receive(queueA.getName()));
+		assertNull(rabbitTemplate.receive(queueB.getName()));
+	}
+
+	@Test
+	@DisplayName("첫 구독 시 바인딩, 마지막 구독 해제 후에는 더 이상 전달되지 않음")
+	void unbindsAfterLastSubscriberLeaves() {
+		nodeA.subscribe("s1", "sub-0", "/topic/chat.room.1");
+		nodeA.subscribe("s2", "sub-0", "/topic/chat.room.1");
+
+		nodeA.unsubscribe("s1", "sub-0");
+		publish("chat.room.1", "still-bound");
+		assertEquals("still-bound", receive(queueA));
+
+		nodeA.disconnect("s2");
+		publish("chat.room.1", "unbound");
+		assertNull(rabbitTemplate.receive(queueA.getName(), RECEIVE_TIMEOUT_MS));
+	}
+
+	private void publish(String routingKey, String body) {
+		rabbitTemplate.convertAndSend(EXCHANGE, routingKey, body);
+	}
+
+	private String receive(AnonymousQueue queue) {
+		Message message = rabbitTemplate.receive(queue.getName(), RECEIVE_TIMEOUT_MS);
+		assertNotNull(message);
+		return new String(message.getBody(), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,118 @@
+package com.dementor.websocket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.dementor.global.websocket.ChatRoomBinder;
+import com.dementor.global.websocket.ChatRoomSubscriptionRegistry;
+
+public class ChatRoomSubscriptionRegistryTest {
+
+	// amq.topic 대신 쓰는 브로커: 노드 큐별 바인딩만 기록하고 라우팅 키가 일치하는 노드로 전달
+	private static class FakeTopicBroker {
+		private final Map<String, Set<String>> bindingsByNode = new HashMap<>();
+
+		ChatRoomBinder binderFor(String node) {
+			bindingsByNode.put(node, new HashSet<>());
+			return new ChatRoomBinder() {
+				@Override
+				public void bind(String routingKey) {
+					bindingsByNode.get(node).add(routingKey);
+				}
+
+				@Override
+				public void unbind(String routingKey) {
+					bindingsByNode.get(node).remove(routingKey);
+				}
+			};
+		}
+
+		Set<String> bindings(String node) {
+			return bindingsByNode.get(node);
+		}
+
+		List<String> publish(String routingKey) {
+			List<String> receivers = new ArrayList<>();
+			bindingsByNode.forEach((node, keys) -> {
+				if (keys.contains(routingKey)) {
+					receivers.add(node);
+				}
+			});
+			return receivers;
+		}
+	}
+
+	private FakeTopicBroker broker;
+	private ChatRoomSubscriptionRegistry nodeA;
+	private ChatRoomSubscriptionRegistry nodeB;
+
+	@BeforeEach
+	void setUp() {
+		broker = new FakeTopicBroker();
+		nodeA = new ChatRoomSubscriptionRegistry(broker.binderFor("A"));
+		nodeB = new ChatRoomSubscriptionRegistry(broker.binderFor("B"));
+	}
+
+	@Test
+	@DisplayName("구독자가 있는 노드에만 메시지가 전달됨")
+	void routesOnlyToSubscribedNodes() {
+		nodeA.subscribe("s1", "sub-0", "/topic/chat.room.1");
+		nodeB.subscribe("s2", "sub-0", "/topic/chat.room.2");
+		nodeB.subscribe("s3", "sub-0", "/topic/chat.room.1");
+
+		assertEquals(List.of("A", "B"), broker.publish("chat.room.1").stream().sorted().toList());
+		assertEquals(List.of("B"), broker.publish("chat.room.2"));
+		assertTrue(broker.publish("chat.room.3").isEmpty());
+	}
+
+	@Test
+	@DisplayName("마지막 구독자가 해제되어야 바인딩 해제")
+	void unbindsAfterLastSubscriberLeaves() {
+		nodeA.subscribe("s1", "sub-0", "/topic/chat.room.1");
+		nodeA.subscribe("s2", "sub-0", "/topic/chat.room.1");
+
+		nodeA.unsubscribe("s1", "sub-0");
+		assertEquals(List.of("A"), broker.publish("chat.room.1"));
+
+		nodeA.unsubscribe("s2", "sub-0");
+		assertTrue(broker.publish("chat.room.1").isEmpty());
+		assertTrue(broker.bindings("A").isEmpty());
+	}
+
+	@Test
+	@DisplayName("연결 종료 시 세션의 모든 구독 정리")
+	void disconnectReleasesAllSubscriptions() {
+		nodeA.subscribe("s1", "sub-0", "/topic/chat.room.1");
+		nodeA.subscribe("s1", "sub-1", "/topic/chat.room.2");
+		nodeA.subscribe("s2", "sub-0", "/topic/chat.room.2");
+
+		nodeA.disconnect("s1");
+
+		assertTrue(broker.publish("chat.room.1").isEmpty());
+		assertEquals(List.of("A"), broker.publish("chat.room.2"));
+		assertEquals(Set.of("chat.room.2"), broker.bindings("A"));
+	}
+
+	@Test
+	@DisplayName("채팅방이 아닌 구독과 중복 구독 이벤트는 무시")
+	void ignoresOtherDestinationsAndDuplicates() {
+		nodeA.subscribe("s1", "sub-0", "/topic/notice");
+		nodeA.subscribe("s1", "sub-1", "/topic/chat.room.abc");
+		nodeA.subscribe("s1", "sub-2", "/topic/chat.room.1");
+		nodeA.subscribe("s1", "sub-2", "/topic/chat.room.1");
+
+		assertEquals(Set.of("chat.room.1"), broker.bindings("A"));
+		nodeA.unsubscribe("s1", "sub-2");
+		assertTrue(broker.publish("chat.room.1").isEmpty());
+	}
+}